@@ -0,0 +1,43 @@
+package com.rdmanage.bench;
+
+import com.rdmanage.RdManageApplication;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the real application against a private in-memory H2 database in MySQL mode. The schema
+ * comes from the entity mappings; Flyway is off because the migrations are written for MySQL.
+ * The settings go in as command line arguments: default properties would lose to application.yml.
+ */
+public final class BenchContext {
+  private BenchContext() {}
+
+  public static ConfigurableApplicationContext start() {
+    String database = "bench-" + UUID.randomUUID();
+    Map<String, String> settings =
+        Map.ofEntries(
+            Map.entry(
+                "spring.datasource.url",
+                "jdbc:h2:mem:"
+                    + database
+                    + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+            Map.entry("spring.datasource.username", "sa"),
+            Map.entry("spring.datasource.password", ""),
+            Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+            Map.entry("spring.flyway.enabled", "false"),
+            Map.entry("spring.jpa.hibernate.ddl-auto", "create-drop"),
+            Map.entry("spring.jpa.properties.hibernate.format_sql", "false"),
+            Map.entry("spring.main.banner-mode", "off"),
+            Map.entry("logging.level.root", "warn"),
+            Map.entry("rdmanage.assets.dir", "target/bench-assets"));
+    return new SpringApplicationBuilder(RdManageApplication.class)
+        .web(WebApplicationType.NONE)
+        .run(
+            settings.entrySet().stream()
+                .map(setting -> "--" + setting.getKey() + "=" + setting.getValue())
+                .toArray(String[]::new));
+  }
+}
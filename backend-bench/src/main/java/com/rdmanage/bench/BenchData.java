@@ -0,0 +1,162 @@
+package com.rdmanage.bench;
+
+import com.rdmanage.dto.CreateProductModuleRequest;
+import com.rdmanage.dto.CreateProductRequest;
+import com.rdmanage.dto.CreateRequirementRequest;
+import com.rdmanage.dto.CreateTaskRequest;
+import com.rdmanage.dto.CreateVersionRequest;
+import com.rdmanage.model.Product;
+import com.rdmanage.model.ProductModule;
+import com.rdmanage.model.Requirement;
+import com.rdmanage.model.TaskItem;
+import com.rdmanage.model.VersionInfo;
+import com.rdmanage.service.ProductModuleService;
+import com.rdmanage.service.ProductService;
+import com.rdmanage.service.RequirementService;
+import com.rdmanage.service.TaskService;
+import com.rdmanage.service.VersionService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.context.ApplicationContext;
+
+/** Deterministic fixtures: in-memory entity lists and a seeded product tree with work items. */
+public final class BenchData {
+  private static final String[] OWNERS = {"张三", "李四", "王五", "赵六", "alice", "bob"};
+  private static final String[] STATUSES = {"DRAFT", "APPROVED", "IN_PROGRESS", "DONE"};
+
+  private BenchData() {}
+
+  public static List<Requirement> requirements(int rows) {
+    LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+    List<Requirement> list = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      Requirement requirement = new Requirement();
+      requirement.setId((long) i + 1);
+      requirement.setProductId((long) (i % 10) + 1);
+      requirement.setModuleId((long) (i % 100) + 1);
+      requirement.setCode("REQ-" + (i + 1));
+      requirement.setName("需求 " + i + " 登录与权限管理");
+      requirement.setDescription("支持按角色配置菜单与数据权限，第 " + i + " 项");
+      requirement.setPriority("P" + (i % 3));
+      requirement.setStatus(STATUSES[i % STATUSES.length]);
+      requirement.setVersionId((long) (i % 20) + 1);
+      requirement.setOwner(OWNERS[i % OWNERS.length]);
+      requirement.setDueDate(LocalDate.of(2024, 6, 1).plusDays(i % 180));
+      requirement.setEstimateStoryPoints(i % 13);
+      requirement.setCreatedAt(now.plusMinutes(i));
+      requirement.setUpdatedAt(now.plusMinutes(i));
+      list.add(requirement);
+    }
+    return list;
+  }
+
+  public static List<TaskItem> tasks(int rows) {
+    LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+    List<TaskItem> list = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      TaskItem task = new TaskItem();
+      task.setId((long) i + 1);
+      task.setProductId((long) (i % 10) + 1);
+      task.setModuleId((long) (i % 100) + 1);
+      task.setRequirementId((long) (i % 1000) + 1);
+      task.setTitle("任务 " + i + " 接口联调");
+      task.setDescription("完成接口联调与自测，第 " + i + " 项");
+      task.setAssignee(OWNERS[i % OWNERS.length]);
+      task.setStatus(STATUSES[i % STATUSES.length]);
+      task.setDueDate(LocalDate.of(2024, 6, 1).plusDays(i % 180));
+      task.setEstimateHours(i % 40);
+      task.setCreatedAt(now.plusMinutes(i));
+      task.setUpdatedAt(now.plusMinutes(i));
+      list.add(task);
+    }
+    return list;
+  }
+
+  /** What {@link #seed} created, for benchmarks that need valid ids. */
+  public static final class Seeded {
+    public Long productId;
+    public final List<ProductModule> modules = new ArrayList<>();
+    public Long versionId;
+    public final List<Long> requirementIds = new ArrayList<>();
+  }
+
+  /**
+   * One product with {@code modulesPerLevel} modules per level (three levels), one version, and
+   * {@code rows} requirements and tasks spread over the leaf modules.
+   */
+  public static Seeded seed(ApplicationContext context, int modulesPerLevel, int rows) {
+    Seeded seeded = new Seeded();
+    CreateProductRequest product = new CreateProductRequest();
+    product.setCode("BENCH");
+    product.setName("基准产品");
+    product.setOwner(OWNERS[0]);
+    Product savedProduct = context.getBean(ProductService.class).create(product);
+    seeded.productId = savedProduct.getId();
+
+    ProductModuleService modules = context.getBean(ProductModuleService.class);
+    List<ProductModule> parents = new ArrayList<>();
+    parents.add(null);
+    for (int level = 1; level <= 3; level++) {
+      List<ProductModule> created = new ArrayList<>();
+      for (int i = 0; i < modulesPerLevel; i++) {
+        ProductModule parent = parents.get(i % parents.size());
+        CreateProductModuleRequest module = new CreateProductModuleRequest();
+        module.setProductId(seeded.productId);
+        module.setParentId(parent == null ? null : parent.getId());
+        module.setLevel(level);
+        module.setCode("M" + level + "-" + i);
+        module.setName("模块 " + level + "-" + i);
+        module.setOwner(OWNERS[i % OWNERS.length]);
+        created.add(modules.create(module));
+      }
+      seeded.modules.addAll(created);
+      parents = created;
+    }
+    List<ProductModule> leaves = parents;
+
+    CreateVersionRequest version = new CreateVersionRequest();
+    version.setProductId(seeded.productId);
+    version.setModuleId(leaves.get(0).getId());
+    version.setVersionCode("V1.0");
+    version.setName("基准版本");
+    version.setOwner(OWNERS[1]);
+    version.setPlanReleaseDate(LocalDate.of(2024, 12, 31));
+    VersionInfo savedVersion = context.getBean(VersionService.class).create(version);
+    seeded.versionId = savedVersion.getId();
+
+    List<CreateRequirementRequest> requirements = new ArrayList<>(rows);
+    for (Requirement template : requirements(rows)) {
+      CreateRequirementRequest request = new CreateRequirementRequest();
+      request.setProductId(seeded.productId);
+      request.setModuleId(leaves.get(requirements.size() % leaves.size()).getId());
+      request.setCode(template.getCode());
+      request.setName(template.getName());
+      request.setDescription(template.getDescription());
+      request.setPriority(template.getPriority());
+      request.setVersionId(seeded.versionId);
+      request.setOwner(template.getOwner());
+      request.setDueDate(template.getDueDate());
+      requirements.add(request);
+    }
+    seeded.requirementIds.addAll(
+        context.getBean(RequirementService.class).createValidated(requirements));
+
+    List<CreateTaskRequest> tasks = new ArrayList<>(rows);
+    for (TaskItem template : tasks(rows)) {
+      CreateTaskRequest request = new CreateTaskRequest();
+      request.setProductId(seeded.productId);
+      request.setModuleId(leaves.get(tasks.size() % leaves.size()).getId());
+      request.setRequirementId(seeded.requirementIds.get(tasks.size()));
+      request.setTitle(template.getTitle());
+      request.setDescription(template.getDescription());
+      request.setAssignee(template.getAssignee());
+      request.setDueDate(template.getDueDate());
+      request.setEstimateHours(template.getEstimateHours());
+      tasks.add(request);
+    }
+    context.getBean(TaskService.class).createValidated(tasks);
+    return seeded;
+  }
+}
@@ -0,0 +1,28 @@
+package com.rdmanage.bench;
+
+import java.util.Arrays;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes JMH's JSON report, so results of different builds can be diffed
+ * or plotted. The first argument is the report path; the rest are ordinary JMH options, e.g. a
+ * benchmark regex or {@code -f 1 -wi 2}.
+ */
+public final class BenchmarkRunner {
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    String result = args.length > 0 ? args[0] : "target/jmh-result.json";
+    CommandLineOptions commandLine =
+        new CommandLineOptions(Arrays.copyOfRange(args, Math.min(1, args.length), args.length));
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (!commandLine.getResult().hasValue()) {
+      options.result(result).resultFormat(ResultFormatType.JSON);
+    }
+    new Runner(options.build()).run();
+  }
+}
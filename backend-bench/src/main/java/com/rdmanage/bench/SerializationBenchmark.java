@@ -0,0 +1,54 @@
+package com.rdmanage.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdmanage.model.Requirement;
+import com.rdmanage.model.TaskItem;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Cost of writing a list response body, with the mapper configured the way Spring MVC does. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+  @Param({"1000", "10000", "100000"})
+  public int rows;
+
+  private ObjectMapper objectMapper;
+  private List<Requirement> requirements;
+  private List<TaskItem> tasks;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    requirements = BenchData.requirements(rows);
+    tasks = BenchData.tasks(rows);
+  }
+
+  @Benchmark
+  public void requirements() throws IOException {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), requirements);
+  }
+
+  @Benchmark
+  public void tasks() throws IOException {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), tasks);
+  }
+}
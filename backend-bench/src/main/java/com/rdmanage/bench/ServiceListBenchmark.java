@@ -0,0 +1,84 @@
+package com.rdmanage.bench;
+
+import com.rdmanage.dto.CursorPage;
+import com.rdmanage.model.Requirement;
+import com.rdmanage.model.TaskItem;
+import com.rdmanage.service.RequirementService;
+import com.rdmanage.service.TaskService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** The service list paths behind the list screens, against the embedded database. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceListBenchmark {
+  @Param({"1000", "10000"})
+  public int rows;
+
+  private ConfigurableApplicationContext context;
+  private RequirementService requirementService;
+  private TaskService taskService;
+  private BenchData.Seeded seeded;
+  private Long moduleId;
+
+  @Setup
+  public void setUp() {
+    context = BenchContext.start();
+    seeded = BenchData.seed(context, 10, rows);
+    moduleId = seeded.modules.get(seeded.modules.size() - 1).getId();
+    requirementService = context.getBean(RequirementService.class);
+    taskService = context.getBean(TaskService.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Requirement> requirementsAll() {
+    return requirementService.list(null, null, null);
+  }
+
+  @Benchmark
+  public List<Requirement> requirementsByModule() {
+    return requirementService.list(seeded.productId, moduleId, null);
+  }
+
+  @Benchmark
+  public List<Requirement> requirementsFiltered() {
+    return requirementService.list(seeded.productId, null, "owner:张三 status:DRAFT");
+  }
+
+  @Benchmark
+  public CursorPage<Requirement> requirementsFirstPage() {
+    return requirementService.page(seeded.productId, null, null, null, 50, false);
+  }
+
+  @Benchmark
+  public List<TaskItem> tasksAll() {
+    return taskService.list(null, null, null);
+  }
+
+  @Benchmark
+  public List<TaskItem> tasksByModule() {
+    return taskService.list(seeded.productId, moduleId, null);
+  }
+}
@@ -0,0 +1,61 @@
+package com.rdmanage.menu;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Menu normalization, which runs on every menu load from storage and every save. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuNormalizeBenchmark {
+  @Param({"10", "200"})
+  public int groups;
+
+  private MenuConfigService menuConfigService;
+  private List<MenuConfigItem> items;
+
+  @Setup
+  public void setUp() {
+    // normalize touches neither the repository nor the asset store.
+    menuConfigService = new MenuConfigService(new ObjectMapper(), null, null);
+    items = new ArrayList<>(groups);
+    for (int i = 0; i < groups; i++) {
+      MenuConfigItem group = item(i == 0 ? "products" : "group" + i);
+      List<MenuConfigItem> children = new ArrayList<>();
+      for (int j = 0; j < 8; j++) {
+        children.add(item(i == 0 && j == 0 ? "products" : "item" + i + "-" + j));
+      }
+      group.setChildren(children);
+      items.add(group);
+    }
+  }
+
+  @Benchmark
+  public List<MenuConfigItem> normalize() {
+    return menuConfigService.normalize(items);
+  }
+
+  private static MenuConfigItem item(String key) {
+    MenuConfigItem item = new MenuConfigItem();
+    item.setKey(key);
+    item.setLabel(key);
+    item.setTitle(key);
+    return item;
+  }
+}
@@ -0,0 +1,75 @@
+package com.rdmanage.service;
+
+import com.rdmanage.bench.BenchContext;
+import com.rdmanage.bench.BenchData;
+import com.rdmanage.model.ProductModule;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Reference and hierarchy checks run on every module, version, requirement and task write. Lives
+ * in the service package to reach the package-private hierarchy check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceCheckBenchmark {
+  @Param({"10", "200"})
+  public int modulesPerLevel;
+
+  private ConfigurableApplicationContext context;
+  private ReferenceIndex referenceIndex;
+  private ProductModuleService productModuleService;
+  private Long productId;
+  private List<ProductModule> modules;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    context = BenchContext.start();
+    BenchData.Seeded seeded = BenchData.seed(context, modulesPerLevel, 0);
+    referenceIndex = context.getBean(ReferenceIndex.class);
+    productModuleService = context.getBean(ProductModuleService.class);
+    productId = seeded.productId;
+    modules = seeded.modules;
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String checkProductModule() {
+    ProductModule module = nextModule();
+    return referenceIndex.checkProductModule(productId, module.getId());
+  }
+
+  @Benchmark
+  public ProductModule validateHierarchy() {
+    ProductModule module = nextModule();
+    productModuleService.validateHierarchy(productId, module.getParentId(), module.getLevel());
+    return module;
+  }
+
+  private ProductModule nextModule() {
+    next = (next + 1) % modules.size();
+    return modules.get(next);
+  }
+}
@@ -2,8 +2,10 @@ package com.rdmanage;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RdManageApplication {
   public static void main(String[] args) {
     SpringApplication.run(RdManageApplication.class, args);
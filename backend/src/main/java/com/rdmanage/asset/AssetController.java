@@ -0,0 +1,81 @@
+package com.rdmanage.asset;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/assets")
+public class AssetController {
+  private static final String CACHE_FOREVER =
+      CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+  // Below this size a plain copy is cheaper than setting up sendfile.
+  private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+  private final AssetStore assetStore;
+
+  public AssetController(AssetStore assetStore) {
+    this.assetStore = assetStore;
+  }
+
+  @PostMapping
+  public ResponseEntity<Map<String, String>> upload(@RequestParam("file") MultipartFile file)
+      throws IOException {
+    try {
+      String hash = assetStore.put(file.getBytes());
+      return ResponseEntity.status(HttpStatus.CREATED)
+          .body(Map.of("hash", hash, "url", AssetStore.URL_PREFIX + hash));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/{hash}")
+  public void get(
+      @PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    Path path = assetStore.find(hash);
+    if (path == null) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    String etag = "\"" + hash + "\"";
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+    if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+    MediaType type = assetStore.mediaType(hash, path);
+    long size = Files.size(path);
+    response.setContentType(type.toString());
+    response.setContentLengthLong(size);
+    response.setHeader("X-Content-Type-Options", "nosniff");
+    // SVG is a document; never let an icon opened directly run script.
+    response.setHeader("Content-Security-Policy", "default-src 'none'; style-src 'unsafe-inline'");
+    if (size >= SENDFILE_MIN_BYTES
+        && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+      request.setAttribute("org.apache.tomcat.sendfile.filename", path.toAbsolutePath().toString());
+      request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+      request.setAttribute("org.apache.tomcat.sendfile.end", size);
+      return;
+    }
+    Files.copy(path, response.getOutputStream());
+  }
+}
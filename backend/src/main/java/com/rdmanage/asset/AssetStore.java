@@ -0,0 +1,188 @@
+package com.rdmanage.asset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Content-addressed blobs on local disk, stored as {@code <dir>/<first two hex>/<sha-256>}. A
+ * given hash always names the same bytes, so files are written once and can be cached forever.
+ */
+@Component
+public class AssetStore {
+  public static final String URL_PREFIX = "/api/assets/";
+
+  private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+  private final Path root;
+  private final long maxBytes;
+  private final Map<String, MediaType> types = new ConcurrentHashMap<>();
+
+  public AssetStore(
+      @Value("${rdmanage.assets.dir:data/assets}") String dir,
+      @Value("${rdmanage.assets.max-bytes:2097152}") long maxBytes) {
+    this.root = Paths.get(dir);
+    this.maxBytes = maxBytes;
+  }
+
+  /** Stores {@code content} unless it is already present and returns its hash. */
+  public String put(byte[] content) {
+    if (content.length == 0) {
+      throw new IllegalArgumentException("图标文件为空");
+    }
+    if (content.length > maxBytes) {
+      throw new IllegalArgumentException("图标文件过大");
+    }
+    String hash = sha256(content);
+    Path target = path(hash);
+    if (Files.exists(target)) {
+      return hash;
+    }
+    try {
+      Files.createDirectories(target.getParent());
+      Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+      try {
+        Files.write(temp, content);
+        move(temp, target);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return hash;
+  }
+
+  /**
+   * Turns a {@code data:} URL into a stored asset and returns its {@code /api/assets/} URL. Any
+   * other value, including an existing asset URL, comes back unchanged.
+   */
+  public String externalize(String url) {
+    if (url == null || !url.regionMatches(true, 0, "data:", 0, 5)) {
+      return url;
+    }
+    int comma = url.indexOf(',');
+    if (comma < 0) {
+      throw new IllegalArgumentException("图标格式错误");
+    }
+    String meta = url.substring(5, comma).toLowerCase(Locale.ROOT);
+    String payload = url.substring(comma + 1);
+    byte[] content;
+    try {
+      content =
+          meta.endsWith(";base64")
+              ? Base64.getMimeDecoder().decode(payload)
+              : URLDecoder.decode(payload.replace("+", "%2B"), StandardCharsets.UTF_8)
+                  .getBytes(StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("图标格式错误", ex);
+    }
+    return URL_PREFIX + put(content);
+  }
+
+  /** Path of a stored asset, or null when the hash is malformed or unknown. */
+  public Path find(String hash) {
+    if (hash == null || !HASH.matcher(hash).matches()) {
+      return null;
+    }
+    Path path = path(hash);
+    return Files.isRegularFile(path) ? path : null;
+  }
+
+  /** Media type sniffed from the stored bytes; the upload's own claim is never trusted. */
+  public MediaType mediaType(String hash, Path path) {
+    MediaType type = types.get(hash);
+    if (type == null) {
+      // Read outside the map: computeIfAbsent would hold a bin lock across the file read.
+      // Stored bytes never change, so a racing read reaches the same answer.
+      type = sniff(path);
+      types.putIfAbsent(hash, type);
+    }
+    return type;
+  }
+
+  private Path path(String hash) {
+    return root.resolve(hash.substring(0, 2)).resolve(hash);
+  }
+
+  private static void move(Path temp, Path target) throws IOException {
+    try {
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileAlreadyExistsException ex) {
+      // A concurrent upload of the same bytes won; the content is identical.
+    } catch (AtomicMoveNotSupportedException ex) {
+      if (!Files.exists(target)) {
+        Files.move(temp, target);
+      }
+    }
+  }
+
+  private static MediaType sniff(Path path) {
+    byte[] head = new byte[512];
+    int read;
+    try (InputStream in = Files.newInputStream(path)) {
+      read = in.readNBytes(head, 0, head.length);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    if (startsWith(head, read, 0x89, 'P', 'N', 'G')) {
+      return MediaType.IMAGE_PNG;
+    }
+    if (startsWith(head, read, 0xFF, 0xD8, 0xFF)) {
+      return MediaType.IMAGE_JPEG;
+    }
+    if (startsWith(head, read, 'G', 'I', 'F', '8')) {
+      return MediaType.IMAGE_GIF;
+    }
+    if (read >= 12 && startsWith(head, read, 'R', 'I', 'F', 'F') && head[8] == 'W') {
+      return new MediaType("image", "webp");
+    }
+    if (startsWith(head, read, 0x00, 0x00, 0x01, 0x00)) {
+      return new MediaType("image", "x-icon");
+    }
+    String text = new String(head, 0, read, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT);
+    if (text.contains("<svg")) {
+      return new MediaType("image", "svg+xml");
+    }
+    return MediaType.APPLICATION_OCTET_STREAM;
+  }
+
+  private static boolean startsWith(byte[] head, int read, int... prefix) {
+    if (read < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if ((head[i] & 0xFF) != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String sha256(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.rdmanage.controller;
+
+import com.rdmanage.dto.ChangeFeed;
+import com.rdmanage.service.ChangeFeedService;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+  private final ChangeFeedService changeFeedService;
+
+  public ChangeController(ChangeFeedService changeFeedService) {
+    this.changeFeedService = changeFeedService;
+  }
+
+  /** Without {@code since}, returns only the position to start polling from. */
+  @GetMapping
+  public ResponseEntity<ChangeFeed> since(
+      @RequestParam(required = false) Long since,
+      @RequestParam(defaultValue = "500") int limit) {
+    if (since == null) {
+      return ResponseEntity.ok(new ChangeFeed(List.of(), changeFeedService.head(), false));
+    }
+    try {
+      return ResponseEntity.ok(changeFeedService.since(since, limit));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
@@ -3,15 +3,20 @@ package com.rdmanage.controller;
 import com.rdmanage.dto.DictItemRequest;
 import com.rdmanage.model.DictItem;
 import com.rdmanage.service.DictService;
+import com.rdmanage.service.DictSnapshot;
+import com.rdmanage.service.TableVersions;
 import java.util.List;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/dicts")
@@ -23,8 +28,16 @@ public class DictController {
   }
 
   @GetMapping
-  public List<DictItem> listAll() {
-    return dictService.listAll();
+  public ResponseEntity<List<DictItem>> list(
+      @RequestParam(required = false) String type,
+      @RequestParam(defaultValue = "false") boolean includeInactive,
+      WebRequest request) {
+    DictSnapshot snapshot = dictService.snapshot();
+    String etag = "\"dict-" + TableVersions.BOOT_EPOCH + "-" + snapshot.getVersion() + "\"";
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    return EntityTags.ok(etag, snapshot.items(type, includeInactive));
   }
 
   @PostMapping
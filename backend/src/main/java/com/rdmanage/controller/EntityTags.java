@@ -0,0 +1,19 @@
+package com.rdmanage.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Responses for endpoints that have already compared the request against {@code etag}. */
+final class EntityTags {
+  private EntityTags() {}
+
+  static <T> ResponseEntity<T> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+  }
+
+  /** Browsers may keep the body but must revalidate it on every use. */
+  static <T> ResponseEntity<T> ok(String etag, T body) {
+    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body);
+  }
+}
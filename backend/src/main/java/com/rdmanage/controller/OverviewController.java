@@ -0,0 +1,31 @@
+package com.rdmanage.controller;
+
+import com.rdmanage.dto.OverviewStats;
+import com.rdmanage.service.OverviewStatsService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/overview")
+public class OverviewController {
+  private final OverviewStatsService overviewStatsService;
+
+  public OverviewController(OverviewStatsService overviewStatsService) {
+    this.overviewStatsService = overviewStatsService;
+  }
+
+  @GetMapping("/stats")
+  public ResponseEntity<OverviewStats> stats(
+      @RequestParam(required = false) Long productId,
+      @RequestParam(required = false) Long moduleId) {
+    return ResponseEntity.ok()
+        .cacheControl(
+            CacheControl.maxAge(overviewStatsService.getFresh())
+                .staleWhileRevalidate(overviewStatsService.getMaxStale()))
+        .body(overviewStatsService.get(productId, moduleId));
+  }
+}
@@ -4,6 +4,7 @@ import com.rdmanage.dto.CreateProductRequest;
 import com.rdmanage.dto.UpdateProductRequest;
 import com.rdmanage.model.Product;
 import com.rdmanage.service.ProductService;
+import com.rdmanage.service.TableVersions;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
@@ -16,30 +17,47 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/products")
 @Validated
 public class ProductController {
   private final ProductService productService;
+  private final TableVersions tableVersions;
 
-  public ProductController(ProductService productService) {
+  public ProductController(ProductService productService, TableVersions tableVersions) {
     this.productService = productService;
+    this.tableVersions = tableVersions;
   }
 
   @GetMapping
-  public List<Product> list() {
-    return productService.list();
+  public ResponseEntity<List<Product>> list(
+      @RequestParam(required = false) String q, WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.PRODUCT);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    try {
+      return EntityTags.ok(etag, productService.list(q));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<Product> get(@PathVariable Long id) {
+  public ResponseEntity<Product> get(@PathVariable Long id, WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.PRODUCT);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
     Product product = productService.get(id);
     if (product == null) {
       return ResponseEntity.notFound().build();
     }
-    return ResponseEntity.ok(product);
+    return EntityTags.ok(etag, product);
   }
 
   @PostMapping
@@ -1,9 +1,11 @@
 package com.rdmanage.controller;
 
 import com.rdmanage.dto.CreateProductModuleRequest;
+import com.rdmanage.dto.ModuleTreeNode;
 import com.rdmanage.dto.UpdateProductModuleRequest;
 import com.rdmanage.model.ProductModule;
 import com.rdmanage.service.ProductModuleService;
+import com.rdmanage.service.TableVersions;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
@@ -18,31 +20,54 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/modules")
 @Validated
 public class ProductModuleController {
   private final ProductModuleService productModuleService;
+  private final TableVersions tableVersions;
 
-  public ProductModuleController(ProductModuleService productModuleService) {
+  public ProductModuleController(
+      ProductModuleService productModuleService, TableVersions tableVersions) {
     this.productModuleService = productModuleService;
+    this.tableVersions = tableVersions;
   }
 
   @GetMapping
-  public List<ProductModule> list(
+  public ResponseEntity<List<ProductModule>> list(
       @RequestParam(required = false) Long productId,
-      @RequestParam(required = false) Long parentId) {
-    return productModuleService.list(productId, parentId);
+      @RequestParam(required = false) Long parentId,
+      WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.MODULE);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    return EntityTags.ok(etag, productModuleService.list(productId, parentId));
+  }
+
+  @GetMapping("/tree")
+  public ResponseEntity<List<ModuleTreeNode>> tree(
+      @RequestParam Long productId, WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.MODULE);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    return EntityTags.ok(etag, productModuleService.tree(productId));
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<ProductModule> get(@PathVariable Long id) {
+  public ResponseEntity<ProductModule> get(@PathVariable Long id, WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.MODULE);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
     ProductModule module = productModuleService.get(id);
     if (module == null) {
       return ResponseEntity.notFound().build();
     }
-    return ResponseEntity.ok(module);
+    return EntityTags.ok(etag, module);
   }
 
   @PostMapping
@@ -1,9 +1,13 @@
 package com.rdmanage.controller;
 
+import com.rdmanage.dto.BatchResult;
 import com.rdmanage.dto.CreateRequirementRequest;
+import com.rdmanage.dto.CursorPage;
+import com.rdmanage.dto.RequirementBatchRequest;
 import com.rdmanage.dto.UpdateRequirementRequest;
 import com.rdmanage.model.Requirement;
 import com.rdmanage.service.RequirementService;
+import com.rdmanage.service.TableVersions;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
@@ -18,31 +22,70 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/requirements")
 @Validated
 public class RequirementController {
   private final RequirementService requirementService;
+  private final TableVersions tableVersions;
 
-  public RequirementController(RequirementService requirementService) {
+  public RequirementController(RequirementService requirementService, TableVersions tableVersions) {
     this.requirementService = requirementService;
+    this.tableVersions = tableVersions;
   }
 
   @GetMapping
-  public List<Requirement> list(
+  public ResponseEntity<List<Requirement>> list(
       @RequestParam(required = false) Long productId,
-      @RequestParam(required = false) Long moduleId) {
-    return requirementService.list(productId, moduleId);
+      @RequestParam(required = false) Long moduleId,
+      @RequestParam(required = false) String q,
+      WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.REQUIREMENT, TableVersions.TASK);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    try {
+      return EntityTags.ok(etag, requirementService.list(productId, moduleId, q));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping(params = "limit")
+  public ResponseEntity<CursorPage<Requirement>> page(
+      @RequestParam(required = false) Long productId,
+      @RequestParam(required = false) Long moduleId,
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) String cursor,
+      @RequestParam int limit,
+      @RequestParam(defaultValue = "false") boolean withTotal,
+      WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.REQUIREMENT, TableVersions.TASK);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    try {
+      return EntityTags.ok(
+          etag,
+          requirementService.page(productId, moduleId, q, cursor, limit, withTotal));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<Requirement> get(@PathVariable Long id) {
+  public ResponseEntity<Requirement> get(@PathVariable Long id, WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.REQUIREMENT);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
     Requirement requirement = requirementService.get(id);
     if (requirement == null) {
       return ResponseEntity.notFound().build();
     }
-    return ResponseEntity.ok(requirement);
+    return EntityTags.ok(etag, requirement);
   }
 
   @PostMapping
@@ -54,6 +97,15 @@ public class RequirementController {
     }
   }
 
+  @PostMapping("/batch")
+  public ResponseEntity<BatchResult> batch(@Valid @RequestBody RequirementBatchRequest request) {
+    BatchResult result = requirementService.batch(request);
+    if (!result.getErrors().isEmpty()) {
+      return ResponseEntity.badRequest().body(result);
+    }
+    return ResponseEntity.ok(result);
+  }
+
   @PutMapping("/{id}")
   public ResponseEntity<Requirement> update(
       @PathVariable Long id, @RequestBody UpdateRequirementRequest request) {
@@ -1,9 +1,13 @@
 package com.rdmanage.controller;
 
+import com.rdmanage.dto.BatchResult;
 import com.rdmanage.dto.CreateTaskRequest;
+import com.rdmanage.dto.CursorPage;
+import com.rdmanage.dto.TaskBatchRequest;
 import com.rdmanage.dto.UpdateTaskRequest;
 import com.rdmanage.model.TaskItem;
 import com.rdmanage.service.TaskService;
+import com.rdmanage.service.TableVersions;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
@@ -18,31 +22,70 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Validated
 public class TaskController {
   private final TaskService taskService;
+  private final TableVersions tableVersions;
 
-  public TaskController(TaskService taskService) {
+  public TaskController(TaskService taskService, TableVersions tableVersions) {
     this.taskService = taskService;
+    this.tableVersions = tableVersions;
   }
 
   @GetMapping
-  public List<TaskItem> list(
+  public ResponseEntity<List<TaskItem>> list(
       @RequestParam(required = false) Long productId,
-      @RequestParam(required = false) Long moduleId) {
-    return taskService.list(productId, moduleId);
+      @RequestParam(required = false) Long moduleId,
+      @RequestParam(required = false) String q,
+      WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.TASK);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    try {
+      return EntityTags.ok(etag, taskService.list(productId, moduleId, q));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping(params = "limit")
+  public ResponseEntity<CursorPage<TaskItem>> page(
+      @RequestParam(required = false) Long productId,
+      @RequestParam(required = false) Long moduleId,
+      @RequestParam(required = false) String q,
+      @RequestParam(required = false) String cursor,
+      @RequestParam int limit,
+      @RequestParam(defaultValue = "false") boolean withTotal,
+      WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.TASK);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    try {
+      return EntityTags.ok(
+          etag,
+          taskService.page(productId, moduleId, q, cursor, limit, withTotal));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<TaskItem> get(@PathVariable Long id) {
+  public ResponseEntity<TaskItem> get(@PathVariable Long id, WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.TASK);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
     TaskItem task = taskService.get(id);
     if (task == null) {
       return ResponseEntity.notFound().build();
     }
-    return ResponseEntity.ok(task);
+    return EntityTags.ok(etag, task);
   }
 
   @PostMapping
@@ -54,6 +97,15 @@ public class TaskController {
     }
   }
 
+  @PostMapping("/batch")
+  public ResponseEntity<BatchResult> batch(@Valid @RequestBody TaskBatchRequest request) {
+    BatchResult result = taskService.batch(request);
+    if (!result.getErrors().isEmpty()) {
+      return ResponseEntity.badRequest().body(result);
+    }
+    return ResponseEntity.ok(result);
+  }
+
   @PutMapping("/{id}")
   public ResponseEntity<TaskItem> update(
       @PathVariable Long id, @RequestBody UpdateTaskRequest request) {
@@ -4,6 +4,7 @@ import com.rdmanage.dto.CreateVersionRequest;
 import com.rdmanage.dto.UpdateVersionRequest;
 import com.rdmanage.model.VersionInfo;
 import com.rdmanage.service.VersionService;
+import com.rdmanage.service.TableVersions;
 import jakarta.validation.Valid;
 import java.util.List;
 import org.springframework.http.HttpStatus;
@@ -18,31 +19,48 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/versions")
 @Validated
 public class VersionController {
   private final VersionService versionService;
+  private final TableVersions tableVersions;
 
-  public VersionController(VersionService versionService) {
+  public VersionController(VersionService versionService, TableVersions tableVersions) {
     this.versionService = versionService;
+    this.tableVersions = tableVersions;
   }
 
   @GetMapping
-  public List<VersionInfo> list(
+  public ResponseEntity<List<VersionInfo>> list(
       @RequestParam(required = false) Long productId,
-      @RequestParam(required = false) Long moduleId) {
-    return versionService.list(productId, moduleId);
+      @RequestParam(required = false) Long moduleId,
+      @RequestParam(required = false) String q,
+      WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.VERSION);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
+    try {
+      return EntityTags.ok(etag, versionService.list(productId, moduleId, q));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<VersionInfo> get(@PathVariable Long id) {
+  public ResponseEntity<VersionInfo> get(@PathVariable Long id, WebRequest request) {
+    String etag = tableVersions.etag(TableVersions.VERSION);
+    if (request.checkNotModified(etag)) {
+      return EntityTags.notModified(etag);
+    }
     VersionInfo version = versionService.get(id);
     if (version == null) {
       return ResponseEntity.notFound().build();
     }
-    return ResponseEntity.ok(version);
+    return EntityTags.ok(etag, version);
   }
 
   @PostMapping
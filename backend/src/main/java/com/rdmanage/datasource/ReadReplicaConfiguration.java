@@ -0,0 +1,83 @@
+package com.rdmanage.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with a primary pool and a replica pool behind
+ * a routing data source, but only when {@code rdmanage.datasource.replica.url} is set. Without it
+ * the application runs on Boot's default data source and {@link ReplicaRead} has no effect.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("rdmanage.datasource.replica.url")
+public class ReadReplicaConfiguration {
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public HikariDataSource replicaDataSource(
+      DataSourceProperties properties,
+      @Value("${rdmanage.datasource.replica.url}") String url,
+      @Value("${rdmanage.datasource.replica.username:}") String username,
+      @Value("${rdmanage.datasource.replica.password:}") String password,
+      @Value("${rdmanage.datasource.replica.max-pool-size:10}") int maxPoolSize) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName("replica");
+    dataSource.setJdbcUrl(url);
+    dataSource.setDriverClassName(properties.determineDriverClassName());
+    dataSource.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+    dataSource.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+    dataSource.setMaximumPoolSize(maxPoolSize);
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaDataSource") DataSource replica,
+      @Value("${rdmanage.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+      @Value("${rdmanage.datasource.replica.lag-column:Seconds_Behind_Source}") String lagColumn,
+      @Value("${rdmanage.datasource.replica.max-lag-seconds:2}") long maxLagSeconds) {
+    return new ReplicaLagMonitor(replica, lagQuery, lagColumn, maxLagSeconds);
+  }
+
+  /** The data source JPA, JdbcTemplate and Flyway use; anything not flagged goes to primary. */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      ReplicaLagMonitor lagMonitor) {
+    ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(lagMonitor);
+    routing.setTargetDataSources(
+        Map.of(
+            ReadWriteRoutingDataSource.PRIMARY, primary,
+            ReadWriteRoutingDataSource.REPLICA, replica));
+    routing.setDefaultTargetDataSource(primary);
+    routing.afterPropertiesSet();
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  @Bean
+  public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+      @Value("${rdmanage.datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+    return new FilterRegistrationBean<>(new ReadYourWritesFilter(windowMillis));
+  }
+}
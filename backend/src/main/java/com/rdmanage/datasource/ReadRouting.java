@@ -0,0 +1,54 @@
+package com.rdmanage.datasource;
+
+/** Per-thread routing hints set by {@link ReplicaReadAspect} and {@link ReadYourWritesFilter}. */
+public final class ReadRouting {
+  private static final ThreadLocal<Boolean> REPLICA_REQUESTED = new ThreadLocal<>();
+  private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+  private static final ThreadLocal<Long> FRESH_SINCE = new ThreadLocal<>();
+
+  private ReadRouting() {}
+
+  static boolean replicaRequested() {
+    return Boolean.TRUE.equals(REPLICA_REQUESTED.get());
+  }
+
+  /** Returns the previous value so nested calls can restore it. */
+  static boolean requestReplica(boolean requested) {
+    boolean previous = replicaRequested();
+    REPLICA_REQUESTED.set(requested);
+    return previous;
+  }
+
+  static boolean primaryPinned() {
+    return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+  }
+
+  static void pinPrimary(boolean pinned) {
+    if (pinned) {
+      PRIMARY_PINNED.set(true);
+    } else {
+      PRIMARY_PINNED.remove();
+    }
+  }
+
+  /**
+   * Requires the rest of this request to read data that includes every commit up to
+   * {@code epochMillis}. Set when a response is labelled with a version, so a lagging replica
+   * cannot fill a body that the label claims is newer.
+   */
+  public static void requireFreshSince(long epochMillis) {
+    Long current = FRESH_SINCE.get();
+    if (current == null || current < epochMillis) {
+      FRESH_SINCE.set(epochMillis);
+    }
+  }
+
+  static long freshSince() {
+    Long current = FRESH_SINCE.get();
+    return current != null ? current : 0;
+  }
+
+  static void clearFreshness() {
+    FRESH_SINCE.remove();
+  }
+}
@@ -0,0 +1,32 @@
+package com.rdmanage.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Sends a connection to the replica only for {@link ReplicaRead} work, when the caller is not in
+ * its read-your-writes window, the replica is keeping up and it has applied everything the
+ * request's {@link ReadRouting#requireFreshSince freshness} asks for. Must sit behind a
+ * {@code LazyConnectionDataSourceProxy} so the choice is made at the first statement, after the
+ * routing hints are in place.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+  static final String PRIMARY = "primary";
+  static final String REPLICA = "replica";
+
+  private final ReplicaLagMonitor lagMonitor;
+
+  ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+    this.lagMonitor = lagMonitor;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (ReadRouting.replicaRequested()
+        && !ReadRouting.primaryPinned()
+        && lagMonitor.healthy()
+        && lagMonitor.appliedUpTo() >= ReadRouting.freshSince()) {
+      return REPLICA;
+    }
+    return PRIMARY;
+  }
+}
@@ -0,0 +1,74 @@
+package com.rdmanage.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Keeps a client on the primary for a short window after it writes, so it sees its own change
+ * even if the replica has not applied it yet. The window travels in a cookie holding its end
+ * time, which works without sessions and across backend instances.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+  static final String COOKIE = "rd-primary-until";
+
+  private final long windowMillis;
+
+  ReadYourWritesFilter(long windowMillis) {
+    this.windowMillis = windowMillis;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith("/api/");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    long now = System.currentTimeMillis();
+    if (isWrite(request)) {
+      // Set before the handler runs; the response may be committed by the time it returns.
+      Cookie cookie = new Cookie(COOKIE, Long.toString(now + windowMillis));
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, windowMillis / 1000));
+      response.addCookie(cookie);
+    }
+    ReadRouting.pinPrimary(primaryUntil(request) > now);
+    ReadRouting.clearFreshness();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      ReadRouting.pinPrimary(false);
+      ReadRouting.clearFreshness();
+    }
+  }
+
+  private static boolean isWrite(HttpServletRequest request) {
+    String method = request.getMethod();
+    return !method.equals("GET") && !method.equals("HEAD") && !method.equals("OPTIONS");
+  }
+
+  private static long primaryUntil(HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return 0;
+    }
+    for (Cookie cookie : cookies) {
+      if (cookie.getName().equals(COOKIE)) {
+        try {
+          return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,55 @@
+package com.rdmanage.datasource;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Polls the replica's lag. Reads fall back to the primary while the replica is behind by more
+ * than {@code max-lag-seconds}, reports no lag (replication stopped), or cannot be reached.
+ */
+public class ReplicaLagMonitor {
+  private final JdbcTemplate replica;
+  private final String lagQuery;
+  private final String lagColumn;
+  private final long maxLagSeconds;
+  private volatile boolean healthy;
+  private volatile long appliedUpTo;
+
+  ReplicaLagMonitor(DataSource replica, String lagQuery, String lagColumn, long maxLagSeconds) {
+    this.replica = new JdbcTemplate(replica);
+    this.lagQuery = lagQuery;
+    this.lagColumn = lagColumn;
+    this.maxLagSeconds = maxLagSeconds;
+  }
+
+  public boolean healthy() {
+    return healthy;
+  }
+
+  /** A time the replica is known to have applied every primary commit up to, in epoch millis. */
+  public long appliedUpTo() {
+    return appliedUpTo;
+  }
+
+  @PostConstruct
+  @Scheduled(
+      fixedDelayString = "${rdmanage.datasource.replica.lag-check-ms:1000}",
+      initialDelayString = "${rdmanage.datasource.replica.lag-check-ms:1000}")
+  public void check() {
+    long checkedAt = System.currentTimeMillis();
+    try {
+      Long lag =
+          replica.query(
+              lagQuery, rs -> rs.next() ? rs.getObject(lagColumn, Long.class) : null);
+      healthy = lag != null && lag <= maxLagSeconds;
+      if (healthy) {
+        // Lag is reported in whole seconds; allow for the part that was rounded away.
+        appliedUpTo = checkedAt - (lag + 1) * 1000;
+      }
+    } catch (RuntimeException ex) {
+      healthy = false;
+    }
+  }
+}
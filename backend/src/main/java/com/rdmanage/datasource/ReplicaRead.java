@@ -0,0 +1,20 @@
+package com.rdmanage.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A read-only service method that may be served by the read replica. Routing only happens when
+ * a replica is configured, it is not lagging, it has applied the commits the response's ETag
+ * counts, the caller has not just written, and no write transaction is already open; otherwise
+ * the method reads from the primary as before.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReplicaRead {}
@@ -0,0 +1,29 @@
+package com.rdmanage.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Flags {@link ReplicaRead} calls for the routing data source. Ordered ahead of the transaction
+ * interceptor so it sees whether the caller already has a transaction: a read inside a write
+ * joins that transaction's primary connection and must not be flagged.
+ */
+@Aspect
+@Component
+@Order(0)
+public class ReplicaReadAspect {
+  @Around("@annotation(com.rdmanage.datasource.ReplicaRead)")
+  public Object route(ProceedingJoinPoint call) throws Throwable {
+    boolean joinsTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+    boolean previous = ReadRouting.requestReplica(!joinsTransaction);
+    try {
+      return call.proceed();
+    } finally {
+      ReadRouting.requestReplica(previous);
+    }
+  }
+}
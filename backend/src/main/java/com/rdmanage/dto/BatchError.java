@@ -0,0 +1,39 @@
+package com.rdmanage.dto;
+
+public class BatchError {
+  private String section;
+  private int index;
+  private String message;
+
+  public BatchError() {}
+
+  public BatchError(String section, int index, String message) {
+    this.section = section;
+    this.index = index;
+    this.message = message;
+  }
+
+  public String getSection() {
+    return section;
+  }
+
+  public void setSection(String section) {
+    this.section = section;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
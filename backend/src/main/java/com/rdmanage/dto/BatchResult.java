@@ -0,0 +1,43 @@
+package com.rdmanage.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchResult {
+  private int created;
+  private int updated;
+  private List<Long> createdIds = new ArrayList<>();
+  private List<BatchError> errors = new ArrayList<>();
+
+  public int getCreated() {
+    return created;
+  }
+
+  public void setCreated(int created) {
+    this.created = created;
+  }
+
+  public int getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(int updated) {
+    this.updated = updated;
+  }
+
+  public List<Long> getCreatedIds() {
+    return createdIds;
+  }
+
+  public void setCreatedIds(List<Long> createdIds) {
+    this.createdIds = createdIds;
+  }
+
+  public List<BatchError> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(List<BatchError> errors) {
+    this.errors = errors;
+  }
+}
@@ -0,0 +1,42 @@
+package com.rdmanage.dto;
+
+import java.util.List;
+
+/** Changes after the requested sequence; pass {@code next} as {@code since} on the next call. */
+public class ChangeFeed {
+  private List<ChangeRecord> changes;
+  private long next;
+  private boolean hasMore;
+
+  public ChangeFeed() {}
+
+  public ChangeFeed(List<ChangeRecord> changes, long next, boolean hasMore) {
+    this.changes = changes;
+    this.next = next;
+    this.hasMore = hasMore;
+  }
+
+  public List<ChangeRecord> getChanges() {
+    return changes;
+  }
+
+  public void setChanges(List<ChangeRecord> changes) {
+    this.changes = changes;
+  }
+
+  public long getNext() {
+    return next;
+  }
+
+  public void setNext(long next) {
+    this.next = next;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+}
@@ -0,0 +1,60 @@
+package com.rdmanage.dto;
+
+/** The latest change to one row; {@code data} is the row as it is now, null for deletes. */
+public class ChangeRecord {
+  private long seq;
+  private String entity;
+  private Long id;
+  private String op;
+  private Object data;
+
+  public ChangeRecord() {}
+
+  public ChangeRecord(long seq, String entity, Long id, String op, Object data) {
+    this.seq = seq;
+    this.entity = entity;
+    this.id = id;
+    this.op = op;
+    this.data = data;
+  }
+
+  public long getSeq() {
+    return seq;
+  }
+
+  public void setSeq(long seq) {
+    this.seq = seq;
+  }
+
+  public String getEntity() {
+    return entity;
+  }
+
+  public void setEntity(String entity) {
+    this.entity = entity;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getOp() {
+    return op;
+  }
+
+  public void setOp(String op) {
+    this.op = op;
+  }
+
+  public Object getData() {
+    return data;
+  }
+
+  public void setData(Object data) {
+    this.data = data;
+  }
+}
@@ -0,0 +1,51 @@
+package com.rdmanage.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+  private List<T> items;
+  private String nextCursor;
+  private boolean hasMore;
+  private Long approxTotal;
+
+  public CursorPage() {}
+
+  public CursorPage(List<T> items, String nextCursor, boolean hasMore, Long approxTotal) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+    this.hasMore = hasMore;
+    this.approxTotal = approxTotal;
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public void setItems(List<T> items) {
+    this.items = items;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+
+  public Long getApproxTotal() {
+    return approxTotal;
+  }
+
+  public void setApproxTotal(Long approxTotal) {
+    this.approxTotal = approxTotal;
+  }
+}
@@ -0,0 +1,77 @@
+package com.rdmanage.dto;
+
+import com.rdmanage.model.ProductModule;
+import java.util.List;
+
+/** Read-only module with its children already attached; shared between requests. */
+public final class ModuleTreeNode {
+  private final Long id;
+  private final Long productId;
+  private final Long parentId;
+  private final Integer level;
+  private final String code;
+  private final String name;
+  private final String owner;
+  private final Integer sortOrder;
+  private final String status;
+  private final String description;
+  private final List<ModuleTreeNode> children;
+
+  public ModuleTreeNode(ProductModule module, List<ModuleTreeNode> children) {
+    this.id = module.getId();
+    this.productId = module.getProductId();
+    this.parentId = module.getParentId();
+    this.level = module.getLevel();
+    this.code = module.getCode();
+    this.name = module.getName();
+    this.owner = module.getOwner();
+    this.sortOrder = module.getSortOrder();
+    this.status = module.getStatus();
+    this.description = module.getDescription();
+    this.children = List.copyOf(children);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getProductId() {
+    return productId;
+  }
+
+  public Long getParentId() {
+    return parentId;
+  }
+
+  public Integer getLevel() {
+    return level;
+  }
+
+  public String getCode() {
+    return code;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public Integer getSortOrder() {
+    return sortOrder;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public List<ModuleTreeNode> getChildren() {
+    return children;
+  }
+}
@@ -0,0 +1,142 @@
+package com.rdmanage.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class OverviewStats {
+  private Long productId;
+  private Long moduleId;
+  private long totalVersions;
+  private long inProgressVersions;
+  private long totalRequirements;
+  private long highPriorityRequirements;
+  private long doneRequirements;
+  private long totalTasks;
+  private long pendingTasks;
+  private long blockedTasks;
+  private Map<String, Long> versionsByStatus;
+  private Map<String, Long> requirementsByStatus;
+  private Map<String, Long> requirementsByPriority;
+  private Map<String, Long> tasksByStatus;
+  private LocalDateTime generatedAt;
+
+  public Long getProductId() {
+    return productId;
+  }
+
+  public void setProductId(Long productId) {
+    this.productId = productId;
+  }
+
+  public Long getModuleId() {
+    return moduleId;
+  }
+
+  public void setModuleId(Long moduleId) {
+    this.moduleId = moduleId;
+  }
+
+  public long getTotalVersions() {
+    return totalVersions;
+  }
+
+  public void setTotalVersions(long totalVersions) {
+    this.totalVersions = totalVersions;
+  }
+
+  public long getInProgressVersions() {
+    return inProgressVersions;
+  }
+
+  public void setInProgressVersions(long inProgressVersions) {
+    this.inProgressVersions = inProgressVersions;
+  }
+
+  public long getTotalRequirements() {
+    return totalRequirements;
+  }
+
+  public void setTotalRequirements(long totalRequirements) {
+    this.totalRequirements = totalRequirements;
+  }
+
+  public long getHighPriorityRequirements() {
+    return highPriorityRequirements;
+  }
+
+  public void setHighPriorityRequirements(long highPriorityRequirements) {
+    this.highPriorityRequirements = highPriorityRequirements;
+  }
+
+  public long getDoneRequirements() {
+    return doneRequirements;
+  }
+
+  public void setDoneRequirements(long doneRequirements) {
+    this.doneRequirements = doneRequirements;
+  }
+
+  public long getTotalTasks() {
+    return totalTasks;
+  }
+
+  public void setTotalTasks(long totalTasks) {
+    this.totalTasks = totalTasks;
+  }
+
+  public long getPendingTasks() {
+    return pendingTasks;
+  }
+
+  public void setPendingTasks(long pendingTasks) {
+    this.pendingTasks = pendingTasks;
+  }
+
+  public long getBlockedTasks() {
+    return blockedTasks;
+  }
+
+  public void setBlockedTasks(long blockedTasks) {
+    this.blockedTasks = blockedTasks;
+  }
+
+  public Map<String, Long> getVersionsByStatus() {
+    return versionsByStatus;
+  }
+
+  public void setVersionsByStatus(Map<String, Long> versionsByStatus) {
+    this.versionsByStatus = versionsByStatus;
+  }
+
+  public Map<String, Long> getRequirementsByStatus() {
+    return requirementsByStatus;
+  }
+
+  public void setRequirementsByStatus(Map<String, Long> requirementsByStatus) {
+    this.requirementsByStatus = requirementsByStatus;
+  }
+
+  public Map<String, Long> getRequirementsByPriority() {
+    return requirementsByPriority;
+  }
+
+  public void setRequirementsByPriority(Map<String, Long> requirementsByPriority) {
+    this.requirementsByPriority = requirementsByPriority;
+  }
+
+  public Map<String, Long> getTasksByStatus() {
+    return tasksByStatus;
+  }
+
+  public void setTasksByStatus(Map<String, Long> tasksByStatus) {
+    this.tasksByStatus = tasksByStatus;
+  }
+
+  public LocalDateTime getGeneratedAt() {
+    return generatedAt;
+  }
+
+  public void setGeneratedAt(LocalDateTime generatedAt) {
+    this.generatedAt = generatedAt;
+  }
+}
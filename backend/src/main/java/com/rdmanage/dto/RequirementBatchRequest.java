@@ -0,0 +1,26 @@
+package com.rdmanage.dto;
+
+import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RequirementBatchRequest {
+  private List<@Valid CreateRequirementRequest> create = new ArrayList<>();
+  private List<@Valid RequirementBatchUpdate> update = new ArrayList<>();
+
+  public List<CreateRequirementRequest> getCreate() {
+    return create;
+  }
+
+  public void setCreate(List<CreateRequirementRequest> create) {
+    this.create = create;
+  }
+
+  public List<RequirementBatchUpdate> getUpdate() {
+    return update;
+  }
+
+  public void setUpdate(List<RequirementBatchUpdate> update) {
+    this.update = update;
+  }
+}
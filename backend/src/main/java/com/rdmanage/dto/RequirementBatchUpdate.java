@@ -0,0 +1,16 @@
+package com.rdmanage.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class RequirementBatchUpdate extends UpdateRequirementRequest {
+  @NotNull
+  private Long id;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+}
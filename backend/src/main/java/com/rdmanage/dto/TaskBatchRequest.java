@@ -0,0 +1,26 @@
+package com.rdmanage.dto;
+
+import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskBatchRequest {
+  private List<@Valid CreateTaskRequest> create = new ArrayList<>();
+  private List<@Valid TaskBatchUpdate> update = new ArrayList<>();
+
+  public List<CreateTaskRequest> getCreate() {
+    return create;
+  }
+
+  public void setCreate(List<CreateTaskRequest> create) {
+    this.create = create;
+  }
+
+  public List<TaskBatchUpdate> getUpdate() {
+    return update;
+  }
+
+  public void setUpdate(List<TaskBatchUpdate> update) {
+    this.update = update;
+  }
+}
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 public class UpdateTaskRequest {
   private Long productId;
   private Long moduleId;
+  private Long requirementId;
   private String title;
   private String description;
   private String assignee;
@@ -36,6 +37,14 @@ public class UpdateTaskRequest {
     this.moduleId = moduleId;
   }
 
+  public Long getRequirementId() {
+    return requirementId;
+  }
+
+  public void setRequirementId(Long requirementId) {
+    this.requirementId = requirementId;
+  }
+
   public String getDescription() {
     return description;
   }
@@ -1,12 +1,16 @@
 package com.rdmanage.menu;
 
 import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/menu-config")
@@ -18,13 +22,28 @@ public class MenuConfigController {
   }
 
   @GetMapping
-  public List<MenuConfigItem> get() {
-    return menuConfigService.load();
+  public ResponseEntity<byte[]> get(WebRequest request) {
+    MenuConfigService.Snapshot snapshot = menuConfigService.current();
+    // The version lives in the database, so every instance hands out the same tag.
+    String etag = "\"menu-" + snapshot.getVersion() + "\"";
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .body(snapshot.getBytes());
   }
 
   @PutMapping
   public ResponseEntity<Void> update(@RequestBody List<MenuConfigItem> items) {
-    menuConfigService.save(items);
+    try {
+      menuConfigService.save(items);
+    } catch (IllegalArgumentException ex) {
+      // An icon the asset store rejects: empty, too large or a malformed data URL.
+      return ResponseEntity.badRequest().build();
+    }
     return ResponseEntity.noContent().build();
   }
 }
@@ -1,55 +1,249 @@
-﻿package com.rdmanage.menu;
+package com.rdmanage.menu;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdmanage.asset.AssetStore;
+import com.rdmanage.model.MenuConfigRecord;
+import com.rdmanage.repository.MenuConfigRepository;
+import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Menu tree kept in the {@code menu_config} row and mirrored in memory as already-serialized
+ * JSON. Each instance polls the row's version and reloads only when another instance wrote it, so
+ * reads never touch disk or database. Icons are kept in the {@link AssetStore} and referenced by
+ * URL, which keeps the document small.
+ */
 @Service
 public class MenuConfigService {
   private static final TypeReference<List<MenuConfigItem>> LIST_TYPE = new TypeReference<>() {};
+  private static final Path LEGACY_PATH = Paths.get("data", "menu-config.json");
+  private static final int SAVE_ATTEMPTS = 3;
+
   private final ObjectMapper objectMapper;
-  private final Path configPath = Paths.get("data", "menu-config.json");
+  private final MenuConfigRepository menuConfigRepository;
+  private final AssetStore assetStore;
+  // Not synchronized: refresh() reads the database under this lock, and a monitor would pin a
+  // virtual thread's carrier for that long.
+  private final ReentrantLock lock = new ReentrantLock();
+  private volatile Snapshot snapshot;
 
-  public MenuConfigService(ObjectMapper objectMapper) {
+  public MenuConfigService(
+      ObjectMapper objectMapper,
+      MenuConfigRepository menuConfigRepository,
+      AssetStore assetStore) {
     this.objectMapper = objectMapper;
+    this.menuConfigRepository = menuConfigRepository;
+    this.assetStore = assetStore;
+  }
+
+  @PostConstruct
+  public void init() {
+    Snapshot current = refresh();
+    if (hasInlineIcons(current.items)) {
+      // Stored before icons moved to the asset store; converting is a normal save.
+      save(current.items);
+    }
   }
 
   public List<MenuConfigItem> load() {
-    if (!Files.exists(configPath)) {
-      List<MenuConfigItem> defaults = defaultConfig();
-      save(defaults);
-      return defaults;
+    return current().items;
+  }
+
+  Snapshot current() {
+    Snapshot current = snapshot;
+    return current != null ? current : refresh();
+  }
+
+  public void save(List<MenuConfigItem> items) {
+    byte[] content = serialize(externalizeIcons(normalize(items)));
+    String hash = sha256(content);
+    RuntimeException conflict = null;
+    for (int attempt = 0; attempt < SAVE_ATTEMPTS; attempt++) {
+      MenuConfigRecord record =
+          menuConfigRepository.findById(MenuConfigRecord.SINGLETON_ID).orElseGet(this::newRecord);
+      if (hash.equals(record.getContentHash())) {
+        install(record);
+        return;
+      }
+      record.setContent(new String(content, StandardCharsets.UTF_8));
+      record.setContentHash(hash);
+      record.setUpdatedAt(LocalDateTime.now());
+      try {
+        install(menuConfigRepository.save(record));
+        return;
+      } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException ex) {
+        // Another instance wrote in between; the whole tree is replaced, so just retry.
+        conflict = ex;
+      }
+    }
+    throw new IllegalStateException("保存菜单配置失败", conflict);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${rdmanage.menu.poll-interval-ms:5000}",
+      initialDelayString = "${rdmanage.menu.poll-interval-ms:5000}")
+  public void pollForChanges() {
+    Long version = menuConfigRepository.findVersion(MenuConfigRecord.SINGLETON_ID);
+    Snapshot current = snapshot;
+    if (current == null || version == null || !version.equals(current.version)) {
+      refresh();
+    }
+  }
+
+  private Snapshot refresh() {
+    lock.lock();
+    try {
+      MenuConfigRecord record =
+          menuConfigRepository.findById(MenuConfigRecord.SINGLETON_ID).orElse(null);
+      return install(record != null ? record : seed());
+    } finally {
+      lock.unlock();
     }
+  }
+
+  private Snapshot install(MenuConfigRecord record) {
+    lock.lock();
     try {
-      List<MenuConfigItem> items = normalize(objectMapper.readValue(configPath.toFile(), LIST_TYPE));
+      Snapshot current = snapshot;
+      if (current != null && record.getVersion().equals(current.version)) {
+        return current;
+      }
+      byte[] bytes = record.getContent().getBytes(StandardCharsets.UTF_8);
+      List<MenuConfigItem> items = parse(bytes);
       if (items == null || items.isEmpty()) {
-        List<MenuConfigItem> defaults = defaultConfig();
-        save(defaults);
-        return defaults;
+        items = defaultConfig();
+        bytes = serialize(items);
+      }
+      snapshot = new Snapshot(record.getVersion(), items, bytes);
+      return snapshot;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** First start against an empty table: take over the old file if there is one. */
+  private MenuConfigRecord seed() {
+    List<MenuConfigItem> items = null;
+    if (Files.exists(LEGACY_PATH)) {
+      try {
+        items = normalize(objectMapper.readValue(LEGACY_PATH.toFile(), LIST_TYPE));
+      } catch (IOException ex) {
+        items = null;
+      }
+    }
+    if (items == null || items.isEmpty()) {
+      items = defaultConfig();
+    }
+    byte[] content = serialize(externalizeIcons(items));
+    MenuConfigRecord record = newRecord();
+    record.setContent(new String(content, StandardCharsets.UTF_8));
+    record.setContentHash(sha256(content));
+    record.setUpdatedAt(LocalDateTime.now());
+    try {
+      return menuConfigRepository.save(record);
+    } catch (DataIntegrityViolationException ex) {
+      return menuConfigRepository
+          .findById(MenuConfigRecord.SINGLETON_ID)
+          .orElseThrow(() -> ex);
+    }
+  }
+
+  private List<MenuConfigItem> externalizeIcons(List<MenuConfigItem> items) {
+    if (items != null) {
+      for (MenuConfigItem item : items) {
+        if (item != null) {
+          item.setIconDataUrl(assetStore.externalize(item.getIconDataUrl()));
+          externalizeIcons(item.getChildren());
+        }
+      }
+    }
+    return items;
+  }
+
+  private static boolean hasInlineIcons(List<MenuConfigItem> items) {
+    if (items == null) {
+      return false;
+    }
+    for (MenuConfigItem item : items) {
+      if (item == null) {
+        continue;
+      }
+      String icon = item.getIconDataUrl();
+      if ((icon != null && icon.regionMatches(true, 0, "data:", 0, 5))
+          || hasInlineIcons(item.getChildren())) {
+        return true;
       }
-      return items;
+    }
+    return false;
+  }
+
+  private MenuConfigRecord newRecord() {
+    MenuConfigRecord record = new MenuConfigRecord();
+    record.setId(MenuConfigRecord.SINGLETON_ID);
+    return record;
+  }
+
+  private List<MenuConfigItem> parse(byte[] content) {
+    try {
+      return normalize(objectMapper.readValue(content, LIST_TYPE));
     } catch (IOException ex) {
-      List<MenuConfigItem> defaults = defaultConfig();
-      save(defaults);
-      return defaults;
+      return null;
     }
   }
 
-  public void save(List<MenuConfigItem> items) {
+  private byte[] serialize(List<MenuConfigItem> items) {
     try {
-      Files.createDirectories(configPath.getParent());
-      objectMapper.writerWithDefaultPrettyPrinter().writeValue(configPath.toFile(), normalize(items));
+      return objectMapper.writeValueAsBytes(items);
     } catch (IOException ex) {
       throw new IllegalStateException("保存菜单配置失败", ex);
     }
   }
 
+  private static String sha256(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /** Parsed and serialized form of one stored version. */
+  static final class Snapshot {
+    private final Long version;
+    private final List<MenuConfigItem> items;
+    private final byte[] bytes;
+
+    private Snapshot(Long version, List<MenuConfigItem> items, byte[] bytes) {
+      this.version = version;
+      this.items = items;
+      this.bytes = bytes;
+    }
+
+    Long getVersion() {
+      return version;
+    }
+
+    byte[] getBytes() {
+      return bytes;
+    }
+  }
+
   private List<MenuConfigItem> defaultConfig() {
     List<MenuConfigItem> items = new ArrayList<>();
     items.add(menu("overview", "概览", "概览", "overview"));
@@ -85,7 +279,7 @@ public class MenuConfigService {
     return item;
   }
 
-  private List<MenuConfigItem> normalize(List<MenuConfigItem> items) {
+  List<MenuConfigItem> normalize(List<MenuConfigItem> items) {
     if (items == null) {
       return null;
     }
@@ -95,7 +289,13 @@ public class MenuConfigService {
         continue;
       }
       if (item.getChildren() != null && !item.getChildren().isEmpty()) {
-        boolean hasDuplicateKey = item.getChildren().stream().anyMatch(child -> child != null && item.getKey() != null && item.getKey().equals(child.getKey()));
+        boolean hasDuplicateKey =
+            item.getChildren().stream()
+                .anyMatch(
+                    child ->
+                        child != null
+                            && item.getKey() != null
+                            && item.getKey().equals(child.getKey()));
         if (hasDuplicateKey && "products".equals(item.getKey())) {
           item.setKey("productGroup");
         }
@@ -0,0 +1,39 @@
+package com.rdmanage.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds a {@code handler} tag ({@code ProductController.list}) to the {@code http.server.requests}
+ * timer, next to the default method, uri, status and outcome tags, so a dashboard can group by
+ * controller method instead of by URI template. Handlers outside our controllers are tagged
+ * {@code none} to keep the tag's cardinality bounded.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+  private static final KeyValue NO_HANDLER = KeyValue.of("handler", "none");
+
+  @Override
+  public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+    return super.getLowCardinalityKeyValues(context).and(handler(context));
+  }
+
+  private static KeyValue handler(ServerRequestObservationContext context) {
+    Object handler =
+        context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+    if (!(handler instanceof HandlerMethod method)) {
+      return NO_HANDLER;
+    }
+    Class<?> type = method.getBeanType();
+    String pkg = type.getPackageName();
+    if (!pkg.equals("com.rdmanage.controller") && !pkg.equals("com.rdmanage.menu")) {
+      return NO_HANDLER;
+    }
+    return KeyValue.of("handler", type.getSimpleName() + "." + method.getMethod().getName());
+  }
+}
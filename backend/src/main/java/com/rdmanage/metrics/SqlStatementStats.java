@@ -0,0 +1,75 @@
+package com.rdmanage.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements Hibernate issued on the current thread while a request was being handled. Queries
+ * run through {@code JdbcTemplate} bypass Hibernate and are not counted.
+ */
+final class SqlStatementStats {
+  private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+  private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(?:\\s*,\\s*\\?)*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final Map<String, Integer> shapes = new HashMap<>();
+  private int statements;
+  private long executeNanos;
+  private long executeStartedAt;
+
+  static SqlStatementStats begin() {
+    SqlStatementStats stats = new SqlStatementStats();
+    CURRENT.set(stats);
+    return stats;
+  }
+
+  static void end() {
+    CURRENT.remove();
+  }
+
+  static SqlStatementStats current() {
+    return CURRENT.get();
+  }
+
+  void statement(String sql) {
+    statements++;
+    shapes.merge(shape(sql), 1, Integer::sum);
+  }
+
+  void executeStarted() {
+    executeStartedAt = System.nanoTime();
+  }
+
+  void executeEnded() {
+    if (executeStartedAt != 0) {
+      executeNanos += System.nanoTime() - executeStartedAt;
+      executeStartedAt = 0;
+    }
+  }
+
+  int statements() {
+    return statements;
+  }
+
+  long executeMillis() {
+    return executeNanos / 1_000_000;
+  }
+
+  /** The statement shape issued most often, or null when nothing ran. */
+  Map.Entry<String, Integer> mostRepeated() {
+    Map.Entry<String, Integer> top = null;
+    for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+      if (top == null || entry.getValue() > top.getValue()) {
+        top = entry;
+      }
+    }
+    return top;
+  }
+
+  /** Folds IN lists of any length together so batched lookups share one shape. */
+  static String shape(String sql) {
+    String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+    return PARAMETER_LIST.matcher(collapsed).replaceAll("(?...)");
+  }
+}
@@ -0,0 +1,125 @@
+package com.rdmanage.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Counts the Hibernate statements behind each API request. Optionally reports them in
+ * {@code X-SQL-Count} / {@code X-SQL-Time-Ms}. Logs a warning when a request runs more statements
+ * than {@code warn-statements}, or repeats one statement shape {@code warn-repeats} times, which
+ * is usually an N+1 lookup.
+ */
+@Component
+public class SqlStatsFilter extends OncePerRequestFilter {
+  static final String COUNT_HEADER = "X-SQL-Count";
+  static final String TIME_HEADER = "X-SQL-Time-Ms";
+  private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+  private final boolean header;
+  private final int warnStatements;
+  private final int warnRepeats;
+
+  public SqlStatsFilter(
+      @Value("${rdmanage.sql-stats.header:false}") boolean header,
+      @Value("${rdmanage.sql-stats.warn-statements:50}") int warnStatements,
+      @Value("${rdmanage.sql-stats.warn-repeats:10}") int warnRepeats) {
+    this.header = header;
+    this.warnStatements = warnStatements;
+    this.warnRepeats = warnRepeats;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith("/api/");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    SqlStatementStats stats = SqlStatementStats.begin();
+    HttpServletResponse target = header ? new HeaderWriter(response, stats) : response;
+    try {
+      chain.doFilter(request, target);
+    } finally {
+      SqlStatementStats.end();
+      if (header && !response.isCommitted()) {
+        writeHeaders(response, stats);
+      }
+      warnIfExcessive(request, stats);
+    }
+  }
+
+  private void warnIfExcessive(HttpServletRequest request, SqlStatementStats stats) {
+    Map.Entry<String, Integer> repeated = stats.mostRepeated();
+    boolean tooMany = stats.statements() > warnStatements;
+    boolean nPlusOne = repeated != null && repeated.getValue() >= warnRepeats;
+    if (!tooMany && !nPlusOne) {
+      return;
+    }
+    log.warn(
+        "{} {} ran {} SQL statements ({} ms executing); most repeated x{}: {}",
+        request.getMethod(),
+        request.getRequestURI(),
+        stats.statements(),
+        stats.executeMillis(),
+        repeated.getValue(),
+        repeated.getKey());
+  }
+
+  private static void writeHeaders(HttpServletResponse response, SqlStatementStats stats) {
+    response.setHeader(COUNT_HEADER, Integer.toString(stats.statements()));
+    response.setHeader(TIME_HEADER, Long.toString(stats.executeMillis()));
+  }
+
+  /**
+   * Headers cannot change once the body starts, so they are written as soon as the handler asks
+   * for the body stream. Statements after that point (streaming exports) are only logged.
+   */
+  private static final class HeaderWriter extends HttpServletResponseWrapper {
+    private final SqlStatementStats stats;
+    private boolean written;
+
+    HeaderWriter(HttpServletResponse response, SqlStatementStats stats) {
+      super(response);
+      this.stats = stats;
+    }
+
+    private void beforeBody() {
+      if (!written && !isCommitted()) {
+        written = true;
+        writeHeaders((HttpServletResponse) getResponse(), stats);
+      }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      beforeBody();
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      beforeBody();
+      return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      beforeBody();
+      super.flushBuffer();
+    }
+  }
+}
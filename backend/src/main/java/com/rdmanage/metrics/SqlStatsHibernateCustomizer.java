@@ -0,0 +1,67 @@
+package com.rdmanage.metrics;
+
+import java.util.Map;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/** Hooks statement counting and JDBC execute timing into every Hibernate session. */
+@Component
+public class SqlStatsHibernateCustomizer implements HibernatePropertiesCustomizer {
+  @Override
+  public void customize(Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingInspector());
+    hibernateProperties.put(
+        AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TimingListener.class.getName());
+  }
+
+  static final class CountingInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+      SqlStatementStats stats = SqlStatementStats.current();
+      if (stats != null) {
+        stats.statement(sql);
+      }
+      return sql;
+    }
+  }
+
+  /** Instantiated by Hibernate for each session, hence public. */
+  public static final class TimingListener implements SessionEventListener {
+    @Override
+    public void jdbcExecuteStatementStart() {
+      started();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+      ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+      started();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+      ended();
+    }
+
+    private static void started() {
+      SqlStatementStats stats = SqlStatementStats.current();
+      if (stats != null) {
+        stats.executeStarted();
+      }
+    }
+
+    private static void ended() {
+      SqlStatementStats stats = SqlStatementStats.current();
+      if (stats != null) {
+        stats.executeEnded();
+      }
+    }
+  }
+}
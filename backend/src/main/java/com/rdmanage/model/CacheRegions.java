@@ -0,0 +1,12 @@
+package com.rdmanage.model;
+
+/** Second-level cache regions; each is created with its own size bound at startup. */
+public final class CacheRegions {
+  public static final String PRODUCT = "product";
+  public static final String PRODUCT_MODULE = "product_module";
+  public static final String DICT_ITEM = "dict_item";
+  /** Query cache for {@code ProductModuleRepository.findByProductId}. */
+  public static final String MODULES_BY_PRODUCT = "product_module_by_product";
+
+  private CacheRegions() {}
+}
@@ -0,0 +1,72 @@
+package com.rdmanage.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/** One write to a synced entity. Rows are inserted through {@code ChangeLog}, not this mapping. */
+@Entity
+@Table(
+    name = "change_log",
+    indexes = {
+      @Index(name = "idx_change_log_entity", columnList = "entity, entity_id, seq")
+    })
+public class ChangeLogEntry {
+  @Id
+  private Long seq;
+
+  @Column(nullable = false, length = 32)
+  private String entity;
+
+  @Column(name = "entity_id", nullable = false)
+  private Long entityId;
+
+  @Column(nullable = false, length = 8)
+  private String op;
+
+  @Column(name = "changed_at", nullable = false)
+  private LocalDateTime changedAt;
+
+  public Long getSeq() {
+    return seq;
+  }
+
+  public void setSeq(Long seq) {
+    this.seq = seq;
+  }
+
+  public String getEntity() {
+    return entity;
+  }
+
+  public void setEntity(String entity) {
+    this.entity = entity;
+  }
+
+  public Long getEntityId() {
+    return entityId;
+  }
+
+  public void setEntityId(Long entityId) {
+    this.entityId = entityId;
+  }
+
+  public String getOp() {
+    return op;
+  }
+
+  public void setOp(String op) {
+    this.op = op;
+  }
+
+  public LocalDateTime getChangedAt() {
+    return changedAt;
+  }
+
+  public void setChangedAt(LocalDateTime changedAt) {
+    this.changedAt = changedAt;
+  }
+}
@@ -0,0 +1,33 @@
+package com.rdmanage.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/** Last sequence number given to {@code change_log}; a single row written by {@code ChangeLog}. */
+@Entity
+@Table(name = "change_log_seq")
+public class ChangeLogSequence {
+  @Id
+  private Integer id;
+
+  @Column(name = "next_val", nullable = false)
+  private Long nextVal;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public Long getNextVal() {
+    return nextVal;
+  }
+
+  public void setNextVal(Long nextVal) {
+    this.nextVal = nextVal;
+  }
+}
@@ -0,0 +1,72 @@
+package com.rdmanage.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+
+/** The whole menu tree as one JSON document; a single row shared by every backend instance. */
+@Entity
+@Table(name = "menu_config")
+public class MenuConfigRecord {
+  public static final long SINGLETON_ID = 1L;
+
+  @Id
+  private Long id;
+
+  @Version
+  private Long version;
+
+  @Lob
+  @Column(nullable = false, columnDefinition = "LONGTEXT")
+  private String content;
+
+  @Column(name = "content_hash", nullable = false, length = 64)
+  private String contentHash;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
+  public String getContent() {
+    return content;
+  }
+
+  public void setContent(String content) {
+    this.content = content;
+  }
+
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  public void setContentHash(String contentHash) {
+    this.contentHash = contentHash;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
@@ -1,17 +1,27 @@
 package com.rdmanage.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "product_module")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PRODUCT_MODULE)
+@Table(
+    name = "product_module",
+    indexes = {
+      @Index(name = "idx_product_module_product_parent", columnList = "product_id, parent_id")
+    })
 public class ProductModule {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
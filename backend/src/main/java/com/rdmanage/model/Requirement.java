@@ -1,21 +1,39 @@
 package com.rdmanage.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "requirement")
+@Table(
+    name = "requirement",
+    indexes = {
+      @Index(name = "idx_requirement_updated", columnList = "updated_at, id"),
+      @Index(name = "idx_requirement_product_updated", columnList = "product_id, updated_at, id"),
+      @Index(
+          name = "idx_requirement_product_module_updated",
+          columnList = "product_id, module_id, updated_at, id"),
+      @Index(name = "idx_requirement_version", columnList = "version_id"),
+      @Index(name = "idx_requirement_status_due", columnList = "status, due_date")
+    })
 public class Requirement {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requirement_seq")
+  @SequenceGenerator(
+      name = "requirement_seq",
+      sequenceName = "requirement_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(name = "product_id")
@@ -57,6 +75,11 @@ public class Requirement {
   @Column(name = "updated_at", nullable = false)
   private LocalDateTime updatedAt;
 
+  /** Filled in by list and page responses only; not a column. */
+  @Transient
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private RequirementProgress progress;
+
   @PrePersist
   public void onCreate() {
     LocalDateTime now = LocalDateTime.now();
@@ -180,4 +203,12 @@ public class Requirement {
   public void setUpdatedAt(LocalDateTime updatedAt) {
     this.updatedAt = updatedAt;
   }
+
+  public RequirementProgress getProgress() {
+    return progress;
+  }
+
+  public void setProgress(RequirementProgress progress) {
+    this.progress = progress;
+  }
 }
@@ -0,0 +1,103 @@
+package com.rdmanage.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Task counters for one requirement. Written only through {@code RequirementProgressService};
+ * tasks whose status is not a {@link TaskStatus} count towards {@code taskCount} alone.
+ */
+@Entity
+@Table(name = "requirement_progress")
+public class RequirementProgress {
+  @Id
+  @Column(name = "requirement_id")
+  private Long requirementId;
+
+  @Column(name = "task_count", nullable = false)
+  private int taskCount;
+
+  @Column(name = "todo_count", nullable = false)
+  private int todoCount;
+
+  @Column(name = "in_progress_count", nullable = false)
+  private int inProgressCount;
+
+  @Column(name = "blocked_count", nullable = false)
+  private int blockedCount;
+
+  @Column(name = "done_count", nullable = false)
+  private int doneCount;
+
+  @Column(name = "estimate_hours_total", nullable = false)
+  private long estimateHoursTotal;
+
+  @Column(name = "estimate_hours_done", nullable = false)
+  private long estimateHoursDone;
+
+  public Long getRequirementId() {
+    return requirementId;
+  }
+
+  public void setRequirementId(Long requirementId) {
+    this.requirementId = requirementId;
+  }
+
+  public int getTaskCount() {
+    return taskCount;
+  }
+
+  public void setTaskCount(int taskCount) {
+    this.taskCount = taskCount;
+  }
+
+  public int getTodoCount() {
+    return todoCount;
+  }
+
+  public void setTodoCount(int todoCount) {
+    this.todoCount = todoCount;
+  }
+
+  public int getInProgressCount() {
+    return inProgressCount;
+  }
+
+  public void setInProgressCount(int inProgressCount) {
+    this.inProgressCount = inProgressCount;
+  }
+
+  public int getBlockedCount() {
+    return blockedCount;
+  }
+
+  public void setBlockedCount(int blockedCount) {
+    this.blockedCount = blockedCount;
+  }
+
+  public int getDoneCount() {
+    return doneCount;
+  }
+
+  public void setDoneCount(int doneCount) {
+    this.doneCount = doneCount;
+  }
+
+  public long getEstimateHoursTotal() {
+    return estimateHoursTotal;
+  }
+
+  public void setEstimateHoursTotal(long estimateHoursTotal) {
+    this.estimateHoursTotal = estimateHoursTotal;
+  }
+
+  public long getEstimateHoursDone() {
+    return estimateHoursDone;
+  }
+
+  public void setEstimateHoursDone(long estimateHoursDone) {
+    this.estimateHoursDone = estimateHoursDone;
+  }
+}
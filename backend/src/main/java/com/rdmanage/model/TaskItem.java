@@ -5,17 +5,33 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task_item")
+@Table(
+    name = "task_item",
+    indexes = {
+      @Index(name = "idx_task_item_updated", columnList = "updated_at, id"),
+      @Index(name = "idx_task_item_product_updated", columnList = "product_id, updated_at, id"),
+      @Index(
+          name = "idx_task_item_product_module_updated",
+          columnList = "product_id, module_id, updated_at, id"),
+      @Index(name = "idx_task_item_requirement", columnList = "requirement_id"),
+      @Index(name = "idx_task_item_status_due", columnList = "status, due_date")
+    })
 public class TaskItem {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_item_seq")
+  @SequenceGenerator(
+      name = "task_item_seq",
+      sequenceName = "task_item_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(name = "product_id")
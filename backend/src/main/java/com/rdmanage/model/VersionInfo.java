@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -12,7 +13,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "product_version")
+@Table(
+    name = "product_version",
+    indexes = {
+      @Index(name = "idx_product_version_product_module", columnList = "product_id, module_id")
+    })
 public class VersionInfo {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,24 @@
+package com.rdmanage.people;
+
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/people")
+public class PeopleController {
+  private final PeopleDirectory peopleDirectory;
+
+  public PeopleController(PeopleDirectory peopleDirectory) {
+    this.peopleDirectory = peopleDirectory;
+  }
+
+  @GetMapping("/suggest")
+  public List<String> suggest(
+      @RequestParam(defaultValue = "") String prefix,
+      @RequestParam(defaultValue = "10") int limit) {
+    return peopleDirectory.suggest(prefix, limit);
+  }
+}
@@ -0,0 +1,132 @@
+package com.rdmanage.people;
+
+import com.rdmanage.service.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Everyone named as an owner or assignee, ranked by how many products, modules, versions,
+ * requirements and tasks carry the name. Loaded with one grouped query per column at startup and
+ * kept current by the services: names are counted in after commit and out again on update or
+ * delete.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+public class PeopleDirectory {
+  public static final int MAX_SUGGESTIONS = 20;
+
+  private static final String[][] COLUMNS = {
+    {"product", "owner"},
+    {"product_module", "owner"},
+    {"product_version", "owner"},
+    {"requirement", "owner"},
+    {"task_item", "assignee"}
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final PeopleTrie trie = new PeopleTrie(MAX_SUGGESTIONS);
+
+  public PeopleDirectory(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @PostConstruct
+  public void load() {
+    for (String[] column : COLUMNS) {
+      List<Map<String, Object>> rows =
+          jdbcTemplate.queryForList(
+              "select "
+                  + column[1]
+                  + " as name, count(*) as uses from "
+                  + column[0]
+                  + " group by "
+                  + column[1]);
+      write(
+          () -> {
+            for (Map<String, Object> row : rows) {
+              String name = normalize((String) row.get("name"));
+              if (name != null) {
+                trie.adjust(name, ((Number) row.get("uses")).intValue());
+              }
+            }
+          });
+    }
+  }
+
+  /**
+   * Names that start with {@code prefix}, or whose pinyin initials do, most used first. Matching
+   * ignores case.
+   */
+  public List<String> suggest(String prefix, int limit) {
+    String key = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+    int clamped = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+    lock.readLock().lock();
+    try {
+      return trie.suggest(key, clamped);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Counts {@code name} in once the write commits; a missing name is ignored. */
+  public void added(String name) {
+    TransactionHooks.afterCommit(() -> write(() -> adjust(name, 1)));
+  }
+
+  public void added(Collection<String> names) {
+    List<String> copy = new ArrayList<>(names);
+    TransactionHooks.afterCommit(() -> write(() -> copy.forEach(name -> adjust(name, 1))));
+  }
+
+  public void removed(String name) {
+    TransactionHooks.afterCommit(() -> write(() -> adjust(name, -1)));
+  }
+
+  public void changed(String before, String after) {
+    String from = normalize(before);
+    String to = normalize(after);
+    if (from == null ? to == null : from.equals(to)) {
+      return;
+    }
+    TransactionHooks.afterCommit(
+        () ->
+            write(
+                () -> {
+                  adjust(from, -1);
+                  adjust(to, 1);
+                }));
+  }
+
+  private void adjust(String name, int delta) {
+    String normalized = normalize(name);
+    if (normalized != null) {
+      trie.adjust(normalized, delta);
+    }
+  }
+
+  private static String normalize(String name) {
+    if (name == null || name.isBlank()) {
+      return null;
+    }
+    return name.trim();
+  }
+
+  private void write(Runnable change) {
+    lock.writeLock().lock();
+    try {
+      change.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
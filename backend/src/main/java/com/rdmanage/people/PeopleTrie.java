@@ -0,0 +1,125 @@
+package com.rdmanage.people;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix trie over people's names and their pinyin initials. Every node keeps the most frequent
+ * names below it, so a lookup is one walk down the prefix and a copy of a short list. A count
+ * change only touches the nodes on the name's keys; a node's list is recomputed from its subtree
+ * only when one of its members drops in rank. Not thread-safe.
+ */
+final class PeopleTrie {
+  private final int capacity;
+  private final Node root = new Node();
+  private final Map<String, Integer> counts = new HashMap<>();
+  private final Comparator<String> ranking =
+      Comparator.<String>comparingInt(name -> counts.getOrDefault(name, 0))
+          .reversed()
+          .thenComparing(Comparator.naturalOrder());
+
+  PeopleTrie(int capacity) {
+    this.capacity = capacity;
+  }
+
+  int size() {
+    return counts.size();
+  }
+
+  /** Changes how many records name this person; at zero the name disappears. */
+  void adjust(String name, int delta) {
+    int before = counts.getOrDefault(name, 0);
+    int after = Math.max(0, before + delta);
+    if (after == before) {
+      return;
+    }
+    if (after == 0) {
+      counts.remove(name);
+    } else {
+      counts.put(name, after);
+    }
+    for (String key : PinyinInitials.keys(name)) {
+      Node node = root;
+      update(node, name, after < before);
+      for (int i = 0; i < key.length(); i++) {
+        node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        update(node, name, after < before);
+      }
+      if (after == 0) {
+        node.terminal.remove(name);
+      } else {
+        node.terminal.add(name);
+      }
+    }
+  }
+
+  List<String> suggest(String prefix, int limit) {
+    Node node = root;
+    for (int i = 0; i < prefix.length() && node != null; i++) {
+      node = node.children.get(prefix.charAt(i));
+    }
+    if (node == null) {
+      return List.of();
+    }
+    return List.copyOf(node.top.subList(0, Math.min(limit, node.top.size())));
+  }
+
+  int count(String name) {
+    return counts.getOrDefault(name, 0);
+  }
+
+  private void update(Node node, String name, boolean dropped) {
+    boolean wasFull = node.top.size() >= capacity;
+    boolean wasMember = node.top.remove(name);
+    if (dropped && wasMember && wasFull) {
+      // Something outside the list may now outrank it.
+      refill(node);
+      return;
+    }
+    if (!counts.containsKey(name)) {
+      return;
+    }
+    int at = 0;
+    while (at < node.top.size() && ranking.compare(node.top.get(at), name) < 0) {
+      at++;
+    }
+    if (at < capacity) {
+      node.top.add(at, name);
+      if (node.top.size() > capacity) {
+        node.top.remove(capacity);
+      }
+    }
+  }
+
+  private void refill(Node node) {
+    Set<String> names = new HashSet<>();
+    Deque<Node> pending = new ArrayDeque<>();
+    pending.push(node);
+    while (!pending.isEmpty()) {
+      Node next = pending.pop();
+      for (String name : next.terminal) {
+        if (counts.containsKey(name)) {
+          names.add(name);
+        }
+      }
+      pending.addAll(next.children.values());
+    }
+    List<String> ranked = new ArrayList<>(names);
+    ranked.sort(ranking);
+    node.top.clear();
+    node.top.addAll(ranked.subList(0, Math.min(capacity, ranked.size())));
+  }
+
+  private static final class Node {
+    final Map<Character, Node> children = new HashMap<>(4);
+    final Set<String> terminal = new HashSet<>(2);
+    final List<String> top = new ArrayList<>(2);
+  }
+}
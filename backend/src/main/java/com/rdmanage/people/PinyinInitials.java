@@ -0,0 +1,73 @@
+package com.rdmanage.people;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pinyin initials without a dictionary. Level-1 characters of GB2312, which cover nearly all
+ * surnames and common given-name characters, are ordered by pinyin, so the initial follows from
+ * the character's GB2312 code and the first code of each letter. Rarer characters have no known
+ * initial, and polyphonic characters get their most common reading (单 maps to d, not s).
+ */
+final class PinyinInitials {
+  private static final Charset GB2312 = Charset.forName("GB2312");
+  private static final int LEVEL_ONE_END = 0xD7F9;
+  private static final int[] LETTER_STARTS = {
+    0xB0A1, 0xB0C5, 0xB2C1, 0xB4EE, 0xB6EA, 0xB7A2, 0xB8C1, 0xB9FE, 0xBBF7, 0xBFA6, 0xC0AC,
+    0xC2E8, 0xC4C3, 0xC5B6, 0xC5BE, 0xC6DA, 0xC8BB, 0xC8F6, 0xCBFA, 0xCDDA, 0xCEF4, 0xD1B9,
+    0xD4D1
+  };
+  private static final char[] LETTERS = "abcdefghjklmnopqrstwxyz".toCharArray();
+
+  private PinyinInitials() {}
+
+  /**
+   * Trie keys for a person's name: the lower-cased name itself, plus its initials ("zs" for 张三)
+   * when every Han character in it has a known initial.
+   */
+  static List<String> keys(String name) {
+    List<String> keys = new ArrayList<>(2);
+    String key = name.toLowerCase(Locale.ROOT);
+    keys.add(key);
+    StringBuilder initials = new StringBuilder();
+    int i = 0;
+    while (i < key.length()) {
+      int codePoint = key.codePointAt(i);
+      i += Character.charCount(codePoint);
+      if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN) {
+        char initial = initial(codePoint);
+        if (initial == 0) {
+          return keys;
+        }
+        initials.append(initial);
+      } else if (Character.isLetterOrDigit(codePoint)) {
+        initials.appendCodePoint(codePoint);
+      }
+    }
+    if (initials.length() > 0 && !initials.toString().equals(key)) {
+      keys.add(initials.toString());
+    }
+    return keys;
+  }
+
+  static char initial(int codePoint) {
+    if (!Character.isBmpCodePoint(codePoint)) {
+      return 0;
+    }
+    byte[] bytes = String.valueOf((char) codePoint).getBytes(GB2312);
+    if (bytes.length != 2) {
+      return 0;
+    }
+    int code = ((bytes[0] & 0xFF) << 8) | (bytes[1] & 0xFF);
+    if (code < LETTER_STARTS[0] || code > LEVEL_ONE_END) {
+      return 0;
+    }
+    int letter = LETTER_STARTS.length - 1;
+    while (code < LETTER_STARTS[letter]) {
+      letter--;
+    }
+    return LETTERS[letter];
+  }
+}
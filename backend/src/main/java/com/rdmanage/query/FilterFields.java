@@ -0,0 +1,110 @@
+package com.rdmanage.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Whitelist of filterable attributes for one entity, keyed by the alias used in {@code q}. */
+public class FilterFields {
+  public static final FilterFields PRODUCT =
+      new FilterFields()
+          .field("id", "id", Long.class)
+          .field("code", "code", String.class)
+          .field("name", "name", String.class)
+          .field("owner", "owner", String.class)
+          .field("status", "status", String.class)
+          .field("updated", "updatedAt", LocalDateTime.class)
+          .keywords("code", "name");
+
+  public static final FilterFields VERSION =
+      new FilterFields()
+          .field("id", "id", Long.class)
+          .field("product", "productId", Long.class)
+          .field("module", "moduleId", Long.class)
+          .field("code", "versionCode", String.class)
+          .field("name", "name", String.class)
+          .field("owner", "owner", String.class)
+          .field("status", "status", String.class)
+          .field("plan", "planReleaseDate", LocalDate.class)
+          .field("released", "actualReleaseDate", LocalDate.class)
+          .field("updated", "updatedAt", LocalDateTime.class)
+          .keywords("versionCode", "name");
+
+  public static final FilterFields REQUIREMENT =
+      new FilterFields()
+          .field("id", "id", Long.class)
+          .field("product", "productId", Long.class)
+          .field("module", "moduleId", Long.class)
+          .field("version", "versionId", Long.class)
+          .field("code", "code", String.class)
+          .field("name", "name", String.class)
+          .field("owner", "owner", String.class)
+          .field("status", "status", String.class)
+          .field("priority", "priority", String.class)
+          .field("due", "dueDate", LocalDate.class)
+          .field("points", "estimateStoryPoints", Integer.class)
+          .field("updated", "updatedAt", LocalDateTime.class)
+          .keywords("code", "name");
+
+  public static final FilterFields TASK =
+      new FilterFields()
+          .field("id", "id", Long.class)
+          .field("product", "productId", Long.class)
+          .field("module", "moduleId", Long.class)
+          .field("requirement", "requirementId", Long.class)
+          .field("title", "title", String.class)
+          .field("assignee", "assignee", String.class)
+          .field("owner", "assignee", String.class)
+          .field("status", "status", String.class)
+          .field("due", "dueDate", LocalDate.class)
+          .field("hours", "estimateHours", Integer.class)
+          .field("updated", "updatedAt", LocalDateTime.class)
+          .keywords("title");
+
+  private final Map<String, Field> fields = new LinkedHashMap<>();
+  private final List<String> keywordAttributes = new ArrayList<>();
+
+  private FilterFields field(String alias, String attribute, Class<?> type) {
+    fields.put(alias.toLowerCase(Locale.ROOT), new Field(attribute, type));
+    return this;
+  }
+
+  private FilterFields keywords(String... attributes) {
+    keywordAttributes.addAll(List.of(attributes));
+    return this;
+  }
+
+  Field resolve(String alias) {
+    Field field = alias == null ? null : fields.get(alias.toLowerCase(Locale.ROOT));
+    if (field == null) {
+      throw new IllegalArgumentException("不支持的筛选字段: " + alias);
+    }
+    return field;
+  }
+
+  List<String> getKeywordAttributes() {
+    return keywordAttributes;
+  }
+
+  static final class Field {
+    private final String attribute;
+    private final Class<?> type;
+
+    private Field(String attribute, Class<?> type) {
+      this.attribute = attribute;
+      this.type = type;
+    }
+
+    String getAttribute() {
+      return attribute;
+    }
+
+    Class<?> getType() {
+      return type;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.rdmanage.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses the compact {@code q} filter used by list endpoints, e.g.
+ * {@code status:IN_PROGRESS owner:~li due<2026-11-01 priority:HIGH,URGENT}.
+ *
+ * <ul>
+ *   <li>{@code field:a,b} equality or IN
+ *   <li>{@code field:abc*} prefix match (index friendly)
+ *   <li>{@code field:~abc} substring match
+ *   <li>{@code field<v}, {@code <=}, {@code >}, {@code >=} range
+ *   <li>a leading {@code -} negates a term; bare words search the keyword fields
+ * </ul>
+ *
+ * Values containing spaces can be wrapped in double quotes.
+ */
+public final class FilterParser {
+  private static final int MAX_TERMS = 20;
+
+  private FilterParser() {}
+
+  public static List<FilterTerm> parse(String q) {
+    List<FilterTerm> terms = new ArrayList<>();
+    if (q == null || q.isBlank()) {
+      return terms;
+    }
+    for (String token : tokenize(q)) {
+      terms.add(parseTerm(token));
+      if (terms.size() > MAX_TERMS) {
+        throw new IllegalArgumentException("筛选条件过多");
+      }
+    }
+    return terms;
+  }
+
+  private static FilterTerm parseTerm(String token) {
+    boolean negated = false;
+    String body = token;
+    if (body.length() > 1 && body.charAt(0) == '-') {
+      negated = true;
+      body = body.substring(1);
+    }
+    int nameEnd = 0;
+    while (nameEnd < body.length() && Character.isLetter(body.charAt(nameEnd))) {
+      nameEnd++;
+    }
+    if (nameEnd == 0 || nameEnd == body.length()) {
+      return new FilterTerm(null, FilterTerm.Operator.KEYWORD, List.of(unquote(body)), negated);
+    }
+    String field = body.substring(0, nameEnd);
+    String rest = body.substring(nameEnd);
+    FilterTerm.Operator operator;
+    String value;
+    if (rest.startsWith(":~")) {
+      operator = FilterTerm.Operator.CONTAINS;
+      value = rest.substring(2);
+    } else if (rest.startsWith(":")) {
+      value = rest.substring(1);
+      operator = FilterTerm.Operator.EQ;
+      if (value.endsWith("*") && !value.startsWith("\"")) {
+        operator = FilterTerm.Operator.PREFIX;
+        value = value.substring(0, value.length() - 1);
+      }
+    } else if (rest.startsWith("<=")) {
+      operator = FilterTerm.Operator.LE;
+      value = rest.substring(2);
+    } else if (rest.startsWith(">=")) {
+      operator = FilterTerm.Operator.GE;
+      value = rest.substring(2);
+    } else if (rest.startsWith("<")) {
+      operator = FilterTerm.Operator.LT;
+      value = rest.substring(1);
+    } else if (rest.startsWith(">")) {
+      operator = FilterTerm.Operator.GT;
+      value = rest.substring(1);
+    } else {
+      return new FilterTerm(null, FilterTerm.Operator.KEYWORD, List.of(unquote(body)), negated);
+    }
+    String unquoted = unquote(value);
+    if (unquoted.isEmpty()) {
+      throw new IllegalArgumentException("筛选条件缺少取值: " + field);
+    }
+    List<String> values = List.of(unquoted);
+    // A quoted value is taken literally, commas included.
+    if (operator == FilterTerm.Operator.EQ
+        && unquoted.equals(value)
+        && unquoted.indexOf(',') >= 0) {
+      values =
+          Arrays.stream(unquoted.split(",")).map(String::trim).filter(v -> !v.isEmpty()).toList();
+    }
+    if (values.isEmpty()) {
+      throw new IllegalArgumentException("筛选条件缺少取值: " + field);
+    }
+    return new FilterTerm(field, operator, values, negated);
+  }
+
+  private static List<String> tokenize(String q) {
+    List<String> tokens = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < q.length(); i++) {
+      char c = q.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+        current.append(c);
+      } else if (Character.isWhitespace(c) && !quoted) {
+        if (current.length() > 0) {
+          tokens.add(current.toString());
+          current.setLength(0);
+        }
+      } else {
+        current.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("筛选条件引号未闭合");
+    }
+    if (current.length() > 0) {
+      tokens.add(current.toString());
+    }
+    return tokens;
+  }
+
+  private static String unquote(String value) {
+    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
+  }
+}
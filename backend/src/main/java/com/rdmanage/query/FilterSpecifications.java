@@ -0,0 +1,146 @@
+package com.rdmanage.query;
+
+import com.rdmanage.service.KeysetCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class FilterSpecifications {
+  private FilterSpecifications() {}
+
+  /**
+   * Compiles {@code q} against the given whitelist. Field names and values are validated here,
+   * so a bad expression fails before any SQL is issued.
+   */
+  public static <T> Specification<T> compile(String q, FilterFields fields) {
+    List<CompiledTerm> compiled = new ArrayList<>();
+    for (FilterTerm term : FilterParser.parse(q)) {
+      if (term.getOperator() == FilterTerm.Operator.KEYWORD) {
+        compiled.add(new CompiledTerm(term, null, List.of(term.getValues().get(0))));
+        continue;
+      }
+      FilterFields.Field field = fields.resolve(term.getField());
+      boolean text = field.getType() == String.class;
+      if (!text
+          && (term.getOperator() == FilterTerm.Operator.CONTAINS
+              || term.getOperator() == FilterTerm.Operator.PREFIX)) {
+        throw new IllegalArgumentException("字段不支持模糊匹配: " + term.getField());
+      }
+      List<Object> values = new ArrayList<>();
+      for (String raw : term.getValues()) {
+        values.add(convert(raw, field.getType(), term.getField()));
+      }
+      compiled.add(new CompiledTerm(term, field, values));
+    }
+    if (compiled.isEmpty()) {
+      return null;
+    }
+    List<String> keywordAttributes = fields.getKeywordAttributes();
+    return (root, query, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      for (CompiledTerm term : compiled) {
+        Predicate predicate = term.toPredicate(root, cb, keywordAttributes);
+        predicates.add(term.source.isNegated() ? cb.not(predicate) : predicate);
+      }
+      return cb.and(predicates.toArray(new Predicate[0]));
+    };
+  }
+
+  public static <T> Specification<T> equal(String attribute, Object value) {
+    if (value == null) {
+      return null;
+    }
+    return (root, query, cb) -> cb.equal(root.get(attribute), value);
+  }
+
+  /** Rows strictly after {@code cursor} in {@code (updatedAt desc, id desc)} order. */
+  public static <T> Specification<T> after(KeysetCursor cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    return (root, query, cb) -> {
+      Expression<LocalDateTime> updatedAt = root.get("updatedAt");
+      return cb.or(
+          cb.lessThan(updatedAt, cursor.getUpdatedAt()),
+          cb.and(
+              cb.equal(updatedAt, cursor.getUpdatedAt()),
+              cb.lessThan(root.<Long>get("id"), cursor.getId())));
+    };
+  }
+
+  private static Object convert(String raw, Class<?> type, String alias) {
+    try {
+      if (type == Long.class) {
+        return Long.valueOf(raw);
+      }
+      if (type == Integer.class) {
+        return Integer.valueOf(raw);
+      }
+      if (type == LocalDate.class) {
+        return LocalDate.parse(raw);
+      }
+      if (type == LocalDateTime.class) {
+        return raw.length() <= 10 ? LocalDate.parse(raw).atStartOfDay() : LocalDateTime.parse(raw);
+      }
+      return raw;
+    } catch (NumberFormatException | DateTimeParseException ex) {
+      throw new IllegalArgumentException("筛选取值格式错误: " + alias + "=" + raw, ex);
+    }
+  }
+
+  private static String likeEscape(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  private static final class CompiledTerm {
+    private final FilterTerm source;
+    private final FilterFields.Field field;
+    private final List<Object> values;
+
+    private CompiledTerm(FilterTerm source, FilterFields.Field field, List<?> values) {
+      this.source = source;
+      this.field = field;
+      this.values = new ArrayList<>(values);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate toPredicate(
+        Root<?> root, CriteriaBuilder cb, List<String> keywordAttributes) {
+      if (field == null) {
+        String pattern = "%" + likeEscape((String) values.get(0)) + "%";
+        List<Predicate> any = new ArrayList<>();
+        for (String attribute : keywordAttributes) {
+          any.add(cb.like(root.get(attribute), pattern, '\\'));
+        }
+        return cb.or(any.toArray(new Predicate[0]));
+      }
+      Expression path = root.get(field.getAttribute());
+      Comparable value = (Comparable) values.get(0);
+      switch (source.getOperator()) {
+        case EQ:
+          return values.size() == 1 ? cb.equal(path, value) : path.in(values);
+        case PREFIX:
+          return cb.like(path, likeEscape((String) value) + "%", '\\');
+        case CONTAINS:
+          return cb.like(path, "%" + likeEscape((String) value) + "%", '\\');
+        case LT:
+          return cb.lessThan(path, value);
+        case LE:
+          return cb.lessThanOrEqualTo(path, value);
+        case GT:
+          return cb.greaterThan(path, value);
+        case GE:
+          return cb.greaterThanOrEqualTo(path, value);
+        default:
+          throw new IllegalArgumentException("不支持的筛选操作");
+      }
+    }
+  }
+}
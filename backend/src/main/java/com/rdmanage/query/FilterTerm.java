@@ -0,0 +1,44 @@
+package com.rdmanage.query;
+
+import java.util.List;
+
+public class FilterTerm {
+  public enum Operator {
+    EQ,
+    CONTAINS,
+    PREFIX,
+    LT,
+    LE,
+    GT,
+    GE,
+    KEYWORD
+  }
+
+  private final String field;
+  private final Operator operator;
+  private final List<String> values;
+  private final boolean negated;
+
+  public FilterTerm(String field, Operator operator, List<String> values, boolean negated) {
+    this.field = field;
+    this.operator = operator;
+    this.values = values;
+    this.negated = negated;
+  }
+
+  public String getField() {
+    return field;
+  }
+
+  public Operator getOperator() {
+    return operator;
+  }
+
+  public List<String> getValues() {
+    return values;
+  }
+
+  public boolean isNegated() {
+    return negated;
+  }
+}
@@ -0,0 +1,37 @@
+package com.rdmanage.query;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a filtered keyset window without the count query that {@code findAll(spec, Pageable)}
+ * would add.
+ */
+@Component
+public class KeysetQueries {
+  private final EntityManager entityManager;
+
+  public KeysetQueries(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  public <T> List<T> window(Class<T> type, Specification<T> spec, int maxRows) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = cb.createQuery(type);
+    Root<T> root = query.from(type);
+    if (spec != null) {
+      Predicate predicate = spec.toPredicate(root, query, cb);
+      if (predicate != null) {
+        query.where(predicate);
+      }
+    }
+    query.orderBy(cb.desc(root.get("updatedAt")), cb.desc(root.get("id")));
+    return entityManager.createQuery(query).setMaxResults(maxRows).getResultList();
+  }
+}
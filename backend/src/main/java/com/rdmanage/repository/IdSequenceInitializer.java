@@ -0,0 +1,64 @@
+package com.rdmanage.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the pooled id generators past ids that were handed out by AUTO_INCREMENT before
+ * requirement/task_item switched to {@code @SequenceGenerator}. The pooled optimizer may hand out
+ * ids up to one allocation below the stored value, hence the extra allocation step.
+ *
+ * <p>Only MySQL, which has no sequences, gets the {@code *_seq} tables; on a dialect with native
+ * sequences (H2 in the benchmarks and tests) the schema is new and there is nothing to align.
+ */
+@Component
+public class IdSequenceInitializer {
+  public static final int ALLOCATION_SIZE = 50;
+
+  private static final String[][] SEQUENCES = {
+    {"requirement_seq", "requirement"},
+    {"task_item_seq", "task_item"}
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean tableSequences;
+
+  public IdSequenceInitializer(
+      JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+    // The factory dependency also makes sure the schema exists before this runs.
+    this.jdbcTemplate = jdbcTemplate;
+    this.tableSequences =
+        !entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect()
+            .getSequenceSupport()
+            .supportsSequences();
+  }
+
+  @PostConstruct
+  public void alignSequences() {
+    if (!tableSequences) {
+      return;
+    }
+    for (String[] sequence : SEQUENCES) {
+      align(sequence[0], sequence[1]);
+    }
+  }
+
+  public void align(String sequenceTable, String entityTable) {
+    Long floor =
+        jdbcTemplate.queryForObject(
+            "select coalesce(max(id), 0) + " + (ALLOCATION_SIZE + 1) + " from " + entityTable,
+            Long.class);
+    int updated =
+        jdbcTemplate.update(
+            "update " + sequenceTable + " set next_val = greatest(next_val, ?)", floor);
+    if (updated == 0) {
+      jdbcTemplate.update("insert into " + sequenceTable + " (next_val) values (?)", floor);
+    }
+  }
+}
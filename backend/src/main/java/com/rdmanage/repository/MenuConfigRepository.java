@@ -0,0 +1,11 @@
+package com.rdmanage.repository;
+
+import com.rdmanage.model.MenuConfigRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MenuConfigRepository extends JpaRepository<MenuConfigRecord, Long> {
+  @Query("select m.version from MenuConfigRecord m where m.id = :id")
+  Long findVersion(@Param("id") Long id);
+}
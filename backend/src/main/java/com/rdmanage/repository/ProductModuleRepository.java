@@ -1,10 +1,27 @@
 package com.rdmanage.repository;
 
+import com.rdmanage.model.CacheRegions;
 import com.rdmanage.model.ProductModule;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ProductModuleRepository extends JpaRepository<ProductModule, Long> {
+  /** Cached; any write to product_module invalidates every cached result. */
+  @QueryHints({
+    @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.MODULES_BY_PRODUCT)
+  })
   List<ProductModule> findByProductId(Long productId);
+
   List<ProductModule> findByProductIdAndParentId(Long productId, Long parentId);
+
+  /** Rows of {@code [id, productId]} for the given module ids. */
+  @Query("select m.id, m.productId from ProductModule m where m.id in :ids")
+  List<Object[]> findOwners(@Param("ids") Collection<Long> ids);
 }
@@ -1,6 +1,15 @@
 package com.rdmanage.repository;
 
 import com.rdmanage.model.Product;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {}
+public interface ProductRepository
+    extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+  @Query("select p.id from Product p where p.id in :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
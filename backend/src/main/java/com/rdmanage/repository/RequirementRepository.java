@@ -1,11 +1,73 @@
 package com.rdmanage.repository;
 
 import com.rdmanage.model.Requirement;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface RequirementRepository extends JpaRepository<Requirement, Long> {
+public interface RequirementRepository
+    extends JpaRepository<Requirement, Long>, JpaSpecificationExecutor<Requirement> {
   List<Requirement> findByProductId(Long productId);
   List<Requirement> findByProductIdAndModuleId(Long productId, Long moduleId);
   boolean existsByVersionId(Long versionId);
+
+  long countByProductId(Long productId);
+  long countByProductIdAndModuleId(Long productId, Long moduleId);
+
+  @Query(
+      value =
+          "select table_rows from information_schema.tables"
+              + " where table_schema = database() and table_name = 'requirement'",
+      nativeQuery = true)
+  Number estimateRowCount();
+
+  @Query("select r from Requirement r order by r.updatedAt desc, r.id desc")
+  List<Requirement> findPage(Pageable pageable);
+
+  @Query(
+      "select r from Requirement r"
+          + " where r.updatedAt < :updatedAt or (r.updatedAt = :updatedAt and r.id < :id)"
+          + " order by r.updatedAt desc, r.id desc")
+  List<Requirement> findPageAfter(
+      @Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable pageable);
+
+  @Query(
+      "select r from Requirement r where r.productId = :productId"
+          + " order by r.updatedAt desc, r.id desc")
+  List<Requirement> findPageByProductId(@Param("productId") Long productId, Pageable pageable);
+
+  @Query(
+      "select r from Requirement r where r.productId = :productId"
+          + " and (r.updatedAt < :updatedAt or (r.updatedAt = :updatedAt and r.id < :id))"
+          + " order by r.updatedAt desc, r.id desc")
+  List<Requirement> findPageByProductIdAfter(
+      @Param("productId") Long productId,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
+  @Query(
+      "select r from Requirement r where r.productId = :productId and r.moduleId = :moduleId"
+          + " order by r.updatedAt desc, r.id desc")
+  List<Requirement> findPageByProductIdAndModuleId(
+      @Param("productId") Long productId, @Param("moduleId") Long moduleId, Pageable pageable);
+
+  @Query(
+      "select r from Requirement r where r.productId = :productId and r.moduleId = :moduleId"
+          + " and (r.updatedAt < :updatedAt or (r.updatedAt = :updatedAt and r.id < :id))"
+          + " order by r.updatedAt desc, r.id desc")
+  List<Requirement> findPageByProductIdAndModuleIdAfter(
+      @Param("productId") Long productId,
+      @Param("moduleId") Long moduleId,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
+  @Query("select r.id from Requirement r where r.id in :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
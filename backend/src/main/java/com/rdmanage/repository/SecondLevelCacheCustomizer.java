@@ -0,0 +1,78 @@
+package com.rdmanage.repository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.rdmanage.model.CacheRegions;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second-level and query cache for the reference tables, held in local Caffeine caches behind
+ * JCache. Every region is created here with a size bound and a TTL; Hibernate is told to fail on
+ * any region it would otherwise create unbounded. Per-region hits and misses are published as
+ * {@code hibernate.second.level.cache.requests}.
+ *
+ * <p>The cache manager is private to this instance rather than the provider's JVM-wide default,
+ * so a second application context in the same JVM (a devtools restart, another test context)
+ * creates its own regions instead of colliding with the first one's.
+ */
+@Component
+public class SecondLevelCacheCustomizer implements HibernatePropertiesCustomizer {
+  private final CacheManager cacheManager;
+
+  public SecondLevelCacheCustomizer(
+      @Value("${rdmanage.cache.ttl-seconds:600}") long ttlSeconds,
+      @Value("${rdmanage.cache.max-entries.product:5000}") long products,
+      @Value("${rdmanage.cache.max-entries.product-module:50000}") long modules,
+      @Value("${rdmanage.cache.max-entries.dict-item:5000}") long dictItems,
+      @Value("${rdmanage.cache.max-entries.modules-by-product:2000}") long modulesByProduct) {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    URI uri = URI.create("rdmanage:second-level-cache:" + UUID.randomUUID());
+    cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+    long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    create(CacheRegions.PRODUCT, products, ttlNanos);
+    create(CacheRegions.PRODUCT_MODULE, modules, ttlNanos);
+    create(CacheRegions.DICT_ITEM, dictItems, ttlNanos);
+    create(CacheRegions.MODULES_BY_PRODUCT, modulesByProduct, ttlNanos);
+    create(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 1_000, ttlNanos);
+    // One entry per cached table. It must outlive every query result it guards, so no TTL.
+    create(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 1_000, 0);
+  }
+
+  @Override
+  public void customize(Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+    hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+    hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+    hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+  }
+
+  @PreDestroy
+  public void close() {
+    cacheManager.close();
+  }
+
+  private void create(String region, long maxEntries, long ttlNanos) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maxEntries));
+    if (ttlNanos > 0) {
+      configuration.setExpireAfterWrite(OptionalLong.of(ttlNanos));
+    }
+    configuration.setStatisticsEnabled(true);
+    cacheManager.createCache(region, configuration);
+  }
+}
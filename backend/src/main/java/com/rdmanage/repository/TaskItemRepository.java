@@ -1,10 +1,68 @@
 package com.rdmanage.repository;
 
 import com.rdmanage.model.TaskItem;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface TaskItemRepository extends JpaRepository<TaskItem, Long> {
+public interface TaskItemRepository
+    extends JpaRepository<TaskItem, Long>, JpaSpecificationExecutor<TaskItem> {
   List<TaskItem> findByProductId(Long productId);
   List<TaskItem> findByProductIdAndModuleId(Long productId, Long moduleId);
+
+  long countByProductId(Long productId);
+  long countByProductIdAndModuleId(Long productId, Long moduleId);
+
+  @Query(
+      value =
+          "select table_rows from information_schema.tables"
+              + " where table_schema = database() and table_name = 'task_item'",
+      nativeQuery = true)
+  Number estimateRowCount();
+
+  @Query("select t from TaskItem t order by t.updatedAt desc, t.id desc")
+  List<TaskItem> findPage(Pageable pageable);
+
+  @Query(
+      "select t from TaskItem t"
+          + " where t.updatedAt < :updatedAt or (t.updatedAt = :updatedAt and t.id < :id)"
+          + " order by t.updatedAt desc, t.id desc")
+  List<TaskItem> findPageAfter(
+      @Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable pageable);
+
+  @Query(
+      "select t from TaskItem t where t.productId = :productId"
+          + " order by t.updatedAt desc, t.id desc")
+  List<TaskItem> findPageByProductId(@Param("productId") Long productId, Pageable pageable);
+
+  @Query(
+      "select t from TaskItem t where t.productId = :productId"
+          + " and (t.updatedAt < :updatedAt or (t.updatedAt = :updatedAt and t.id < :id))"
+          + " order by t.updatedAt desc, t.id desc")
+  List<TaskItem> findPageByProductIdAfter(
+      @Param("productId") Long productId,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
+  @Query(
+      "select t from TaskItem t where t.productId = :productId and t.moduleId = :moduleId"
+          + " order by t.updatedAt desc, t.id desc")
+  List<TaskItem> findPageByProductIdAndModuleId(
+      @Param("productId") Long productId, @Param("moduleId") Long moduleId, Pageable pageable);
+
+  @Query(
+      "select t from TaskItem t where t.productId = :productId and t.moduleId = :moduleId"
+          + " and (t.updatedAt < :updatedAt or (t.updatedAt = :updatedAt and t.id < :id))"
+          + " order by t.updatedAt desc, t.id desc")
+  List<TaskItem> findPageByProductIdAndModuleIdAfter(
+      @Param("productId") Long productId,
+      @Param("moduleId") Long moduleId,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      Pageable pageable);
 }
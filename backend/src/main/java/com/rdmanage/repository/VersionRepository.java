@@ -1,10 +1,18 @@
 package com.rdmanage.repository;
 
 import com.rdmanage.model.VersionInfo;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface VersionRepository extends JpaRepository<VersionInfo, Long> {
+public interface VersionRepository
+    extends JpaRepository<VersionInfo, Long>, JpaSpecificationExecutor<VersionInfo> {
   List<VersionInfo> findByProductId(Long productId);
   List<VersionInfo> findByProductIdAndModuleId(Long productId, Long moduleId);
+
+  @Query("select v.id from VersionInfo v where v.id in :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,35 @@
+package com.rdmanage.search;
+
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+  private final SearchService searchService;
+
+  public SearchController(SearchService searchService) {
+    this.searchService = searchService;
+  }
+
+  /** Ranked matches; 503 with Retry-After while the index is still being built after startup. */
+  @GetMapping
+  public ResponseEntity<List<SearchHit>> search(
+      @RequestParam String q,
+      @RequestParam(required = false) SearchDocType type,
+      @RequestParam(required = false) Long productId,
+      @RequestParam(defaultValue = "20") int limit) {
+    if (!searchService.isReady()) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "5")
+          .build();
+    }
+    return ResponseEntity.ok(searchService.search(q, type, productId, limit));
+  }
+}
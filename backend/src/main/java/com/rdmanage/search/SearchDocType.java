@@ -0,0 +1,6 @@
+package com.rdmanage.search;
+
+public enum SearchDocType {
+  REQUIREMENT,
+  TASK
+}
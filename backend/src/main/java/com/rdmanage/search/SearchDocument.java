@@ -0,0 +1,64 @@
+package com.rdmanage.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A requirement or task reduced to what the index keeps: the fields shown in a hit plus term
+ * frequencies. Title terms count {@value #TITLE_WEIGHT} times so a match in the name outranks one
+ * buried in the description. Built outside the index lock.
+ */
+final class SearchDocument {
+  static final int TITLE_WEIGHT = 3;
+
+  final SearchDocType type;
+  final long id;
+  final Long productId;
+  final Long moduleId;
+  final String title;
+  final Map<String, Integer> termFreqs;
+  final int length;
+
+  private SearchDocument(
+      SearchDocType type,
+      long id,
+      Long productId,
+      Long moduleId,
+      String title,
+      Map<String, Integer> termFreqs,
+      int length) {
+    this.type = type;
+    this.id = id;
+    this.productId = productId;
+    this.moduleId = moduleId;
+    this.title = title;
+    this.termFreqs = termFreqs;
+    this.length = length;
+  }
+
+  static SearchDocument of(
+      SearchDocType type,
+      long id,
+      Long productId,
+      Long moduleId,
+      String title,
+      String titleText,
+      String body) {
+    Map<String, Integer> freqs = new HashMap<>();
+    List<String> titleTerms = SearchTokenizer.indexTerms(titleText);
+    List<String> bodyTerms = SearchTokenizer.indexTerms(body);
+    titleTerms.forEach(term -> freqs.merge(term, TITLE_WEIGHT, Integer::sum));
+    bodyTerms.forEach(term -> freqs.merge(term, 1, Integer::sum));
+    int length = titleTerms.size() * TITLE_WEIGHT + bodyTerms.size();
+    return new SearchDocument(type, id, productId, moduleId, title, freqs, length);
+  }
+
+  long key() {
+    return key(type, id);
+  }
+
+  static long key(SearchDocType type, long id) {
+    return (id << 1) | type.ordinal();
+  }
+}
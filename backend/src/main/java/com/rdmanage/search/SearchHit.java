@@ -0,0 +1,70 @@
+package com.rdmanage.search;
+
+public class SearchHit {
+  private SearchDocType type;
+  private Long id;
+  private Long productId;
+  private Long moduleId;
+  private String title;
+  private double score;
+
+  public SearchHit() {}
+
+  public SearchHit(
+      SearchDocType type, Long id, Long productId, Long moduleId, String title, double score) {
+    this.type = type;
+    this.id = id;
+    this.productId = productId;
+    this.moduleId = moduleId;
+    this.title = title;
+    this.score = score;
+  }
+
+  public SearchDocType getType() {
+    return type;
+  }
+
+  public void setType(SearchDocType type) {
+    this.type = type;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getProductId() {
+    return productId;
+  }
+
+  public void setProductId(Long productId) {
+    this.productId = productId;
+  }
+
+  public Long getModuleId() {
+    return moduleId;
+  }
+
+  public void setModuleId(Long moduleId) {
+    this.moduleId = moduleId;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public void setScore(double score) {
+    this.score = score;
+  }
+}
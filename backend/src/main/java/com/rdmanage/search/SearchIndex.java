@@ -0,0 +1,293 @@
+package com.rdmanage.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index with BM25 ranking. Every document version gets a fresh ordinal and is appended
+ * to the posting lists of its terms, so postings stay sorted by ordinal and queries can intersect
+ * them by skipping ahead. Replacing or removing a document only tombstones the old ordinal; once
+ * tombstones outnumber live documents the postings are rewritten without them.
+ *
+ * <p>All terms of a query must match, which keeps bigram queries close to the substring filter
+ * users know. Thread-safe.
+ */
+final class SearchIndex {
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  private static final int MIN_TOMBSTONES_TO_COMPACT = 10_000;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, Postings> postings = new HashMap<>();
+  private final Map<Long, Integer> ordinals = new HashMap<>();
+  private Entry[] entries = new Entry[1024];
+  private int ordinalCount;
+  private int liveCount;
+  private long liveLength;
+
+  void putAll(Collection<SearchDocument> documents) {
+    lock.writeLock().lock();
+    try {
+      for (SearchDocument document : documents) {
+        put(document);
+      }
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void removeAll(SearchDocType type, Collection<Long> ids) {
+    lock.writeLock().lock();
+    try {
+      for (Long id : ids) {
+        Integer ordinal = ordinals.remove(SearchDocument.key(type, id));
+        if (ordinal != null) {
+          tombstone(ordinal);
+        }
+      }
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return liveCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Best {@code limit} documents containing every term, optionally narrowed by type/product. */
+  List<SearchHit> search(List<String> terms, SearchDocType type, Long productId, int limit) {
+    if (terms.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    lock.readLock().lock();
+    try {
+      List<Postings> lists = new ArrayList<>();
+      for (String term : new LinkedHashSet<>(terms)) {
+        Postings list = postings.get(term);
+        if (list == null) {
+          return List.of();
+        }
+        lists.add(list);
+      }
+      lists.sort(Comparator.comparingInt(list -> list.size));
+      int termCount = lists.size();
+      double[] idf = new double[termCount];
+      for (int t = 0; t < termCount; t++) {
+        double df = Math.min(lists.get(t).size, liveCount);
+        idf[t] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+      }
+      double averageLength = liveCount == 0 ? 1 : Math.max(1, (double) liveLength / liveCount);
+
+      PriorityQueue<ScoredEntry> top =
+          new PriorityQueue<>(Comparator.comparingDouble(scored -> scored.score));
+      int[] cursors = new int[termCount];
+      int[] freqs = new int[termCount];
+      Postings rarest = lists.get(0);
+      candidates:
+      for (int i = 0; i < rarest.size; i++) {
+        int ordinal = rarest.ordinals[i];
+        Entry entry = entries[ordinal];
+        if (entry == null
+            || (type != null && entry.type != type)
+            || (productId != null && !productId.equals(entry.productId))) {
+          continue;
+        }
+        freqs[0] = rarest.freqs[i];
+        for (int t = 1; t < termCount; t++) {
+          Postings list = lists.get(t);
+          int at = list.seek(ordinal, cursors[t]);
+          cursors[t] = at;
+          if (at == list.size) {
+            break candidates;
+          }
+          if (list.ordinals[at] != ordinal) {
+            continue candidates;
+          }
+          freqs[t] = list.freqs[at];
+        }
+        double norm = K1 * (1 - B + B * entry.length / averageLength);
+        double score = 0;
+        for (int t = 0; t < termCount; t++) {
+          score += idf[t] * freqs[t] * (K1 + 1) / (freqs[t] + norm);
+        }
+        if (top.size() < limit) {
+          top.add(new ScoredEntry(entry, score));
+        } else if (score > top.peek().score) {
+          top.poll();
+          top.add(new ScoredEntry(entry, score));
+        }
+      }
+
+      List<SearchHit> hits = new ArrayList<>(top.size());
+      while (!top.isEmpty()) {
+        ScoredEntry scored = top.poll();
+        Entry entry = scored.entry;
+        hits.add(
+            new SearchHit(
+                entry.type, entry.id, entry.productId, entry.moduleId, entry.title, scored.score));
+      }
+      Collections.reverse(hits);
+      return hits;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void put(SearchDocument document) {
+    Integer previous = ordinals.get(document.key());
+    if (previous != null) {
+      tombstone(previous);
+    }
+    int ordinal = ordinalCount++;
+    if (ordinal == entries.length) {
+      entries = Arrays.copyOf(entries, entries.length * 2);
+    }
+    entries[ordinal] = new Entry(document);
+    ordinals.put(document.key(), ordinal);
+    liveCount++;
+    liveLength += document.length;
+    for (Map.Entry<String, Integer> term : document.termFreqs.entrySet()) {
+      postings.computeIfAbsent(term.getKey(), key -> new Postings()).add(ordinal, term.getValue());
+    }
+  }
+
+  private void tombstone(int ordinal) {
+    Entry entry = entries[ordinal];
+    if (entry != null) {
+      entries[ordinal] = null;
+      liveCount--;
+      liveLength -= entry.length;
+    }
+  }
+
+  private void compactIfNeeded() {
+    int tombstones = ordinalCount - liveCount;
+    if (tombstones < MIN_TOMBSTONES_TO_COMPACT || tombstones < liveCount) {
+      return;
+    }
+    int[] remap = new int[ordinalCount];
+    Entry[] compacted = new Entry[Math.max(1024, liveCount * 2)];
+    int next = 0;
+    for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+      if (entries[ordinal] == null) {
+        remap[ordinal] = -1;
+      } else {
+        remap[ordinal] = next;
+        compacted[next++] = entries[ordinal];
+      }
+    }
+    Iterator<Postings> lists = postings.values().iterator();
+    while (lists.hasNext()) {
+      Postings list = lists.next();
+      list.remap(remap);
+      if (list.size == 0) {
+        lists.remove();
+      }
+    }
+    ordinals.replaceAll((key, ordinal) -> remap[ordinal]);
+    entries = compacted;
+    ordinalCount = next;
+  }
+
+  private static final class Entry {
+    final SearchDocType type;
+    final long id;
+    final Long productId;
+    final Long moduleId;
+    final String title;
+    final int length;
+
+    Entry(SearchDocument document) {
+      this.type = document.type;
+      this.id = document.id;
+      this.productId = document.productId;
+      this.moduleId = document.moduleId;
+      this.title = document.title;
+      this.length = document.length;
+    }
+  }
+
+  private static final class ScoredEntry {
+    final Entry entry;
+    final double score;
+
+    ScoredEntry(Entry entry, double score) {
+      this.entry = entry;
+      this.score = score;
+    }
+  }
+
+  /** Ordinals in ascending order with their term frequencies, as two parallel arrays. */
+  private static final class Postings {
+    int[] ordinals = new int[2];
+    int[] freqs = new int[2];
+    int size;
+
+    void add(int ordinal, int freq) {
+      if (size == ordinals.length) {
+        ordinals = Arrays.copyOf(ordinals, size * 2);
+        freqs = Arrays.copyOf(freqs, size * 2);
+      }
+      ordinals[size] = ordinal;
+      freqs[size] = freq;
+      size++;
+    }
+
+    /** First position at or after {@code from} whose ordinal is not below {@code ordinal}. */
+    int seek(int ordinal, int from) {
+      int step = 1;
+      int low = from;
+      int high = from;
+      while (high < size && ordinals[high] < ordinal) {
+        low = high + 1;
+        high += step;
+        step <<= 1;
+      }
+      high = Math.min(high, size);
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (ordinals[mid] < ordinal) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    void remap(int[] remap) {
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        int ordinal = remap[ordinals[i]];
+        if (ordinal >= 0) {
+          ordinals[kept] = ordinal;
+          freqs[kept] = freqs[i];
+          kept++;
+        }
+      }
+      size = kept;
+      if (size < ordinals.length / 4) {
+        ordinals = Arrays.copyOf(ordinals, Math.max(2, size));
+        freqs = Arrays.copyOf(freqs, Math.max(2, size));
+      }
+    }
+  }
+}
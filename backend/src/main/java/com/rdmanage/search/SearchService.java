@@ -0,0 +1,257 @@
+package com.rdmanage.search;
+
+import com.rdmanage.model.Requirement;
+import com.rdmanage.model.TaskItem;
+import com.rdmanage.service.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a {@link SearchIndex} over requirement and task text. At startup both tables are read in
+ * keyset chunks on their own threads, tokenized in parallel and loaded into a fresh index that
+ * replaces the empty one when done. Writes that commit during the rebuild are applied to the live
+ * index and replayed on the fresh one before the swap, so no change is lost to the race. A failed
+ * startup build (the database not up yet) is retried with backoff until one succeeds.
+ */
+@Service
+@DependsOn("entityManagerFactory")
+public class SearchService {
+  public static final int MAX_LIMIT = 200;
+  private static final int LOAD_CHUNK = 20_000;
+  private static final long FIRST_RETRY_MILLIS = 1_000;
+  private static final long MAX_RETRY_MILLIS = 60_000;
+  private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ExecutorService executor;
+  // Request threads wait on the index's write lock while holding this, so it is not a monitor:
+  // that would pin their carrier threads when they are virtual.
+  private final ReentrantLock swapLock = new ReentrantLock();
+  private volatile SearchIndex index = new SearchIndex();
+  private volatile boolean ready;
+  private List<Consumer<SearchIndex>> replay;
+
+  public SearchService(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.executor =
+        Executors.newFixedThreadPool(
+            3,
+            runnable -> {
+              Thread thread = new Thread(runnable, "search-index");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @PostConstruct
+  public void start() {
+    executor.execute(this::buildUntilReady);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /** False until the first full build has finished; searches before that see nothing. */
+  public boolean isReady() {
+    return ready;
+  }
+
+  public int size() {
+    return index.size();
+  }
+
+  public List<SearchHit> search(String q, SearchDocType type, Long productId, int limit) {
+    int clamped = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return index.search(SearchTokenizer.tokenize(q), type, productId, clamped);
+  }
+
+  private void buildUntilReady() {
+    long backoff = FIRST_RETRY_MILLIS;
+    while (true) {
+      try {
+        rebuild();
+      } catch (RuntimeException ex) {
+        log.warn("search index build failed, retrying in {} ms", backoff, ex);
+      }
+      if (ready) {
+        return;
+      }
+      try {
+        Thread.sleep(backoff);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      backoff = Math.min(backoff * 2, MAX_RETRY_MILLIS);
+    }
+  }
+
+  /** Reloads everything from the database; a no-op while another rebuild is running. */
+  public void rebuild() {
+    swapLock.lock();
+    try {
+      if (replay != null) {
+        return;
+      }
+      replay = new ArrayList<>();
+    } finally {
+      swapLock.unlock();
+    }
+    SearchIndex fresh = new SearchIndex();
+    try {
+      CompletableFuture<Void> requirements =
+          CompletableFuture.runAsync(
+              () ->
+                  load(
+                      "select id, product_id, module_id, code, name, description"
+                          + " from requirement",
+                      this::requirementRow,
+                      fresh),
+              executor);
+      CompletableFuture<Void> tasks =
+          CompletableFuture.runAsync(
+              () ->
+                  load(
+                      "select id, product_id, module_id, title, description from task_item",
+                      this::taskRow,
+                      fresh),
+              executor);
+      CompletableFuture.allOf(requirements, tasks).join();
+      swapLock.lock();
+      try {
+        replay.forEach(change -> change.accept(fresh));
+        index = fresh;
+        ready = true;
+      } finally {
+        swapLock.unlock();
+      }
+    } finally {
+      swapLock.lock();
+      try {
+        replay = null;
+      } finally {
+        swapLock.unlock();
+      }
+    }
+  }
+
+  public void requirementsSaved(Collection<Requirement> requirements) {
+    List<SearchDocument> documents = new ArrayList<>(requirements.size());
+    for (Requirement requirement : requirements) {
+      documents.add(
+          requirementDocument(
+              requirement.getId(),
+              requirement.getProductId(),
+              requirement.getModuleId(),
+              requirement.getCode(),
+              requirement.getName(),
+              requirement.getDescription()));
+    }
+    TransactionHooks.afterCommit(() -> apply(target -> target.putAll(documents)));
+  }
+
+  public void tasksSaved(Collection<TaskItem> tasks) {
+    List<SearchDocument> documents = new ArrayList<>(tasks.size());
+    for (TaskItem task : tasks) {
+      documents.add(
+          taskDocument(
+              task.getId(),
+              task.getProductId(),
+              task.getModuleId(),
+              task.getTitle(),
+              task.getDescription()));
+    }
+    TransactionHooks.afterCommit(() -> apply(target -> target.putAll(documents)));
+  }
+
+  public void requirementDeleted(Long id) {
+    List<Long> ids = List.of(id);
+    TransactionHooks.afterCommit(
+        () -> apply(target -> target.removeAll(SearchDocType.REQUIREMENT, ids)));
+  }
+
+  public void taskDeleted(Long id) {
+    List<Long> ids = List.of(id);
+    TransactionHooks.afterCommit(() -> apply(target -> target.removeAll(SearchDocType.TASK, ids)));
+  }
+
+  private void apply(Consumer<SearchIndex> change) {
+    swapLock.lock();
+    try {
+      change.accept(index);
+      if (replay != null) {
+        replay.add(change);
+      }
+    } finally {
+      swapLock.unlock();
+    }
+  }
+
+  private void load(
+      String select, Function<Map<String, Object>, SearchDocument> toDocument, SearchIndex target) {
+    long after = -1;
+    while (true) {
+      List<Map<String, Object>> rows =
+          jdbcTemplate.queryForList(
+              select + " where id > ? order by id limit " + LOAD_CHUNK, after);
+      target.putAll(rows.parallelStream().map(toDocument).toList());
+      if (rows.size() < LOAD_CHUNK) {
+        return;
+      }
+      after = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+    }
+  }
+
+  private SearchDocument requirementRow(Map<String, Object> row) {
+    return requirementDocument(
+        ((Number) row.get("id")).longValue(),
+        toLong(row.get("product_id")),
+        toLong(row.get("module_id")),
+        (String) row.get("code"),
+        (String) row.get("name"),
+        (String) row.get("description"));
+  }
+
+  private SearchDocument taskRow(Map<String, Object> row) {
+    return taskDocument(
+        ((Number) row.get("id")).longValue(),
+        toLong(row.get("product_id")),
+        toLong(row.get("module_id")),
+        (String) row.get("title"),
+        (String) row.get("description"));
+  }
+
+  private static SearchDocument requirementDocument(
+      long id, Long productId, Long moduleId, String code, String name, String description) {
+    String titleText = code == null ? name : code + " " + name;
+    return SearchDocument.of(
+        SearchDocType.REQUIREMENT, id, productId, moduleId, name, titleText, description);
+  }
+
+  private static SearchDocument taskDocument(
+      long id, Long productId, Long moduleId, String title, String description) {
+    return SearchDocument.of(
+        SearchDocType.TASK, id, productId, moduleId, title, title, description);
+  }
+
+  private static Long toLong(Object value) {
+    return value == null ? null : ((Number) value).longValue();
+  }
+}
@@ -0,0 +1,90 @@
+package com.rdmanage.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into terms. Runs of Han, kana or Hangul become overlapping bigrams ("需求管理" gives
+ * 需求, 求管, 管理), so any two-character substring of a title can be found without a dictionary;
+ * a lone CJK character stays a unigram. Documents are also indexed with every CJK character as a
+ * unigram, so a one-character query such as 需 finds 需求管理 too. Other letters and digits form
+ * lower-cased words. Everything else separates terms.
+ */
+public final class SearchTokenizer {
+  static final int MAX_WORD_LENGTH = 32;
+
+  private SearchTokenizer() {}
+
+  /** Terms of a query. */
+  public static List<String> tokenize(String text) {
+    return terms(text, false);
+  }
+
+  /** Terms of a document: the query terms plus a unigram for every CJK character. */
+  public static List<String> indexTerms(String text) {
+    return terms(text, true);
+  }
+
+  private static List<String> terms(String text, boolean unigrams) {
+    List<String> terms = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return terms;
+    }
+    StringBuilder word = new StringBuilder();
+    int previousCjk = -1;
+    boolean cjkRunEmitted = false;
+    int i = 0;
+    while (i < text.length()) {
+      int codePoint = text.codePointAt(i);
+      i += Character.charCount(codePoint);
+      if (isCjk(codePoint)) {
+        flushWord(word, terms);
+        if (unigrams) {
+          terms.add(new String(Character.toChars(codePoint)));
+          cjkRunEmitted = true;
+        }
+        if (previousCjk >= 0) {
+          terms.add(new String(new int[] {previousCjk, codePoint}, 0, 2));
+          cjkRunEmitted = true;
+        }
+        previousCjk = codePoint;
+        continue;
+      }
+      flushCjk(previousCjk, cjkRunEmitted, terms);
+      previousCjk = -1;
+      cjkRunEmitted = false;
+      if (Character.isLetterOrDigit(codePoint)) {
+        if (word.length() < MAX_WORD_LENGTH) {
+          word.appendCodePoint(codePoint);
+        }
+      } else {
+        flushWord(word, terms);
+      }
+    }
+    flushCjk(previousCjk, cjkRunEmitted, terms);
+    flushWord(word, terms);
+    return terms;
+  }
+
+  private static void flushCjk(int previousCjk, boolean runEmitted, List<String> terms) {
+    if (previousCjk >= 0 && !runEmitted) {
+      terms.add(new String(Character.toChars(previousCjk)));
+    }
+  }
+
+  private static void flushWord(StringBuilder word, List<String> terms) {
+    if (word.length() > 0) {
+      terms.add(word.toString().toLowerCase(Locale.ROOT));
+      word.setLength(0);
+    }
+  }
+
+  private static boolean isCjk(int codePoint) {
+    Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+    return script == Character.UnicodeScript.HAN
+        || script == Character.UnicodeScript.HIRAGANA
+        || script == Character.UnicodeScript.KATAKANA
+        || script == Character.UnicodeScript.HANGUL;
+  }
+}
@@ -0,0 +1,405 @@
+package com.rdmanage.seed;
+
+import com.rdmanage.repository.IdSequenceInitializer;
+import com.rdmanage.seed.SeedDistributions.Weighted;
+import com.rdmanage.service.RequirementProgressService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills an empty database with a scale-test dataset and exits. Start the backend with {@code
+ * --spring.profiles.active=seed}; sizes and the random seed live under {@code rdmanage.seed}.
+ *
+ * <p>The same seed always yields the same rows, ids included: the catalog is built from one RNG,
+ * and requirements are generated in fixed id ranges whose RNGs and task id offsets depend only on
+ * the seed and the range, so the workers can run in any order. Rows go out through {@code
+ * batchUpdate}, which the driver rewrites into multi-row inserts ({@code
+ * rewriteBatchedStatements=true}).
+ */
+@Component
+@Profile("seed")
+public class SeedDataGenerator implements ApplicationRunner {
+  private static final Logger log = LoggerFactory.getLogger(SeedDataGenerator.class);
+  private static final int RANGE = 50_000;
+  private static final int PEOPLE = 3_000;
+  private static final int VERSIONS_PER_PRODUCT = 8;
+
+  private static final String PRODUCT_INSERT =
+      "insert into product (id, code, name, owner, status, description, created_at, updated_at)"
+          + " values (?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String MODULE_INSERT =
+      "insert into product_module (id, product_id, parent_id, level, code, name, owner,"
+          + " sort_order, status, description, created_at, updated_at)"
+          + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String VERSION_INSERT =
+      "insert into product_version (id, product_id, module_id, version_code, name, owner,"
+          + " plan_release_date, actual_release_date, status, description, created_at,"
+          + " updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String REQUIREMENT_INSERT =
+      "insert into requirement (id, product_id, module_id, code, name, description, priority,"
+          + " status, version_id, owner, due_date, estimate_story_points, created_at, updated_at)"
+          + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String TASK_INSERT =
+      "insert into task_item (id, product_id, module_id, requirement_id, title, description,"
+          + " assignee, status, due_date, estimate_hours, created_at, updated_at)"
+          + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final Weighted<String> PRIORITIES =
+      new Weighted<String>()
+          .add("LOW", 20)
+          .add("MEDIUM", 50)
+          .add("HIGH", 22)
+          .add("URGENT", 8);
+  private static final Weighted<String> OPEN_REQUIREMENT =
+      new Weighted<String>()
+          .add("DRAFT", 15)
+          .add("REVIEW", 15)
+          .add("APPROVED", 20)
+          .add("IN_PROGRESS", 35)
+          .add("DONE", 15);
+  private static final Weighted<String> OLD_REQUIREMENT =
+      new Weighted<String>()
+          .add("DRAFT", 2)
+          .add("REVIEW", 3)
+          .add("APPROVED", 5)
+          .add("IN_PROGRESS", 10)
+          .add("DONE", 60)
+          .add("ARCHIVED", 20);
+  private static final Weighted<String> OPEN_TASK =
+      new Weighted<String>()
+          .add("TODO", 35)
+          .add("IN_PROGRESS", 40)
+          .add("BLOCKED", 5)
+          .add("DONE", 20);
+  private static final Weighted<Integer> TASKS_PER_REQUIREMENT =
+      new Weighted<Integer>()
+          .add(0, 10)
+          .add(1, 20)
+          .add(2, 25)
+          .add(3, 20)
+          .add(4, 15)
+          .add(5, 10);
+  private static final Weighted<Integer> STORY_POINTS =
+      new Weighted<Integer>()
+          .add(1, 10)
+          .add(2, 20)
+          .add(3, 30)
+          .add(5, 22)
+          .add(8, 12)
+          .add(13, 6);
+  private static final int[] TASK_HOURS = {1, 2, 4, 8, 8, 16, 24, 40};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IdSequenceInitializer idSequenceInitializer;
+  private final RequirementProgressService requirementProgress;
+  private final ConfigurableApplicationContext context;
+  private final long seed;
+  private final int products;
+  private final int[] moduleFanout;
+  private final long requirements;
+  private final int spanDays;
+  private final LocalDateTime end;
+  private final int batchSize;
+  private final int workers;
+
+  public SeedDataGenerator(
+      JdbcTemplate jdbcTemplate,
+      IdSequenceInitializer idSequenceInitializer,
+      RequirementProgressService requirementProgress,
+      ConfigurableApplicationContext context,
+      @Value("${rdmanage.seed.random-seed:42}") long seed,
+      @Value("${rdmanage.seed.products:1000}") int products,
+      @Value("${rdmanage.seed.module-fanout:4,3,2}") int[] moduleFanout,
+      @Value("${rdmanage.seed.requirements:1500000}") long requirements,
+      @Value("${rdmanage.seed.span-days:730}") int spanDays,
+      @Value("${rdmanage.seed.end-date:2026-01-01}") String endDate,
+      @Value("${rdmanage.seed.batch-size:5000}") int batchSize,
+      @Value("${rdmanage.seed.workers:4}") int workers) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.idSequenceInitializer = idSequenceInitializer;
+    this.requirementProgress = requirementProgress;
+    this.context = context;
+    this.seed = seed;
+    this.products = products;
+    this.moduleFanout = moduleFanout;
+    this.requirements = requirements;
+    this.spanDays = spanDays;
+    this.end = LocalDate.parse(endDate).atStartOfDay();
+    this.batchSize = batchSize;
+    this.workers = Math.max(1, workers);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    Long existing = jdbcTemplate.queryForObject("select count(*) from product", Long.class);
+    if (existing != null && existing > 0) {
+      throw new IllegalStateException("生成数据需要空库：product 表已有 " + existing + " 行");
+    }
+    long started = System.nanoTime();
+    Catalog catalog = seedCatalog();
+    long[] taskCounts = seedWorkItems(catalog);
+    idSequenceInitializer.alignSequences();
+    // Rows went in through JDBC, past TaskService's counter updates.
+    requirementProgress.rebuildAll();
+    double seconds = (System.nanoTime() - started) / 1e9;
+    long rows = catalog.rows + requirements + taskCounts[0];
+    log.info(
+        "seed {}: {} products, {} modules, {} versions, {} requirements, {} tasks"
+            + " ({} rows in {}s, {} rows/s)",
+        seed,
+        products,
+        catalog.moduleCount,
+        catalog.versionCount,
+        requirements,
+        taskCounts[0],
+        rows,
+        String.format("%.1f", seconds),
+        Math.round(rows / seconds));
+    System.exit(SpringApplication.exit(context, () -> 0));
+  }
+
+  /** Products, their module trees and versions; small enough to keep in memory. */
+  private Catalog seedCatalog() {
+    SplittableRandom random = new SplittableRandom(seed);
+    List<String> people = SeedDistributions.people(random, PEOPLE);
+    Catalog catalog = new Catalog(products, people);
+    List<Object[]> productRows = new ArrayList<>();
+    List<Object[]> moduleRows = new ArrayList<>();
+    List<Object[]> versionRows = new ArrayList<>();
+    long moduleId = 0;
+    long versionId = 0;
+    for (int p = 0; p < products; p++) {
+      long productId = p + 1;
+      LocalDateTime createdAt = end.minusDays(spanDays + random.nextInt(365));
+      productRows.add(
+          new Object[] {
+            productId,
+            String.format("P%05d", productId),
+            "产品" + productId,
+            owner(random, people),
+            "ACTIVE",
+            null,
+            createdAt,
+            createdAt
+          });
+
+      List<Long> level = new ArrayList<>();
+      level.add(null);
+      List<Long> topLevel = new ArrayList<>();
+      for (int depth = 0; depth < moduleFanout.length; depth++) {
+        List<Long> next = new ArrayList<>();
+        for (Long parentId : level) {
+          for (int i = 0; i < moduleFanout[depth]; i++) {
+            moduleId++;
+            next.add(moduleId);
+            moduleRows.add(
+                new Object[] {
+                  moduleId,
+                  productId,
+                  parentId,
+                  depth + 1,
+                  "M" + moduleId,
+                  "模块" + (depth + 1) + "-" + (i + 1),
+                  owner(random, people),
+                  i,
+                  "ACTIVE",
+                  null,
+                  createdAt,
+                  createdAt
+                });
+          }
+        }
+        if (depth == 0) {
+          topLevel = next;
+        }
+        level = next;
+      }
+      catalog.leafModules[p] = level.stream().mapToLong(Long::longValue).toArray();
+
+      long[] versions = new long[VERSIONS_PER_PRODUCT];
+      for (int v = 0; v < VERSIONS_PER_PRODUCT; v++) {
+        versionId++;
+        versions[v] = versionId;
+        LocalDate planned =
+            end.toLocalDate().minusDays(spanDays).plusDays((long) spanDays * (v + 1) / 6);
+        boolean released = planned.isBefore(end.toLocalDate().minusDays(30));
+        versionRows.add(
+            new Object[] {
+              versionId,
+              productId,
+              topLevel.get(v % topLevel.size()),
+              "V" + (1 + v / 4) + "." + (v % 4),
+              "第" + (v + 1) + "个版本",
+              owner(random, people),
+              planned,
+              released ? planned.plusDays(random.nextInt(15)) : null,
+              released ? "RELEASED" : "PLANNED",
+              null,
+              createdAt,
+              createdAt
+            });
+      }
+      catalog.versions[p] = versions;
+    }
+    insert(PRODUCT_INSERT, productRows);
+    insert(MODULE_INSERT, moduleRows);
+    insert(VERSION_INSERT, versionRows);
+    catalog.moduleCount = moduleId;
+    catalog.versionCount = versionId;
+    catalog.rows = productRows.size() + moduleRows.size() + versionRows.size();
+    return catalog;
+  }
+
+  /** Requirements and their tasks, range by range on {@code workers} threads. */
+  private long[] seedWorkItems(Catalog catalog) throws InterruptedException, ExecutionException {
+    int ranges = (int) ((requirements + RANGE - 1) / RANGE);
+    long[] firstTaskIds = new long[ranges];
+    long nextTaskId = 1;
+    for (int range = 0; range < ranges; range++) {
+      firstTaskIds[range] = nextTaskId;
+      long last = Math.min(requirements, (long) (range + 1) * RANGE);
+      for (long id = (long) range * RANGE + 1; id <= last; id++) {
+        nextTaskId += taskCount(id);
+      }
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    AtomicLong done = new AtomicLong();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int range = 0; range < ranges; range++) {
+        int current = range;
+        futures.add(
+            executor.submit(
+                () -> {
+                  seedRange(catalog, current, firstTaskIds[current]);
+                  long finished = done.incrementAndGet();
+                  log.info("seed: {}/{} requirement ranges loaded", finished, ranges);
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return new long[] {nextTaskId - 1};
+  }
+
+  private void seedRange(Catalog catalog, int range, long firstTaskId) {
+    SplittableRandom random = new SplittableRandom(SeedDistributions.mix(seed + range));
+    List<Object[]> requirementRows = new ArrayList<>(batchSize);
+    List<Object[]> taskRows = new ArrayList<>(batchSize);
+    long taskId = firstTaskId;
+    long last = Math.min(requirements, (long) (range + 1) * RANGE);
+    for (long id = (long) range * RANGE + 1; id <= last; id++) {
+      int product = SeedDistributions.skewed(random, products);
+      long[] leaves = catalog.leafModules[product];
+      long moduleId = leaves[SeedDistributions.skewed(random, leaves.length)];
+      LocalDateTime createdAt = SeedDistributions.createdAt(random, end, spanDays);
+      LocalDateTime updatedAt = SeedDistributions.updatedAt(random, createdAt, end);
+      boolean old = createdAt.isBefore(end.minusDays(spanDays / 4));
+      String status = (old ? OLD_REQUIREMENT : OPEN_REQUIREMENT).pick(random);
+      String name = SeedDistributions.requirementName(random);
+      LocalDate dueDate =
+          random.nextInt(100) < 85 ? SeedDistributions.dueDate(random, createdAt) : null;
+      requirementRows.add(
+          new Object[] {
+            id,
+            (long) product + 1,
+            moduleId,
+            "REQ-" + id,
+            name,
+            random.nextInt(10) < 9 ? SeedDistributions.description(random) : null,
+            PRIORITIES.pick(random),
+            status,
+            catalog.versions[product][random.nextInt(VERSIONS_PER_PRODUCT)],
+            owner(random, catalog.people),
+            dueDate,
+            random.nextInt(10) < 9 ? STORY_POINTS.pick(random) : null,
+            createdAt,
+            updatedAt
+          });
+      boolean finished = "DONE".equals(status) || "ARCHIVED".equals(status);
+      for (int t = taskCount(id); t > 0; t--) {
+        LocalDateTime taskCreated = createdAt.plusHours(random.nextInt(72));
+        if (taskCreated.isAfter(end)) {
+          taskCreated = end;
+        }
+        taskRows.add(
+            new Object[] {
+              taskId++,
+              (long) product + 1,
+              moduleId,
+              id,
+              SeedDistributions.taskTitle(random, name),
+              random.nextInt(10) < 6 ? SeedDistributions.description(random) : null,
+              owner(random, catalog.people),
+              finished && random.nextInt(100) < 95 ? "DONE" : OPEN_TASK.pick(random),
+              dueDate,
+              TASK_HOURS[random.nextInt(TASK_HOURS.length)],
+              taskCreated,
+              SeedDistributions.updatedAt(random, taskCreated, end)
+            });
+      }
+      if (requirementRows.size() >= batchSize) {
+        insert(REQUIREMENT_INSERT, requirementRows);
+        requirementRows.clear();
+      }
+      if (taskRows.size() >= batchSize) {
+        insert(TASK_INSERT, taskRows);
+        taskRows.clear();
+      }
+    }
+    insert(REQUIREMENT_INSERT, requirementRows);
+    insert(TASK_INSERT, taskRows);
+  }
+
+  /** Tasks under a requirement, derived from the id alone so task ids can be laid out upfront. */
+  private int taskCount(long requirementId) {
+    long mixed = SeedDistributions.mix(seed * 31 + requirementId);
+    return TASKS_PER_REQUIREMENT.pick(new SplittableRandom(mixed));
+  }
+
+  private static String owner(SplittableRandom random, List<String> people) {
+    return people.get(SeedDistributions.skewed(random, people.size()));
+  }
+
+  private void insert(String sql, List<Object[]> rows) {
+    for (int from = 0; from < rows.size(); from += batchSize) {
+      jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+    }
+  }
+
+  private static final class Catalog {
+    final long[][] leafModules;
+    final long[][] versions;
+    final List<String> people;
+    long moduleCount;
+    long versionCount;
+    long rows;
+
+    Catalog(int products, List<String> people) {
+      this.leafModules = new long[products][];
+      this.versions = new long[products][];
+      this.people = people;
+    }
+  }
+}
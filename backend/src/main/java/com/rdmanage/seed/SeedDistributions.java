@@ -0,0 +1,120 @@
+package com.rdmanage.seed;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Value pools and skewed draws for generated data. Everything is driven by the caller's RNG. */
+final class SeedDistributions {
+  private static final String SURNAMES = "王李张刘陈杨黄赵吴周徐孙马朱胡郭何林罗高郑梁谢宋唐许韩冯邓曹彭曾萧田董袁潘";
+  private static final String GIVEN = "伟芳娜敏静丽强磊军洋勇艳杰娟涛明超秀霞平刚桂英华玉兰建国志红晨宇浩然欣怡子涵梓轩";
+  private static final String[] ACTIONS = {"支持", "优化", "新增", "重构", "修复", "完善", "接入", "迁移"};
+  private static final String[] SUBJECTS = {
+    "登录认证", "权限配置", "需求导入", "报表导出", "消息通知", "版本发布流程", "任务看板", "数据字典",
+    "菜单配置", "审批流", "附件上传", "全文检索", "操作日志", "统计概览", "批量编辑", "移动端适配"
+  };
+  private static final String[] DETAILS = {
+    "需要兼容历史数据，迁移过程不能中断业务。",
+    "涉及前后端联调，接口变更需同步文档。",
+    "性能目标为 P95 小于 200 毫秒。",
+    "由客户反馈触发，需在下个版本交付。",
+    "需补充权限校验与审计日志。",
+    "界面交互参考现有列表页风格。"
+  };
+  private static final String[] TASK_KINDS = {"设计", "开发", "联调", "自测", "评审", "上线", "文档"};
+
+  private SeedDistributions() {}
+
+  /** Picks by integer weights; build once and share across threads. */
+  static final class Weighted<T> {
+    private final List<T> values = new ArrayList<>();
+    private final List<Integer> cumulative = new ArrayList<>();
+    private int total;
+
+    Weighted<T> add(T value, int weight) {
+      total += weight;
+      values.add(value);
+      cumulative.add(total);
+      return this;
+    }
+
+    T pick(SplittableRandom random) {
+      int roll = random.nextInt(total);
+      for (int i = 0; i < values.size(); i++) {
+        if (roll < cumulative.get(i)) {
+          return values.get(i);
+        }
+      }
+      return values.get(values.size() - 1);
+    }
+  }
+
+  /**
+   * Index in {@code [0, size)} heavily biased towards 0, so a few products, owners or modules get
+   * most of the rows, as in real data.
+   */
+  static int skewed(SplittableRandom random, int size) {
+    double u = random.nextDouble();
+    return Math.min(size - 1, (int) (size * u * u * u));
+  }
+
+  static List<String> people(SplittableRandom random, int size) {
+    List<String> people = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      StringBuilder name = new StringBuilder(3);
+      name.append(SURNAMES.charAt(skewed(random, SURNAMES.length())));
+      name.append(GIVEN.charAt(random.nextInt(GIVEN.length())));
+      if (random.nextInt(3) > 0) {
+        name.append(GIVEN.charAt(random.nextInt(GIVEN.length())));
+      }
+      people.add(name.toString());
+    }
+    return people;
+  }
+
+  /** A time in the {@code spanDays} before {@code end}, denser towards the end. */
+  static LocalDateTime createdAt(SplittableRandom random, LocalDateTime end, int spanDays) {
+    double ageFraction = 1 - Math.sqrt(random.nextDouble());
+    long seconds = (long) (ageFraction * spanDays * 86_400L);
+    return end.minusSeconds(seconds);
+  }
+
+  /** Last edit after creation, exponentially distributed with a mean of about ten days. */
+  static LocalDateTime updatedAt(
+      SplittableRandom random, LocalDateTime createdAt, LocalDateTime end) {
+    long seconds = (long) (-Math.log(1 - random.nextDouble()) * 10 * 86_400L);
+    LocalDateTime updated = createdAt.plusSeconds(seconds);
+    return updated.isAfter(end) ? end : updated;
+  }
+
+  static LocalDate dueDate(SplittableRandom random, LocalDateTime createdAt) {
+    return createdAt.toLocalDate().plusDays(7 + random.nextInt(114));
+  }
+
+  static String requirementName(SplittableRandom random) {
+    return ACTIONS[random.nextInt(ACTIONS.length)] + SUBJECTS[skewed(random, SUBJECTS.length)];
+  }
+
+  static String description(SplittableRandom random) {
+    int sentences = 1 + random.nextInt(3);
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < sentences; i++) {
+      text.append(DETAILS[random.nextInt(DETAILS.length)]);
+    }
+    return text.toString();
+  }
+
+  static String taskTitle(SplittableRandom random, String requirementName) {
+    return requirementName + " - " + TASK_KINDS[random.nextInt(TASK_KINDS.length)];
+  }
+
+  /** SplitMix64 finalizer: a well-mixed, deterministic value for a key. */
+  static long mix(long key) {
+    long z = key + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,192 @@
+package com.rdmanage.service;
+
+import com.rdmanage.dto.ChangeFeed;
+import com.rdmanage.dto.ChangeRecord;
+import com.rdmanage.repository.DictItemRepository;
+import com.rdmanage.repository.ProductModuleRepository;
+import com.rdmanage.repository.ProductRepository;
+import com.rdmanage.repository.RequirementRepository;
+import com.rdmanage.repository.TaskItemRepository;
+import com.rdmanage.repository.VersionRepository;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads {@code change_log} for delta sync. A client loads its collections once, then polls with
+ * the last {@code next} it got and applies only the rows that changed since.
+ *
+ * <p>{@link ChangeLog} numbers rows in commit order, so a page never ends before a change that
+ * is still to commit with a lower number; {@code next} can always be taken as is.
+ */
+@Service
+public class ChangeFeedService {
+  public static final int MAX_LIMIT = 5_000;
+  private static final int COMPACT_RANGE = 10_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ProductRepository productRepository;
+  private final ProductModuleRepository productModuleRepository;
+  private final VersionRepository versionRepository;
+  private final RequirementRepository requirementRepository;
+  private final TaskItemRepository taskItemRepository;
+  private final DictItemRepository dictItemRepository;
+  private final RequirementProgressService requirementProgress;
+  private final long compactAfterMillis;
+
+  public ChangeFeedService(
+      JdbcTemplate jdbcTemplate,
+      ProductRepository productRepository,
+      ProductModuleRepository productModuleRepository,
+      VersionRepository versionRepository,
+      RequirementRepository requirementRepository,
+      TaskItemRepository taskItemRepository,
+      DictItemRepository dictItemRepository,
+      RequirementProgressService requirementProgress,
+      @Value("${rdmanage.changes.compact-after-ms:3600000}") long compactAfterMillis) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.productRepository = productRepository;
+    this.productModuleRepository = productModuleRepository;
+    this.versionRepository = versionRepository;
+    this.requirementRepository = requirementRepository;
+    this.taskItemRepository = taskItemRepository;
+    this.dictItemRepository = dictItemRepository;
+    this.requirementProgress = requirementProgress;
+    this.compactAfterMillis = compactAfterMillis;
+  }
+
+  /** Where a client that has just loaded everything should start polling from. */
+  public long head() {
+    Long head =
+        jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from change_log", Long.class);
+    return head != null ? head : 0;
+  }
+
+  /** Latest change per row after {@code since}, oldest first, with each row's current state. */
+  public ChangeFeed since(long since, int limit) {
+    if (since < 0) {
+      throw new IllegalArgumentException("since 不能为负数");
+    }
+    int clamped = Math.max(1, Math.min(limit, MAX_LIMIT));
+    List<Entry> entries =
+        jdbcTemplate.query(
+            "select seq, entity, entity_id, op from change_log where seq > ? order by seq limit ?",
+            (rs, rowNum) ->
+                new Entry(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4)),
+            since,
+            clamped + 1);
+
+    Map<String, Entry> latest = new LinkedHashMap<>();
+    long next = since;
+    boolean hasMore = false;
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+      if (i == clamped) {
+        hasMore = true;
+        break;
+      }
+      String key = entry.entity + ":" + entry.id;
+      latest.remove(key);
+      latest.put(key, entry);
+      next = entry.seq;
+    }
+
+    Map<String, List<Long>> upserted = new HashMap<>();
+    for (Entry entry : latest.values()) {
+      if (entry.op.equals(ChangeLog.UPSERT)) {
+        upserted.computeIfAbsent(entry.entity, key -> new ArrayList<>()).add(entry.id);
+      }
+    }
+    Map<String, Map<Long, Object>> rows = new HashMap<>();
+    upserted.forEach((entity, ids) -> rows.put(entity, load(entity, ids)));
+    List<ChangeRecord> changes = new ArrayList<>(latest.size());
+    for (Entry entry : latest.values()) {
+      Object data = rows.getOrDefault(entry.entity, Map.of()).get(entry.id);
+      // Deleted after this change was logged; the delete itself is further on in the log.
+      String op = data != null ? ChangeLog.UPSERT : ChangeLog.DELETE;
+      changes.add(new ChangeRecord(entry.seq, entry.entity, entry.id, op, data));
+    }
+    return new ChangeFeed(changes, next, hasMore);
+  }
+
+  /**
+   * Drops log rows older than {@code compact-after-ms} that a newer row for the same entity
+   * supersedes. Clients only ever need the latest change per row, so any {@code since} still
+   * works afterwards; the table stays about as large as the set of rows ever written.
+   */
+  @Scheduled(
+      fixedDelayString = "${rdmanage.changes.compact-interval-ms:600000}",
+      initialDelayString = "${rdmanage.changes.compact-interval-ms:600000}")
+  public int compact() {
+    Long upTo =
+        jdbcTemplate.queryForObject(
+            "select max(seq) from change_log where changed_at < ?",
+            Long.class,
+            ago(compactAfterMillis));
+    Long from = jdbcTemplate.queryForObject("select min(seq) from change_log", Long.class);
+    if (upTo == null || from == null) {
+      return 0;
+    }
+    int removed = 0;
+    for (long low = from; low <= upTo; low += COMPACT_RANGE) {
+      removed +=
+          jdbcTemplate.update(
+              "delete c from change_log c join change_log newer"
+                  + " on newer.entity = c.entity and newer.entity_id = c.entity_id"
+                  + " and newer.seq > c.seq"
+                  + " where c.seq between ? and ?",
+              low,
+              Math.min(upTo, low + COMPACT_RANGE - 1));
+    }
+    return removed;
+  }
+
+  private Map<Long, Object> load(String entity, List<Long> ids) {
+    Map<Long, Object> rows = new HashMap<>();
+    switch (entity) {
+      case ChangeLog.PRODUCT ->
+          productRepository.findAllById(ids).forEach(row -> rows.put(row.getId(), row));
+      case ChangeLog.MODULE ->
+          productModuleRepository.findAllById(ids).forEach(row -> rows.put(row.getId(), row));
+      case ChangeLog.VERSION ->
+          versionRepository.findAllById(ids).forEach(row -> rows.put(row.getId(), row));
+      case ChangeLog.REQUIREMENT ->
+          requirementProgress
+              .attach(requirementRepository.findAllById(ids))
+              .forEach(row -> rows.put(row.getId(), row));
+      case ChangeLog.TASK ->
+          taskItemRepository.findAllById(ids).forEach(row -> rows.put(row.getId(), row));
+      case ChangeLog.DICT ->
+          dictItemRepository.findAllById(ids).forEach(row -> rows.put(row.getId(), row));
+      default -> {}
+    }
+    return rows;
+  }
+
+  private static Timestamp ago(long millis) {
+    return Timestamp.valueOf(LocalDateTime.now().minus(Duration.ofMillis(millis)));
+  }
+
+  private static final class Entry {
+    final long seq;
+    final String entity;
+    final long id;
+    final String op;
+
+    Entry(long seq, String entity, long id, String op) {
+      this.seq = seq;
+      this.entity = entity;
+      this.id = id;
+      this.op = op;
+    }
+  }
+}
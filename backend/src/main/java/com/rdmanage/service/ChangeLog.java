@@ -0,0 +1,128 @@
+package com.rdmanage.service;
+
+import jakarta.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Appends to {@code change_log} inside the caller's transaction, so a change is recorded exactly
+ * when the write it describes commits. Read back by {@link ChangeFeedService}.
+ *
+ * <p>Changes are buffered until just before commit and then numbered from the single
+ * {@code change_log_seq} row. Its row lock is held until the transaction ends, so sequence
+ * numbers are handed out in commit order without holes: whatever part of the log a reader can
+ * see is always a complete prefix.
+ */
+@Service
+public class ChangeLog {
+  public static final String PRODUCT = "product";
+  public static final String MODULE = "module";
+  public static final String VERSION = "version";
+  public static final String REQUIREMENT = "requirement";
+  public static final String TASK = "task";
+  public static final String DICT = "dict";
+
+  static final String UPSERT = "UPSERT";
+  static final String DELETE = "DELETE";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManager entityManager;
+
+  public ChangeLog(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManager = entityManager;
+  }
+
+  public void upserted(String entity, Long id) {
+    record(entity, List.of(id), UPSERT);
+  }
+
+  public void upserted(String entity, Collection<Long> ids) {
+    record(entity, ids, UPSERT);
+  }
+
+  public void deleted(String entity, Long id) {
+    record(entity, List.of(id), DELETE);
+  }
+
+  private void record(String entity, Collection<Long> ids, String op) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      Pending pending = new Pending();
+      pending.add(entity, ids, op);
+      write(pending.rows);
+      return;
+    }
+    pending().add(entity, ids, op);
+  }
+
+  private Pending pending() {
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof Pending pending && pending.owner() == this) {
+        return pending;
+      }
+    }
+    Pending pending = new Pending();
+    TransactionSynchronizationManager.registerSynchronization(pending);
+    return pending;
+  }
+
+  private void write(List<Object[]> rows) {
+    long last = reserve(rows.size());
+    long seq = last - rows.size();
+    for (Object[] row : rows) {
+      row[0] = ++seq;
+    }
+    jdbcTemplate.batchUpdate(
+        "insert into change_log (seq, entity, entity_id, op, changed_at) values (?, ?, ?, ?, ?)",
+        rows);
+  }
+
+  /** Locks the counter row for the rest of the transaction and returns the last number taken. */
+  private long reserve(int count) {
+    String bump = "update change_log_seq set next_val = next_val + ? where id = 1";
+    if (jdbcTemplate.update(bump, count) == 0) {
+      try {
+        jdbcTemplate.update(
+            "insert into change_log_seq (id, next_val)"
+                + " select 1, coalesce(max(seq), 0) from change_log");
+      } catch (DuplicateKeyException e) {
+        // Another transaction created it first.
+      }
+      jdbcTemplate.update(bump, count);
+    }
+    return jdbcTemplate.queryForObject(
+        "select next_val from change_log_seq where id = 1", Long.class);
+  }
+
+  private final class Pending implements TransactionSynchronization {
+    final List<Object[]> rows = new ArrayList<>();
+
+    ChangeLog owner() {
+      return ChangeLog.this;
+    }
+
+    void add(String entity, Collection<Long> ids, String op) {
+      Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+      ids.forEach(id -> rows.add(new Object[] {null, entity, id, op, now}));
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      // Flush first so the counter lock is not held while the entity writes wait on row locks.
+      entityManager.flush();
+      write(rows);
+    }
+  }
+}
@@ -3,42 +3,85 @@ package com.rdmanage.service;
 import com.rdmanage.dto.DictItemRequest;
 import com.rdmanage.model.DictItem;
 import com.rdmanage.repository.DictItemRepository;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class DictService {
   private final DictItemRepository dictItemRepository;
+  private final ChangeLog changeLog;
+  private final AtomicLong versions = new AtomicLong();
+  // A lock rather than synchronized: reload() queries while holding it, and a monitor would pin
+  // the carrier of a virtual thread for the whole query.
+  private final ReentrantLock reloadLock = new ReentrantLock();
+  private volatile DictSnapshot snapshot;
 
-  public DictService(DictItemRepository dictItemRepository) {
+  public DictService(DictItemRepository dictItemRepository, ChangeLog changeLog) {
     this.dictItemRepository = dictItemRepository;
+    this.changeLog = changeLog;
   }
 
-  public List<DictItem> listAll() {
-    return dictItemRepository.findAll();
+  /**
+   * Current dictionary. Loaded once and then replaced only by this service's writes, so reads
+   * cost no database traffic.
+   */
+  public DictSnapshot snapshot() {
+    DictSnapshot current = snapshot;
+    if (current == null) {
+      reloadLock.lock();
+      try {
+        current = snapshot != null ? snapshot : reload();
+      } finally {
+        reloadLock.unlock();
+      }
+    }
+    return current;
   }
 
+  @Transactional
   public DictItem create(DictItemRequest request) {
     DictItem item = new DictItem();
     applyRequest(item, request);
-    return dictItemRepository.save(item);
+    DictItem saved = dictItemRepository.save(item);
+    changeLog.upserted(ChangeLog.DICT, saved.getId());
+    TransactionHooks.afterCommit(this::reload);
+    return saved;
   }
 
+  @Transactional
   public DictItem update(Long id, DictItemRequest request) {
     DictItem item = dictItemRepository
         .findById(id)
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "字典不存在"));
     applyRequest(item, request);
-    return dictItemRepository.save(item);
+    DictItem saved = dictItemRepository.save(item);
+    changeLog.upserted(ChangeLog.DICT, saved.getId());
+    TransactionHooks.afterCommit(this::reload);
+    return saved;
   }
 
+  @Transactional
   public void delete(Long id) {
     if (!dictItemRepository.existsById(id)) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "字典不存在");
     }
     dictItemRepository.deleteById(id);
+    changeLog.deleted(ChangeLog.DICT, id);
+    TransactionHooks.afterCommit(this::reload);
+  }
+
+  private DictSnapshot reload() {
+    reloadLock.lock();
+    try {
+      snapshot = new DictSnapshot(versions.incrementAndGet(), dictItemRepository.findAll());
+      return snapshot;
+    } finally {
+      reloadLock.unlock();
+    }
   }
 
   private void applyRequest(DictItem item, DictItemRequest request) {
@@ -0,0 +1,65 @@
+package com.rdmanage.service;
+
+import com.rdmanage.model.DictItem;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Immutable, pre-sorted view of every dictionary item, tagged with a version number. */
+public final class DictSnapshot {
+  private static final Comparator<DictItem> ORDER =
+      Comparator.comparing(DictItem::getDictType, Comparator.nullsLast(Comparator.naturalOrder()))
+          .thenComparing(item -> item.getSortOrder() == null ? 0 : item.getSortOrder())
+          .thenComparing(DictItem::getId);
+
+  private final long version;
+  private final List<DictItem> all;
+  private final List<DictItem> active;
+  private final Map<String, List<DictItem>> allByType;
+  private final Map<String, List<DictItem>> activeByType;
+
+  public DictSnapshot(long version, List<DictItem> items) {
+    List<DictItem> sorted = new ArrayList<>(items);
+    sorted.sort(ORDER);
+    Map<String, List<DictItem>> allByType = new LinkedHashMap<>();
+    Map<String, List<DictItem>> activeByType = new LinkedHashMap<>();
+    List<DictItem> active = new ArrayList<>();
+    for (DictItem item : sorted) {
+      allByType.computeIfAbsent(item.getDictType(), key -> new ArrayList<>()).add(item);
+      if (isActive(item)) {
+        active.add(item);
+        activeByType.computeIfAbsent(item.getDictType(), key -> new ArrayList<>()).add(item);
+      }
+    }
+    this.version = version;
+    this.all = List.copyOf(sorted);
+    this.active = List.copyOf(active);
+    this.allByType = freeze(allByType);
+    this.activeByType = freeze(activeByType);
+  }
+
+  private static boolean isActive(DictItem item) {
+    return item.getIsActive() != null && item.getIsActive() == 1;
+  }
+
+  private static Map<String, List<DictItem>> freeze(Map<String, List<DictItem>> byType) {
+    Map<String, List<DictItem>> frozen = new LinkedHashMap<>();
+    byType.forEach((type, items) -> frozen.put(type, List.copyOf(items)));
+    return frozen;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  /** Items of {@code type} (all types when null), ordered by type, sortOrder, id. */
+  public List<DictItem> items(String type, boolean includeInactive) {
+    if (type == null || type.isBlank()) {
+      return includeInactive ? all : active;
+    }
+    Map<String, List<DictItem>> byType = includeInactive ? allByType : activeByType;
+    return byType.getOrDefault(type, List.of());
+  }
+}
@@ -0,0 +1,45 @@
+package com.rdmanage.service;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Set of entity ids. Sequence-generated ids are dense and small, so a {@link BitSet} holds them in
+ * about one bit each; anything outside int range goes to a plain set. Not thread-safe.
+ */
+final class IdBitmap {
+  private final BitSet dense = new BitSet();
+  private final Set<Long> sparse = new HashSet<>();
+
+  boolean contains(Long id) {
+    if (id == null) {
+      return false;
+    }
+    return fits(id) ? dense.get(id.intValue()) : sparse.contains(id);
+  }
+
+  void add(long id) {
+    if (fits(id)) {
+      dense.set((int) id);
+    } else {
+      sparse.add(id);
+    }
+  }
+
+  void remove(long id) {
+    if (fits(id)) {
+      dense.clear((int) id);
+    } else {
+      sparse.remove(id);
+    }
+  }
+
+  int size() {
+    return dense.cardinality() + sparse.size();
+  }
+
+  private static boolean fits(long id) {
+    return id >= 0 && id < Integer.MAX_VALUE;
+  }
+}
@@ -0,0 +1,81 @@
+package com.rdmanage.service;
+
+import com.rdmanage.dto.CursorPage;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Opaque position in a list ordered by {@code (updated_at desc, id desc)}. Clients only ever see
+ * the encoded form and pass it back unchanged as {@code cursor}.
+ */
+public final class KeysetCursor {
+  public static final int DEFAULT_LIMIT = 50;
+  public static final int MAX_LIMIT = 500;
+
+  private final LocalDateTime updatedAt;
+  private final Long id;
+
+  public KeysetCursor(LocalDateTime updatedAt, Long id) {
+    this.updatedAt = updatedAt;
+    this.id = id;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String encode() {
+    String raw = updatedAt + "|" + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static KeysetCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int sep = raw.indexOf('|');
+      if (sep < 0) {
+        throw new IllegalArgumentException("分页游标无效");
+      }
+      return new KeysetCursor(
+          LocalDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      throw new IllegalArgumentException("分页游标无效", ex);
+    }
+  }
+
+  /** Fetches one row past the page size so {@code hasMore} needs no extra count query. */
+  public static Pageable window(int limit) {
+    return PageRequest.of(0, clamp(limit) + 1);
+  }
+
+  public static int clamp(int limit) {
+    if (limit < 1) {
+      return DEFAULT_LIMIT;
+    }
+    return Math.min(limit, MAX_LIMIT);
+  }
+
+  public static <T> CursorPage<T> page(
+      List<T> rows, int limit, Function<T, KeysetCursor> position, Long approxTotal) {
+    int size = clamp(limit);
+    boolean hasMore = rows.size() > size;
+    List<T> items = hasMore ? List.copyOf(rows.subList(0, size)) : rows;
+    String next = hasMore ? position.apply(items.get(items.size() - 1)).encode() : null;
+    return new CursorPage<>(items, next, hasMore, approxTotal);
+  }
+}
@@ -0,0 +1,71 @@
+package com.rdmanage.service;
+
+import com.rdmanage.dto.ModuleTreeNode;
+import com.rdmanage.model.ProductModule;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Immutable module hierarchy of one product, rebuilt as a whole whenever a module changes. */
+public final class ModuleTree {
+  private static final Comparator<ProductModule> ORDER =
+      Comparator.comparing(
+              (ProductModule module) -> module.getSortOrder() == null ? 0 : module.getSortOrder())
+          .thenComparing(ProductModule::getId);
+
+  private final List<ModuleTreeNode> roots;
+  private final Map<Long, ModuleTreeNode> byId;
+
+  private ModuleTree(List<ModuleTreeNode> roots, Map<Long, ModuleTreeNode> byId) {
+    this.roots = roots;
+    this.byId = byId;
+  }
+
+  public static ModuleTree build(List<ProductModule> modules) {
+    Map<Long, List<ProductModule>> childrenOf = new HashMap<>();
+    List<ProductModule> top = new ArrayList<>();
+    Map<Long, ProductModule> present = new HashMap<>();
+    modules.forEach(module -> present.put(module.getId(), module));
+    for (ProductModule module : modules) {
+      // Orphans (parent deleted or moved to another product) still show up, at the top level.
+      if (module.getParentId() == null || !present.containsKey(module.getParentId())) {
+        top.add(module);
+      } else {
+        childrenOf.computeIfAbsent(module.getParentId(), key -> new ArrayList<>()).add(module);
+      }
+    }
+    Map<Long, ModuleTreeNode> byId = new HashMap<>();
+    List<ModuleTreeNode> roots = assemble(top, childrenOf, byId, 0);
+    return new ModuleTree(roots, Map.copyOf(byId));
+  }
+
+  private static List<ModuleTreeNode> assemble(
+      List<ProductModule> modules,
+      Map<Long, List<ProductModule>> childrenOf,
+      Map<Long, ModuleTreeNode> byId,
+      int depth) {
+    List<ProductModule> sorted = new ArrayList<>(modules);
+    sorted.sort(ORDER);
+    List<ModuleTreeNode> nodes = new ArrayList<>(sorted.size());
+    for (ProductModule module : sorted) {
+      List<ProductModule> children = childrenOf.getOrDefault(module.getId(), List.of());
+      // The depth guard only matters for corrupt data with a parent cycle.
+      List<ModuleTreeNode> childNodes =
+          depth < 8 ? assemble(children, childrenOf, byId, depth + 1) : List.of();
+      ModuleTreeNode node = new ModuleTreeNode(module, childNodes);
+      byId.put(node.getId(), node);
+      nodes.add(node);
+    }
+    return List.copyOf(nodes);
+  }
+
+  public List<ModuleTreeNode> getRoots() {
+    return roots;
+  }
+
+  public ModuleTreeNode find(Long id) {
+    return id == null ? null : byId.get(id);
+  }
+}
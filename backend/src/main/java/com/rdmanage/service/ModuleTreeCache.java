@@ -0,0 +1,76 @@
+package com.rdmanage.service;
+
+import com.rdmanage.repository.ProductModuleRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-product {@link ModuleTree}s. Readers get whatever snapshot is current; loads and rebuilds
+ * run one at a time under {@code loadLock}, so an older load never replaces a newer one. A lock
+ * rather than the map's {@code compute}, which would run the query inside a bin monitor and pin
+ * a virtual thread's carrier. Only committed state is cached: a write transaction that misses
+ * builds a tree for itself alone, since its query would see the transaction's own pending
+ * changes.
+ */
+@Component
+public class ModuleTreeCache {
+  private final ProductModuleRepository productModuleRepository;
+  private final Map<Long, ModuleTree> trees = new ConcurrentHashMap<>();
+  private final ReentrantLock loadLock = new ReentrantLock();
+
+  public ModuleTreeCache(ProductModuleRepository productModuleRepository) {
+    this.productModuleRepository = productModuleRepository;
+  }
+
+  public ModuleTree get(Long productId) {
+    ModuleTree cached = trees.get(productId);
+    if (cached != null) {
+      return cached;
+    }
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return load(productId);
+    }
+    loadLock.lock();
+    try {
+      cached = trees.get(productId);
+      return cached != null ? cached : reload(productId);
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  /** Rebuilds once the module write in the current transaction has committed. */
+  public void refresh(Long productId) {
+    if (productId != null) {
+      TransactionHooks.afterCommit(
+          () -> {
+            loadLock.lock();
+            try {
+              reload(productId);
+            } finally {
+              loadLock.unlock();
+            }
+          });
+    }
+  }
+
+  public void evict(Long productId) {
+    if (productId != null) {
+      TransactionHooks.afterCommit(() -> trees.remove(productId));
+    }
+  }
+
+  private ModuleTree reload(Long productId) {
+    ModuleTree tree = load(productId);
+    trees.put(productId, tree);
+    return tree;
+  }
+
+  private ModuleTree load(Long productId) {
+    return ModuleTree.build(productModuleRepository.findByProductId(productId));
+  }
+}
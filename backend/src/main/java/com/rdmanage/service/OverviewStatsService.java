@@ -0,0 +1,178 @@
+package com.rdmanage.service;
+
+import com.rdmanage.dto.OverviewStats;
+import com.rdmanage.model.Requirement;
+import com.rdmanage.model.TaskItem;
+import com.rdmanage.model.VersionInfo;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OverviewStatsService {
+  private static final Set<String> HIGH_PRIORITIES = Set.of("HIGH", "URGENT");
+  private static final Set<String> CLOSED_VERSION_STATUSES = Set.of("RELEASED", "DEPRECATED");
+
+  private final EntityManager entityManager;
+  private final ExecutorService refreshExecutor;
+  private final StaleWhileRevalidateCache<Scope, OverviewStats> cache;
+  private final Duration fresh;
+  private final Duration maxStale;
+
+  public OverviewStatsService(
+      EntityManager entityManager,
+      @Value("${rdmanage.overview.fresh-seconds:10}") long freshSeconds,
+      @Value("${rdmanage.overview.stale-seconds:120}") long staleSeconds) {
+    this.entityManager = entityManager;
+    this.fresh = Duration.ofSeconds(freshSeconds);
+    this.maxStale = Duration.ofSeconds(staleSeconds);
+    this.refreshExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "overview-stats-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.cache =
+        new StaleWhileRevalidateCache<>(this::compute, refreshExecutor, fresh, maxStale, 256);
+  }
+
+  public OverviewStats get(Long productId, Long moduleId) {
+    return cache.get(new Scope(productId, moduleId));
+  }
+
+  public Duration getFresh() {
+    return fresh;
+  }
+
+  public Duration getMaxStale() {
+    return maxStale;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  private OverviewStats compute(Scope scope) {
+    OverviewStats stats = new OverviewStats();
+    stats.setProductId(scope.productId);
+    stats.setModuleId(scope.moduleId);
+
+    Map<String, Long> versionsByStatus = countBy(VersionInfo.class, "status", scope);
+    stats.setVersionsByStatus(versionsByStatus);
+    stats.setTotalVersions(sum(versionsByStatus));
+    stats.setInProgressVersions(
+        versionsByStatus.entrySet().stream()
+            .filter(e -> !CLOSED_VERSION_STATUSES.contains(e.getKey()))
+            .mapToLong(Map.Entry::getValue)
+            .sum());
+
+    Map<String, Long> requirementsByStatus = new TreeMap<>();
+    Map<String, Long> requirementsByPriority = new TreeMap<>();
+    for (Object[] row : groupCount(Requirement.class, scope, "status", "priority")) {
+      long count = (Long) row[2];
+      requirementsByStatus.merge(String.valueOf(row[0]), count, Long::sum);
+      requirementsByPriority.merge(String.valueOf(row[1]), count, Long::sum);
+    }
+    stats.setRequirementsByStatus(requirementsByStatus);
+    stats.setRequirementsByPriority(requirementsByPriority);
+    stats.setTotalRequirements(sum(requirementsByStatus));
+    stats.setDoneRequirements(requirementsByStatus.getOrDefault("DONE", 0L));
+    stats.setHighPriorityRequirements(
+        requirementsByPriority.entrySet().stream()
+            .filter(e -> HIGH_PRIORITIES.contains(e.getKey()))
+            .mapToLong(Map.Entry::getValue)
+            .sum());
+
+    Map<String, Long> tasksByStatus = countBy(TaskItem.class, "status", scope);
+    stats.setTasksByStatus(tasksByStatus);
+    stats.setTotalTasks(sum(tasksByStatus));
+    stats.setPendingTasks(stats.getTotalTasks() - tasksByStatus.getOrDefault("DONE", 0L));
+    stats.setBlockedTasks(tasksByStatus.getOrDefault("BLOCKED", 0L));
+
+    stats.setGeneratedAt(LocalDateTime.now());
+    return stats;
+  }
+
+  private Map<String, Long> countBy(Class<?> type, String attribute, Scope scope) {
+    Map<String, Long> counts = new TreeMap<>();
+    for (Object[] row : groupCount(type, scope, attribute)) {
+      counts.put(String.valueOf(row[0]), (Long) row[1]);
+    }
+    return counts;
+  }
+
+  /** {@code select a1, a2, ..., count(*) from type where scope group by a1, a2, ...}. */
+  private List<Object[]> groupCount(Class<?> type, Scope scope, String... attributes) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+    Root<?> root = query.from(type);
+    List<Expression<?>> groups = new ArrayList<>();
+    for (String attribute : attributes) {
+      groups.add(root.get(attribute));
+    }
+    List<Selection<?>> selections = new ArrayList<>(groups);
+    selections.add(cb.count(root));
+    query.multiselect(selections).groupBy(groups);
+    List<Predicate> where = new ArrayList<>();
+    if (scope.productId != null) {
+      where.add(cb.equal(root.get("productId"), scope.productId));
+    }
+    if (scope.moduleId != null) {
+      where.add(cb.equal(root.get("moduleId"), scope.moduleId));
+    }
+    if (!where.isEmpty()) {
+      query.where(where.toArray(new Predicate[0]));
+    }
+    return entityManager.createQuery(query).getResultList();
+  }
+
+  private static long sum(Map<String, Long> counts) {
+    return counts.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  private static final class Scope {
+    private final Long productId;
+    private final Long moduleId;
+
+    private Scope(Long productId, Long moduleId) {
+      this.productId = productId;
+      this.moduleId = moduleId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Scope)) {
+        return false;
+      }
+      Scope scope = (Scope) other;
+      return Objects.equals(productId, scope.productId) && Objects.equals(moduleId, scope.moduleId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(productId, moduleId);
+    }
+  }
+}
@@ -1,23 +1,37 @@
 package com.rdmanage.service;
 
 import com.rdmanage.dto.CreateProductModuleRequest;
+import com.rdmanage.dto.ModuleTreeNode;
 import com.rdmanage.dto.UpdateProductModuleRequest;
-import com.rdmanage.model.Product;
 import com.rdmanage.model.ProductModule;
+import com.rdmanage.people.PeopleDirectory;
 import com.rdmanage.repository.ProductModuleRepository;
-import com.rdmanage.repository.ProductRepository;
 import java.util.List;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ProductModuleService {
-  private final ProductRepository productRepository;
   private final ProductModuleRepository productModuleRepository;
+  private final ModuleTreeCache moduleTreeCache;
+  private final ReferenceIndex referenceIndex;
+  private final TableVersions tableVersions;
+  private final PeopleDirectory peopleDirectory;
+  private final ChangeLog changeLog;
 
   public ProductModuleService(
-      ProductRepository productRepository, ProductModuleRepository productModuleRepository) {
-    this.productRepository = productRepository;
+      ProductModuleRepository productModuleRepository,
+      ModuleTreeCache moduleTreeCache,
+      ReferenceIndex referenceIndex,
+      TableVersions tableVersions,
+      PeopleDirectory peopleDirectory,
+      ChangeLog changeLog) {
     this.productModuleRepository = productModuleRepository;
+    this.moduleTreeCache = moduleTreeCache;
+    this.referenceIndex = referenceIndex;
+    this.tableVersions = tableVersions;
+    this.peopleDirectory = peopleDirectory;
+    this.changeLog = changeLog;
   }
 
   public List<ProductModule> list(Long productId, Long parentId) {
@@ -30,12 +44,17 @@ public class ProductModuleService {
     return productModuleRepository.findByProductIdAndParentId(productId, parentId);
   }
 
+  public List<ModuleTreeNode> tree(Long productId) {
+    return moduleTreeCache.get(productId).getRoots();
+  }
+
   public ProductModule get(Long id) {
     return productModuleRepository.findById(id).orElse(null);
   }
 
+  @Transactional
   public ProductModule create(CreateProductModuleRequest request) {
-    validateProduct(request.getProductId());
+    referenceIndex.requireProduct(request.getProductId());
     validateHierarchy(
         request.getProductId(), request.getParentId(), request.getLevel());
 
@@ -52,14 +71,30 @@ public class ProductModuleService {
             ? "ACTIVE"
             : request.getStatus());
     module.setDescription(request.getDescription());
-    return productModuleRepository.save(module);
+    ProductModule saved = productModuleRepository.save(module);
+    referenceIndex.moduleSaved(saved.getId(), saved.getProductId());
+    peopleDirectory.added(saved.getOwner());
+    moduleTreeCache.refresh(saved.getProductId());
+    changeLog.upserted(ChangeLog.MODULE, saved.getId());
+    tableVersions.bump(TableVersions.MODULE);
+    return saved;
   }
 
+  @Transactional
   public ProductModule update(Long id, UpdateProductModuleRequest request) {
     ProductModule module = productModuleRepository.findById(id).orElse(null);
     if (module == null) {
       return null;
     }
+    Long previousProductId = module.getProductId();
+    String previousOwner = module.getOwner();
+    // Validate before touching the managed entity, so no query sees the change half applied.
+    Long productId =
+        request.getProductId() != null ? request.getProductId() : module.getProductId();
+    Long parentId = request.getParentId() != null ? request.getParentId() : module.getParentId();
+    Integer level = request.getLevel() != null ? request.getLevel() : module.getLevel();
+    referenceIndex.requireProduct(productId);
+    validateHierarchy(productId, parentId, level);
     if (request.getProductId() != null) {
       module.setProductId(request.getProductId());
     }
@@ -87,27 +122,34 @@ public class ProductModuleService {
     if (request.getDescription() != null) {
       module.setDescription(request.getDescription());
     }
-    validateProduct(module.getProductId());
-    validateHierarchy(module.getProductId(), module.getParentId(), module.getLevel());
-    return productModuleRepository.save(module);
+    ProductModule saved = productModuleRepository.save(module);
+    referenceIndex.moduleSaved(saved.getId(), saved.getProductId());
+    peopleDirectory.changed(previousOwner, saved.getOwner());
+    if (!previousProductId.equals(saved.getProductId())) {
+      moduleTreeCache.refresh(previousProductId);
+    }
+    moduleTreeCache.refresh(saved.getProductId());
+    changeLog.upserted(ChangeLog.MODULE, saved.getId());
+    tableVersions.bump(TableVersions.MODULE);
+    return saved;
   }
 
+  @Transactional
   public boolean delete(Long id) {
-    if (!productModuleRepository.existsById(id)) {
+    ProductModule module = productModuleRepository.findById(id).orElse(null);
+    if (module == null) {
       return false;
     }
+    referenceIndex.moduleDeleted(id);
     productModuleRepository.deleteById(id);
+    peopleDirectory.removed(module.getOwner());
+    moduleTreeCache.refresh(module.getProductId());
+    changeLog.deleted(ChangeLog.MODULE, id);
+    tableVersions.bump(TableVersions.MODULE);
     return true;
   }
 
-  private void validateProduct(Long productId) {
-    Product product = productRepository.findById(productId).orElse(null);
-    if (product == null) {
-      throw new IllegalArgumentException("产品不存在");
-    }
-  }
-
-  private void validateHierarchy(Long productId, Long parentId, Integer level) {
+  void validateHierarchy(Long productId, Long parentId, Integer level) {
     if (level == null || level < 1 || level > 3) {
       throw new IllegalArgumentException("模块层级必须为1-3");
     }
@@ -120,12 +162,11 @@ public class ProductModuleService {
     if (parentId == null) {
       throw new IllegalArgumentException("二级/三级模块必须选择父级");
     }
-    ProductModule parent = productModuleRepository.findById(parentId).orElse(null);
+    ModuleTreeNode parent = moduleTreeCache.get(productId).find(parentId);
     if (parent == null) {
-      throw new IllegalArgumentException("父级模块不存在");
-    }
-    if (!parent.getProductId().equals(productId)) {
-      throw new IllegalArgumentException("父级模块不属于该产品");
+      // Not in this product's tree; only the error message needs the database.
+      throw new IllegalArgumentException(
+          productModuleRepository.existsById(parentId) ? "父级模块不属于该产品" : "父级模块不存在");
     }
     if (parent.getLevel() != level - 1) {
       throw new IllegalArgumentException("父级模块层级不匹配");
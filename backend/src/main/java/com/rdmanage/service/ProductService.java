@@ -3,19 +3,43 @@ package com.rdmanage.service;
 import com.rdmanage.dto.CreateProductRequest;
 import com.rdmanage.dto.UpdateProductRequest;
 import com.rdmanage.model.Product;
+import com.rdmanage.people.PeopleDirectory;
+import com.rdmanage.query.FilterFields;
+import com.rdmanage.query.FilterSpecifications;
 import com.rdmanage.repository.ProductRepository;
 import java.util.List;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ProductService {
   private final ProductRepository productRepository;
+  private final ModuleTreeCache moduleTreeCache;
+  private final ReferenceIndex referenceIndex;
+  private final TableVersions tableVersions;
+  private final PeopleDirectory peopleDirectory;
+  private final ChangeLog changeLog;
 
-  public ProductService(ProductRepository productRepository) {
+  public ProductService(
+      ProductRepository productRepository,
+      ModuleTreeCache moduleTreeCache,
+      ReferenceIndex referenceIndex,
+      TableVersions tableVersions,
+      PeopleDirectory peopleDirectory,
+      ChangeLog changeLog) {
     this.productRepository = productRepository;
+    this.moduleTreeCache = moduleTreeCache;
+    this.referenceIndex = referenceIndex;
+    this.tableVersions = tableVersions;
+    this.peopleDirectory = peopleDirectory;
+    this.changeLog = changeLog;
   }
 
-  public List<Product> list() {
+  public List<Product> list(String q) {
+    if (q != null && !q.isBlank()) {
+      return productRepository.findAll(
+          FilterSpecifications.<Product>compile(q, FilterFields.PRODUCT));
+    }
     return productRepository.findAll();
   }
 
@@ -23,6 +47,7 @@ public class ProductService {
     return productRepository.findById(id).orElse(null);
   }
 
+  @Transactional
   public Product create(CreateProductRequest request) {
     Product product = new Product();
     product.setCode(request.getCode());
@@ -33,14 +58,21 @@ public class ProductService {
             ? "ACTIVE"
             : request.getStatus());
     product.setDescription(request.getDescription());
-    return productRepository.save(product);
+    Product saved = productRepository.save(product);
+    referenceIndex.productCreated(saved.getId());
+    peopleDirectory.added(saved.getOwner());
+    changeLog.upserted(ChangeLog.PRODUCT, saved.getId());
+    tableVersions.bump(TableVersions.PRODUCT);
+    return saved;
   }
 
+  @Transactional
   public Product update(Long id, UpdateProductRequest request) {
     Product product = productRepository.findById(id).orElse(null);
     if (product == null) {
       return null;
     }
+    String previousOwner = product.getOwner();
     if (request.getName() != null) {
       product.setName(request.getName());
     }
@@ -53,14 +85,25 @@ public class ProductService {
     if (request.getDescription() != null) {
       product.setDescription(request.getDescription());
     }
-    return productRepository.save(product);
+    Product saved = productRepository.save(product);
+    peopleDirectory.changed(previousOwner, saved.getOwner());
+    changeLog.upserted(ChangeLog.PRODUCT, saved.getId());
+    tableVersions.bump(TableVersions.PRODUCT);
+    return saved;
   }
 
+  @Transactional
   public boolean delete(Long id) {
-    if (!productRepository.existsById(id)) {
+    Product product = productRepository.findById(id).orElse(null);
+    if (product == null) {
       return false;
     }
+    referenceIndex.productDeleted(id);
     productRepository.deleteById(id);
+    peopleDirectory.removed(product.getOwner());
+    moduleTreeCache.evict(id);
+    changeLog.deleted(ChangeLog.PRODUCT, id);
+    tableVersions.bump(TableVersions.PRODUCT);
     return true;
   }
 }
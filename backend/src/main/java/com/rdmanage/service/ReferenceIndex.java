@@ -0,0 +1,349 @@
+package com.rdmanage.service;
+
+import com.rdmanage.model.ProductModule;
+import com.rdmanage.repository.ProductModuleRepository;
+import com.rdmanage.repository.ProductRepository;
+import com.rdmanage.repository.RequirementRepository;
+import com.rdmanage.repository.VersionRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory existence index of products, modules (with their owning product), versions and
+ * requirements, so reference validation on the write path needs no queries.
+ *
+ * <p>Ids are added only once the creating transaction has committed and are removed before the
+ * row is deleted, so the index errs towards "unknown". A miss is therefore re-checked against the
+ * database before it is reported, which also heals the index after a failed delete.
+ *
+ * <p>A re-check can still see a row whose delete is about to commit. Deletes therefore remove the
+ * id again once they commit and count the removal; a re-check only records what it found if no
+ * removal committed since it started, so a deleted id cannot come back.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ReferenceIndex {
+  private static final int LOAD_CHUNK = 50_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ProductRepository productRepository;
+  private final ProductModuleRepository productModuleRepository;
+  private final VersionRepository versionRepository;
+  private final RequirementRepository requirementRepository;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final IdBitmap products = new IdBitmap();
+  private final IdBitmap versions = new IdBitmap();
+  private final IdBitmap requirements = new IdBitmap();
+  private final Map<Long, Long> moduleOwners = new HashMap<>();
+  private long removals;
+
+  public ReferenceIndex(
+      JdbcTemplate jdbcTemplate,
+      ProductRepository productRepository,
+      ProductModuleRepository productModuleRepository,
+      VersionRepository versionRepository,
+      RequirementRepository requirementRepository) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.productRepository = productRepository;
+    this.productModuleRepository = productModuleRepository;
+    this.versionRepository = versionRepository;
+    this.requirementRepository = requirementRepository;
+  }
+
+  @PostConstruct
+  public void load() {
+    loadIds("product", products);
+    loadIds("product_version", versions);
+    loadIds("requirement", requirements);
+    long after = -1;
+    while (true) {
+      List<Map<String, Object>> rows =
+          jdbcTemplate.queryForList(
+              "select id, product_id from product_module where id > ? order by id limit "
+                  + LOAD_CHUNK,
+              after);
+      lock.writeLock().lock();
+      try {
+        for (Map<String, Object> row : rows) {
+          Number productId = (Number) row.get("product_id");
+          moduleOwners.put(
+              ((Number) row.get("id")).longValue(),
+              productId != null ? productId.longValue() : null);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+      if (rows.size() < LOAD_CHUNK) {
+        return;
+      }
+      after = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+    }
+  }
+
+  private void loadIds(String table, IdBitmap target) {
+    long after = -1;
+    while (true) {
+      List<Long> ids =
+          jdbcTemplate.queryForList(
+              "select id from " + table + " where id > ? order by id limit " + LOAD_CHUNK,
+              Long.class,
+              after);
+      lock.writeLock().lock();
+      try {
+        ids.forEach(target::add);
+      } finally {
+        lock.writeLock().unlock();
+      }
+      if (ids.size() < LOAD_CHUNK) {
+        return;
+      }
+      after = ids.get(ids.size() - 1);
+    }
+  }
+
+  public String checkProduct(Long productId) {
+    if (productId == null || !productExists(productId)) {
+      return "产品不存在";
+    }
+    return null;
+  }
+
+  /** Same rules and messages as the old per-request lookups; returns null when valid. */
+  public String checkProductModule(Long productId, Long moduleId) {
+    String productError = checkProduct(productId);
+    if (productError != null) {
+      return productError;
+    }
+    if (moduleId == null) {
+      return "功能模块不能为空";
+    }
+    Long owner = moduleOwner(moduleId);
+    if (owner == null) {
+      return "功能模块不存在";
+    }
+    if (!owner.equals(productId)) {
+      return "功能模块不属于该产品";
+    }
+    return null;
+  }
+
+  public String checkVersion(Long versionId) {
+    if (versionId == null || !versionExists(versionId)) {
+      return "版本不存在";
+    }
+    return null;
+  }
+
+  public String checkRequirement(Long requirementId) {
+    if (requirementId == null || !requirementExists(requirementId)) {
+      return "需求不存在";
+    }
+    return null;
+  }
+
+  public void requireProduct(Long productId) {
+    require(checkProduct(productId));
+  }
+
+  public void requireProductModule(Long productId, Long moduleId) {
+    require(checkProductModule(productId, moduleId));
+  }
+
+  public void requireVersion(Long versionId) {
+    require(checkVersion(versionId));
+  }
+
+  public void requireRequirement(Long requirementId) {
+    require(checkRequirement(requirementId));
+  }
+
+  private static void require(String error) {
+    if (error != null) {
+      throw new IllegalArgumentException(error);
+    }
+  }
+
+  private boolean productExists(Long id) {
+    long stamp = stamp();
+    if (contains(products, id)) {
+      return true;
+    }
+    if (!productRepository.existsById(id)) {
+      return false;
+    }
+    learn(stamp, () -> products.add(id));
+    return true;
+  }
+
+  private boolean versionExists(Long id) {
+    long stamp = stamp();
+    if (contains(versions, id)) {
+      return true;
+    }
+    if (!versionRepository.existsById(id)) {
+      return false;
+    }
+    learn(stamp, () -> versions.add(id));
+    return true;
+  }
+
+  private boolean requirementExists(Long id) {
+    long stamp = stamp();
+    if (contains(requirements, id)) {
+      return true;
+    }
+    if (!requirementRepository.existsById(id)) {
+      return false;
+    }
+    learn(stamp, () -> requirements.add(id));
+    return true;
+  }
+
+  private Long moduleOwner(Long id) {
+    long stamp;
+    lock.readLock().lock();
+    try {
+      Long owner = moduleOwners.get(id);
+      if (owner != null) {
+        return owner;
+      }
+      stamp = removals;
+    } finally {
+      lock.readLock().unlock();
+    }
+    ProductModule module = productModuleRepository.findById(id).orElse(null);
+    if (module == null) {
+      return null;
+    }
+    learn(stamp, () -> moduleOwners.put(id, module.getProductId()));
+    return module.getProductId();
+  }
+
+  boolean knowsProduct(Long id) {
+    return contains(products, id);
+  }
+
+  boolean knowsVersion(Long id) {
+    return contains(versions, id);
+  }
+
+  boolean knowsRequirement(Long id) {
+    return contains(requirements, id);
+  }
+
+  Long knownModuleOwner(Long id) {
+    lock.readLock().lock();
+    try {
+      return moduleOwners.get(id);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Take before querying the database for ids to pass to {@link #confirm}. */
+  long stamp() {
+    lock.readLock().lock();
+    try {
+      return removals;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Records ids that a bulk query started at {@code stamp} found in the database. */
+  void confirm(
+      long stamp,
+      Collection<Long> productIds,
+      Map<Long, Long> owners,
+      Collection<Long> versionIds,
+      Collection<Long> requirementIds) {
+    learn(
+        stamp,
+        () -> {
+          productIds.forEach(products::add);
+          moduleOwners.putAll(owners);
+          versionIds.forEach(versions::add);
+          requirementIds.forEach(requirements::add);
+        });
+  }
+
+  public void productCreated(Long id) {
+    TransactionHooks.afterCommit(() -> write(() -> products.add(id)));
+  }
+
+  public void productDeleted(Long id) {
+    removed(() -> products.remove(id));
+  }
+
+  public void moduleSaved(Long id, Long productId) {
+    TransactionHooks.afterCommit(() -> write(() -> moduleOwners.put(id, productId)));
+  }
+
+  public void moduleDeleted(Long id) {
+    removed(() -> moduleOwners.remove(id));
+  }
+
+  public void versionCreated(Long id) {
+    TransactionHooks.afterCommit(() -> write(() -> versions.add(id)));
+  }
+
+  public void versionDeleted(Long id) {
+    removed(() -> versions.remove(id));
+  }
+
+  public void requirementsCreated(Collection<Long> ids) {
+    List<Long> copy = List.copyOf(ids);
+    TransactionHooks.afterCommit(() -> write(() -> copy.forEach(requirements::add)));
+  }
+
+  public void requirementDeleted(Long id) {
+    removed(() -> requirements.remove(id));
+  }
+
+  private boolean contains(IdBitmap ids, Long id) {
+    lock.readLock().lock();
+    try {
+      return ids.contains(id);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void removed(Runnable removal) {
+    write(removal);
+    TransactionHooks.afterCommit(
+        () ->
+            write(
+                () -> {
+                  removal.run();
+                  removals++;
+                }));
+  }
+
+  /** Applies what a re-check found, unless a delete has committed since it started. */
+  private void learn(long stamp, Runnable change) {
+    write(
+        () -> {
+          if (removals == stamp) {
+            change.run();
+          }
+        });
+  }
+
+  private void write(Runnable change) {
+    lock.writeLock().lock();
+    try {
+      change.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+}
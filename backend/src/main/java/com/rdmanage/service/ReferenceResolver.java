@@ -0,0 +1,153 @@
+package com.rdmanage.service;
+
+import com.rdmanage.repository.ProductModuleRepository;
+import com.rdmanage.repository.ProductRepository;
+import com.rdmanage.repository.RequirementRepository;
+import com.rdmanage.repository.VersionRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the references of a whole batch at once. Ids already in the {@link ReferenceIndex}
+ * cost nothing; the rest are looked up with a few IN queries and recorded in the index.
+ */
+@Component
+public class ReferenceResolver {
+  private static final int IN_CHUNK = 1000;
+
+  private final ReferenceIndex referenceIndex;
+  private final ProductRepository productRepository;
+  private final ProductModuleRepository productModuleRepository;
+  private final VersionRepository versionRepository;
+  private final RequirementRepository requirementRepository;
+
+  public ReferenceResolver(
+      ReferenceIndex referenceIndex,
+      ProductRepository productRepository,
+      ProductModuleRepository productModuleRepository,
+      VersionRepository versionRepository,
+      RequirementRepository requirementRepository) {
+    this.referenceIndex = referenceIndex;
+    this.productRepository = productRepository;
+    this.productModuleRepository = productModuleRepository;
+    this.versionRepository = versionRepository;
+    this.requirementRepository = requirementRepository;
+  }
+
+  public References resolve(Collection<Long> productIds, Collection<Long> moduleIds) {
+    return resolve(productIds, moduleIds, List.of(), List.of());
+  }
+
+  public References resolve(
+      Collection<Long> productIds,
+      Collection<Long> moduleIds,
+      Collection<Long> versionIds,
+      Collection<Long> requirementIds) {
+    References references = new References();
+    long stamp = referenceIndex.stamp();
+    List<Long> missingProducts =
+        split(productIds, referenceIndex::knowsProduct, references.products);
+    List<Long> missingVersions =
+        split(versionIds, referenceIndex::knowsVersion, references.versions);
+    List<Long> missingRequirements =
+        split(requirementIds, referenceIndex::knowsRequirement, references.requirements);
+    List<Long> missingModules = new ArrayList<>();
+    for (Long moduleId : distinct(moduleIds)) {
+      Long owner = referenceIndex.knownModuleOwner(moduleId);
+      if (owner != null) {
+        references.moduleOwners.put(moduleId, owner);
+      } else {
+        missingModules.add(moduleId);
+      }
+    }
+
+    List<Long> foundProducts = new ArrayList<>();
+    List<Long> foundVersions = new ArrayList<>();
+    List<Long> foundRequirements = new ArrayList<>();
+    Map<Long, Long> foundOwners = new HashMap<>();
+    inChunks(missingProducts, productRepository::findExistingIds, foundProducts::addAll);
+    inChunks(missingVersions, versionRepository::findExistingIds, foundVersions::addAll);
+    inChunks(
+        missingRequirements, requirementRepository::findExistingIds, foundRequirements::addAll);
+    inChunks(
+        missingModules,
+        productModuleRepository::findOwners,
+        rows -> rows.forEach(row -> foundOwners.put((Long) row[0], (Long) row[1])));
+    referenceIndex.confirm(stamp, foundProducts, foundOwners, foundVersions, foundRequirements);
+
+    references.products.addAll(foundProducts);
+    references.versions.addAll(foundVersions);
+    references.requirements.addAll(foundRequirements);
+    references.moduleOwners.putAll(foundOwners);
+    return references;
+  }
+
+  private static List<Long> split(
+      Collection<Long> ids, Predicate<Long> known, Set<Long> hits) {
+    List<Long> misses = new ArrayList<>();
+    for (Long id : distinct(ids)) {
+      if (known.test(id)) {
+        hits.add(id);
+      } else {
+        misses.add(id);
+      }
+    }
+    return misses;
+  }
+
+  private static List<Long> distinct(Collection<Long> ids) {
+    List<Long> distinct = new ArrayList<>(new HashSet<>(ids));
+    distinct.removeIf(Objects::isNull);
+    return distinct;
+  }
+
+  private static <R> void inChunks(
+      List<Long> ids, Function<Collection<Long>, List<R>> query, Consumer<List<R>> sink) {
+    for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+      sink.accept(query.apply(ids.subList(from, Math.min(from + IN_CHUNK, ids.size()))));
+    }
+  }
+
+  public static class References {
+    private final Set<Long> products = new HashSet<>();
+    private final Map<Long, Long> moduleOwners = new HashMap<>();
+    private final Set<Long> versions = new HashSet<>();
+    private final Set<Long> requirements = new HashSet<>();
+
+    /** Same rules and messages as the per-row validation; returns null when valid. */
+    public String checkProductModule(Long productId, Long moduleId) {
+      if (productId == null || !products.contains(productId)) {
+        return "产品不存在";
+      }
+      if (moduleId == null) {
+        return "功能模块不能为空";
+      }
+      Long owner = moduleOwners.get(moduleId);
+      if (owner == null) {
+        return "功能模块不存在";
+      }
+      if (!owner.equals(productId)) {
+        return "功能模块不属于该产品";
+      }
+      return null;
+    }
+
+    public String checkVersion(Long versionId) {
+      return versionId != null && versions.contains(versionId) ? null : "版本不存在";
+    }
+
+    public String checkRequirement(Long requirementId) {
+      return requirementId != null && requirements.contains(requirementId) ? null : "需求不存在";
+    }
+  }
+}
@@ -0,0 +1,301 @@
+package com.rdmanage.service;
+
+import com.rdmanage.model.Requirement;
+import com.rdmanage.model.RequirementProgress;
+import com.rdmanage.model.TaskItem;
+import com.rdmanage.model.TaskStatus;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps {@code requirement_progress} in step with {@code task_item}. Task writes add their
+ * {@link Changes} in the same transaction; a periodic re-check recomputes any requirement whose
+ * counters have drifted (a write that bypassed the service, a lost update).
+ */
+@Service
+public class RequirementProgressService {
+  private static final String COLUMNS =
+      "requirement_id, task_count, todo_count, in_progress_count, blocked_count, done_count,"
+          + " estimate_hours_total, estimate_hours_done";
+  private static final String AGGREGATE =
+      "select requirement_id, count(*),"
+          + " sum(case when status = 'TODO' then 1 else 0 end),"
+          + " sum(case when status = 'IN_PROGRESS' then 1 else 0 end),"
+          + " sum(case when status = 'BLOCKED' then 1 else 0 end),"
+          + " sum(case when status = 'DONE' then 1 else 0 end),"
+          + " coalesce(sum(estimate_hours), 0),"
+          + " coalesce(sum(case when status = 'DONE' then estimate_hours else 0 end), 0)"
+          + " from task_item";
+  private static final String GROUP = " group by requirement_id";
+  private static final String STORED = "select " + COLUMNS + " from requirement_progress";
+  // Selects from requirement so a delta for a deleted requirement inserts nothing; the shared lock
+  // this takes on the requirement row also orders it against a concurrent delete.
+  private static final String ADD_DELTA =
+      "insert into requirement_progress ("
+          + COLUMNS
+          + ") select ?, ?, ?, ?, ?, ?, ?, ? from requirement where id = ?"
+          + " on duplicate key update"
+          + " task_count = task_count + values(task_count),"
+          + " todo_count = todo_count + values(todo_count),"
+          + " in_progress_count = in_progress_count + values(in_progress_count),"
+          + " blocked_count = blocked_count + values(blocked_count),"
+          + " done_count = done_count + values(done_count),"
+          + " estimate_hours_total = estimate_hours_total + values(estimate_hours_total),"
+          + " estimate_hours_done = estimate_hours_done + values(estimate_hours_done)";
+  private static final int COUNTERS = 7;
+  private static final int IN_LIST = 1_000;
+  private static final long[] ZERO = new long[COUNTERS];
+  private static final RowMapper<RequirementProgress> PROGRESS =
+      (rs, rowNum) -> {
+        RequirementProgress progress = new RequirementProgress();
+        progress.setRequirementId(rs.getLong(1));
+        progress.setTaskCount(rs.getInt(2));
+        progress.setTodoCount(rs.getInt(3));
+        progress.setInProgressCount(rs.getInt(4));
+        progress.setBlockedCount(rs.getInt(5));
+        progress.setDoneCount(rs.getInt(6));
+        progress.setEstimateHoursTotal(rs.getLong(7));
+        progress.setEstimateHoursDone(rs.getLong(8));
+        return progress;
+      };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ChangeLog changeLog;
+  private final TableVersions tableVersions;
+  private final TransactionTemplate transaction;
+  private final int recheckChunk;
+
+  public RequirementProgressService(
+      JdbcTemplate jdbcTemplate,
+      ChangeLog changeLog,
+      TableVersions tableVersions,
+      PlatformTransactionManager transactionManager,
+      @Value("${rdmanage.progress.recheck-chunk:5000}") int recheckChunk) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.changeLog = changeLog;
+    this.tableVersions = tableVersions;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.recheckChunk = recheckChunk;
+  }
+
+  /** Counter deltas for a set of task writes, netted per requirement. */
+  public static final class Changes {
+    private final Map<Long, long[]> deltas = new TreeMap<>();
+
+    public Changes add(TaskItem task) {
+      return apply(task.getRequirementId(), task.getStatus(), task.getEstimateHours(), 1);
+    }
+
+    public Changes remove(Contribution before) {
+      return apply(before.requirementId, before.status, before.estimateHours, -1);
+    }
+
+    public Changes remove(TaskItem task) {
+      return remove(Contribution.of(task));
+    }
+
+    private Changes apply(Long requirementId, String status, Integer estimateHours, int sign) {
+      if (requirementId == null) {
+        return this;
+      }
+      long[] delta = deltas.computeIfAbsent(requirementId, id -> new long[COUNTERS]);
+      long hours = estimateHours != null ? estimateHours : 0;
+      delta[0] += sign;
+      int statusColumn = statusColumn(status);
+      if (statusColumn > 0) {
+        delta[statusColumn] += sign;
+      }
+      delta[5] += sign * hours;
+      if (TaskStatus.DONE.name().equals(status)) {
+        delta[6] += sign * hours;
+      }
+      return this;
+    }
+  }
+
+  /** What a task counted for before an update changed it. */
+  public static final class Contribution {
+    private final Long requirementId;
+    private final String status;
+    private final Integer estimateHours;
+
+    private Contribution(Long requirementId, String status, Integer estimateHours) {
+      this.requirementId = requirementId;
+      this.status = status;
+      this.estimateHours = estimateHours;
+    }
+
+    public static Contribution of(TaskItem task) {
+      return new Contribution(task.getRequirementId(), task.getStatus(), task.getEstimateHours());
+    }
+  }
+
+  /**
+   * Applies the deltas with one upsert per requirement, in requirement id order so concurrent
+   * writers lock rows in the same order. Joins the caller's transaction. The requirements are
+   * logged as changed too, since their {@code progress} is part of what the change feed serves.
+   */
+  public void apply(Changes changes) {
+    List<Object[]> rows = new ArrayList<>(changes.deltas.size());
+    List<Long> changed = new ArrayList<>(changes.deltas.size());
+    for (Map.Entry<Long, long[]> entry : changes.deltas.entrySet()) {
+      long[] delta = entry.getValue();
+      if (Arrays.equals(delta, ZERO)) {
+        continue;
+      }
+      Object[] row = new Object[COUNTERS + 2];
+      row[0] = entry.getKey();
+      for (int i = 0; i < COUNTERS; i++) {
+        row[i + 1] = delta[i];
+      }
+      row[COUNTERS + 1] = entry.getKey();
+      rows.add(row);
+      changed.add(entry.getKey());
+    }
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(ADD_DELTA, rows);
+      changeLog.upserted(ChangeLog.REQUIREMENT, changed);
+    }
+  }
+
+  public void requirementDeleted(Long requirementId) {
+    jdbcTemplate.update("delete from requirement_progress where requirement_id = ?", requirementId);
+  }
+
+  /** Sets {@code progress} on each requirement, one query per {@value #IN_LIST} rows. */
+  public <T extends Collection<Requirement>> T attach(T requirements) {
+    List<Long> ids = new ArrayList<>(requirements.size());
+    requirements.forEach(requirement -> ids.add(requirement.getId()));
+    Map<Long, RequirementProgress> found = new HashMap<>();
+    for (int from = 0; from < ids.size(); from += IN_LIST) {
+      List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IN_LIST));
+      String sql =
+          STORED
+              + " where requirement_id in ("
+              + String.join(",", Collections.nCopies(chunk.size(), "?"))
+              + ")";
+      jdbcTemplate
+          .query(sql, PROGRESS, chunk.toArray())
+          .forEach(progress -> found.put(progress.getRequirementId(), progress));
+    }
+    for (Requirement requirement : requirements) {
+      RequirementProgress progress = found.get(requirement.getId());
+      if (progress == null) {
+        progress = new RequirementProgress();
+        progress.setRequirementId(requirement.getId());
+      }
+      requirement.setProgress(progress);
+    }
+    return requirements;
+  }
+
+  /** Recomputes every requirement's counters from scratch, for loads that bypass the service. */
+  public void rebuildAll() {
+    transaction.executeWithoutResult(
+        status -> {
+          jdbcTemplate.update("delete from requirement_progress");
+          jdbcTemplate.update(
+              "insert into requirement_progress (" + COLUMNS + ") " + AGGREGATE
+                  + " where requirement_id in (select id from requirement)" + GROUP);
+        });
+  }
+
+  /**
+   * Compares the stored counters with an aggregate of {@code task_item}, a chunk of requirement
+   * ids at a time, and recomputes those that differ. Rows left behind by deleted requirements are
+   * dropped first. Returns how many were repaired.
+   */
+  @Scheduled(
+      fixedDelayString = "${rdmanage.progress.recheck-interval-ms:3600000}",
+      initialDelayString = "${rdmanage.progress.recheck-interval-ms:3600000}")
+  public int recheck() {
+    jdbcTemplate.update(
+        "delete p from requirement_progress p left join requirement r"
+            + " on r.id = p.requirement_id where r.id is null");
+    int repaired = 0;
+    long after = 0;
+    while (true) {
+      List<Long> ids =
+          jdbcTemplate.queryForList(
+              "select id from requirement where id > ? order by id limit ?",
+              Long.class,
+              after,
+              recheckChunk);
+      if (ids.isEmpty()) {
+        return repaired;
+      }
+      long first = ids.get(0);
+      long last = ids.get(ids.size() - 1);
+      Map<Long, long[]> actual =
+          counters(AGGREGATE + " where requirement_id between ? and ?" + GROUP, first, last);
+      Map<Long, long[]> stored =
+          counters(STORED + " where requirement_id between ? and ?", first, last);
+      for (Long id : ids) {
+        if (!Arrays.equals(actual.getOrDefault(id, ZERO), stored.getOrDefault(id, ZERO))) {
+          repair(id);
+          repaired++;
+        }
+      }
+      after = last;
+    }
+  }
+
+  /**
+   * The insert reads task_item with locking reads, so it waits for in-flight task writes on this
+   * requirement and their deltas then land on top of the recomputed row.
+   */
+  private void repair(Long requirementId) {
+    transaction.executeWithoutResult(
+        status -> {
+          requirementDeleted(requirementId);
+          jdbcTemplate.update(
+              "insert into requirement_progress (" + COLUMNS + ") " + AGGREGATE
+                  + " where requirement_id = ?" + GROUP,
+              requirementId);
+          changeLog.upserted(ChangeLog.REQUIREMENT, requirementId);
+          // Requirement responses carry progress; their cached ETags must not outlive this.
+          tableVersions.bump(TableVersions.REQUIREMENT);
+        });
+  }
+
+  private Map<Long, long[]> counters(String sql, Object... args) {
+    Map<Long, long[]> counters = new HashMap<>();
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          long[] values = new long[COUNTERS];
+          for (int i = 0; i < COUNTERS; i++) {
+            values[i] = rs.getLong(i + 2);
+          }
+          counters.put(rs.getLong(1), values);
+        },
+        args);
+    return counters;
+  }
+
+  private static int statusColumn(String status) {
+    if (status == null) {
+      return 0;
+    }
+    return switch (status) {
+      case "TODO" -> 1;
+      case "IN_PROGRESS" -> 2;
+      case "BLOCKED" -> 3;
+      case "DONE" -> 4;
+      default -> 0;
+    };
+  }
+}
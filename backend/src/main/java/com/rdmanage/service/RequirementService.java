@@ -1,46 +1,328 @@
 package com.rdmanage.service;
 
+import com.rdmanage.datasource.ReplicaRead;
+import com.rdmanage.dto.BatchError;
+import com.rdmanage.dto.BatchResult;
 import com.rdmanage.dto.CreateRequirementRequest;
+import com.rdmanage.dto.CursorPage;
+import com.rdmanage.dto.RequirementBatchRequest;
+import com.rdmanage.dto.RequirementBatchUpdate;
 import com.rdmanage.dto.UpdateRequirementRequest;
 import com.rdmanage.model.Requirement;
-import com.rdmanage.model.ProductModule;
-import com.rdmanage.repository.ProductModuleRepository;
-import com.rdmanage.repository.ProductRepository;
+import com.rdmanage.people.PeopleDirectory;
+import com.rdmanage.query.FilterFields;
+import com.rdmanage.query.FilterSpecifications;
+import com.rdmanage.query.KeysetQueries;
 import com.rdmanage.repository.RequirementRepository;
+import com.rdmanage.search.SearchService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class RequirementService {
+  private static final int FLUSH_SIZE = 500;
+
   private final RequirementRepository requirementRepository;
-  private final ProductRepository productRepository;
-  private final ProductModuleRepository productModuleRepository;
+  private final KeysetQueries keysetQueries;
+  private final ReferenceIndex referenceIndex;
+  private final ReferenceResolver referenceResolver;
+  private final EntityManager entityManager;
+  private final TableVersions tableVersions;
+  private final PeopleDirectory peopleDirectory;
+  private final SearchService searchService;
+  private final RequirementProgressService requirementProgress;
+  private final ChangeLog changeLog;
+  private final int maxBatchSize;
 
   public RequirementService(
       RequirementRepository requirementRepository,
-      ProductRepository productRepository,
-      ProductModuleRepository productModuleRepository) {
+      KeysetQueries keysetQueries,
+      ReferenceIndex referenceIndex,
+      ReferenceResolver referenceResolver,
+      EntityManager entityManager,
+      TableVersions tableVersions,
+      PeopleDirectory peopleDirectory,
+      SearchService searchService,
+      RequirementProgressService requirementProgress,
+      ChangeLog changeLog,
+      @Value("${rdmanage.batch.max-size:20000}") int maxBatchSize) {
     this.requirementRepository = requirementRepository;
-    this.productRepository = productRepository;
-    this.productModuleRepository = productModuleRepository;
+    this.keysetQueries = keysetQueries;
+    this.referenceIndex = referenceIndex;
+    this.referenceResolver = referenceResolver;
+    this.entityManager = entityManager;
+    this.tableVersions = tableVersions;
+    this.peopleDirectory = peopleDirectory;
+    this.searchService = searchService;
+    this.requirementProgress = requirementProgress;
+    this.changeLog = changeLog;
+    this.maxBatchSize = maxBatchSize;
   }
 
-  public List<Requirement> list(Long productId, Long moduleId) {
-    if (productId == null) {
-      return requirementRepository.findAll();
+  @ReplicaRead
+  public List<Requirement> list(Long productId, Long moduleId, String q) {
+    List<Requirement> rows;
+    if (q != null && !q.isBlank()) {
+      rows = requirementRepository.findAll(filter(productId, moduleId, q));
+    } else if (productId == null) {
+      rows = requirementRepository.findAll();
+    } else if (moduleId == null) {
+      rows = requirementRepository.findByProductId(productId);
+    } else {
+      rows = requirementRepository.findByProductIdAndModuleId(productId, moduleId);
+    }
+    return requirementProgress.attach(rows);
+  }
+
+  @ReplicaRead
+  public CursorPage<Requirement> page(
+      Long productId, Long moduleId, String q, String cursor, int limit, boolean withTotal) {
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    if (q != null && !q.isBlank()) {
+      Specification<Requirement> filter = filter(productId, moduleId, q);
+      List<Requirement> rows =
+          keysetQueries.window(
+              Requirement.class,
+              filter.and(FilterSpecifications.after(after)),
+              KeysetCursor.clamp(limit) + 1);
+      Long total = withTotal ? requirementRepository.count(filter) : null;
+      requirementProgress.attach(rows);
+      return KeysetCursor.page(
+          rows, limit, item -> new KeysetCursor(item.getUpdatedAt(), item.getId()), total);
     }
-    if (moduleId == null) {
-      return requirementRepository.findByProductId(productId);
+    Pageable window = KeysetCursor.window(limit);
+    List<Requirement> rows;
+    Long total = null;
+    if (productId == null) {
+      rows =
+          after == null
+              ? requirementRepository.findPage(window)
+              : requirementRepository.findPageAfter(after.getUpdatedAt(), after.getId(), window);
+      if (withTotal) {
+        Number estimate = requirementRepository.estimateRowCount();
+        total = estimate != null ? estimate.longValue() : null;
+      }
+    } else if (moduleId == null) {
+      rows =
+          after == null
+              ? requirementRepository.findPageByProductId(productId, window)
+              : requirementRepository.findPageByProductIdAfter(
+                  productId, after.getUpdatedAt(), after.getId(), window);
+      if (withTotal) {
+        total = requirementRepository.countByProductId(productId);
+      }
+    } else {
+      rows =
+          after == null
+              ? requirementRepository.findPageByProductIdAndModuleId(productId, moduleId, window)
+              : requirementRepository.findPageByProductIdAndModuleIdAfter(
+                  productId, moduleId, after.getUpdatedAt(), after.getId(), window);
+      if (withTotal) {
+        total = requirementRepository.countByProductIdAndModuleId(productId, moduleId);
+      }
     }
-    return requirementRepository.findByProductIdAndModuleId(productId, moduleId);
+    requirementProgress.attach(rows);
+    return KeysetCursor.page(
+        rows, limit, item -> new KeysetCursor(item.getUpdatedAt(), item.getId()), total);
   }
 
   public Requirement get(Long id) {
     return requirementRepository.findById(id).orElse(null);
   }
 
+  @Transactional
   public Requirement create(CreateRequirementRequest request) {
-    validateProductModule(request.getProductId(), request.getModuleId());
+    referenceIndex.requireProductModule(request.getProductId(), request.getModuleId());
+    referenceIndex.requireVersion(request.getVersionId());
+    Requirement saved = requirementRepository.save(newRequirement(request));
+    peopleDirectory.added(saved.getOwner());
+    referenceIndex.requirementsCreated(List.of(saved.getId()));
+    searchService.requirementsSaved(List.of(saved));
+    changeLog.upserted(ChangeLog.REQUIREMENT, saved.getId());
+    tableVersions.bump(TableVersions.REQUIREMENT);
+    return saved;
+  }
+
+  @Transactional
+  public Requirement update(Long id, UpdateRequirementRequest request) {
+    Requirement requirement = requirementRepository.findById(id).orElse(null);
+    if (requirement == null) {
+      return null;
+    }
+    String previousOwner = requirement.getOwner();
+    Long productId =
+        request.getProductId() != null ? request.getProductId() : requirement.getProductId();
+    Long moduleId =
+        request.getModuleId() != null ? request.getModuleId() : requirement.getModuleId();
+    referenceIndex.requireProductModule(productId, moduleId);
+    if (request.getVersionId() != null) {
+      referenceIndex.requireVersion(request.getVersionId());
+    }
+    applyUpdate(requirement, request);
+    Requirement saved = requirementRepository.save(requirement);
+    peopleDirectory.changed(previousOwner, saved.getOwner());
+    searchService.requirementsSaved(List.of(saved));
+    changeLog.upserted(ChangeLog.REQUIREMENT, saved.getId());
+    tableVersions.bump(TableVersions.REQUIREMENT);
+    return saved;
+  }
+
+  @Transactional
+  public boolean delete(Long id) {
+    Requirement requirement = requirementRepository.findById(id).orElse(null);
+    if (requirement == null) {
+      return false;
+    }
+    referenceIndex.requirementDeleted(id);
+    requirementRepository.deleteById(id);
+    requirementProgress.requirementDeleted(id);
+    peopleDirectory.removed(requirement.getOwner());
+    searchService.requirementDeleted(id);
+    changeLog.deleted(ChangeLog.REQUIREMENT, id);
+    tableVersions.bump(TableVersions.REQUIREMENT);
+    return true;
+  }
+
+  @Transactional
+  public BatchResult batch(RequirementBatchRequest request) {
+    List<CreateRequirementRequest> creates =
+        request.getCreate() != null ? request.getCreate() : List.of();
+    List<RequirementBatchUpdate> updates =
+        request.getUpdate() != null ? request.getUpdate() : List.of();
+    BatchResult result = new BatchResult();
+    if (creates.size() + updates.size() > maxBatchSize) {
+      result.getErrors().add(new BatchError("batch", 0, "批量条数超过上限 " + maxBatchSize));
+      return result;
+    }
+
+    Map<Long, Requirement> existing = new HashMap<>();
+    List<Long> updateIds = new ArrayList<>();
+    updates.forEach(item -> updateIds.add(item.getId()));
+    requirementRepository.findAllById(updateIds).forEach(item -> existing.put(item.getId(), item));
+
+    Set<Long> productIds = new HashSet<>();
+    Set<Long> moduleIds = new HashSet<>();
+    Set<Long> versionIds = new HashSet<>();
+    for (CreateRequirementRequest item : creates) {
+      productIds.add(item.getProductId());
+      moduleIds.add(item.getModuleId());
+      versionIds.add(item.getVersionId());
+    }
+    for (RequirementBatchUpdate item : updates) {
+      Requirement current = existing.get(item.getId());
+      if (current != null) {
+        productIds.add(item.getProductId() != null ? item.getProductId() : current.getProductId());
+        moduleIds.add(item.getModuleId() != null ? item.getModuleId() : current.getModuleId());
+        versionIds.add(item.getVersionId());
+      }
+    }
+    ReferenceResolver.References references =
+        referenceResolver.resolve(productIds, moduleIds, versionIds, List.of());
+    for (int i = 0; i < creates.size(); i++) {
+      CreateRequirementRequest item = creates.get(i);
+      String error = references.checkProductModule(item.getProductId(), item.getModuleId());
+      if (error == null) {
+        error = references.checkVersion(item.getVersionId());
+      }
+      if (error != null) {
+        result.getErrors().add(new BatchError("create", i, error));
+      }
+    }
+    for (int i = 0; i < updates.size(); i++) {
+      RequirementBatchUpdate item = updates.get(i);
+      Requirement current = existing.get(item.getId());
+      if (current == null) {
+        result.getErrors().add(new BatchError("update", i, "需求不存在"));
+        continue;
+      }
+      String error =
+          references.checkProductModule(
+              item.getProductId() != null ? item.getProductId() : current.getProductId(),
+              item.getModuleId() != null ? item.getModuleId() : current.getModuleId());
+      if (error == null && item.getVersionId() != null) {
+        error = references.checkVersion(item.getVersionId());
+      }
+      if (error != null) {
+        result.getErrors().add(new BatchError("update", i, error));
+      }
+    }
+    if (!result.getErrors().isEmpty()) {
+      return result;
+    }
+
+    for (RequirementBatchUpdate item : updates) {
+      Requirement current = existing.get(item.getId());
+      String previousOwner = current.getOwner();
+      applyUpdate(current, item);
+      peopleDirectory.changed(previousOwner, current.getOwner());
+    }
+    searchService.requirementsSaved(existing.values());
+    changeLog.upserted(ChangeLog.REQUIREMENT, existing.keySet());
+    entityManager.flush();
+    entityManager.clear();
+
+    result.getCreatedIds().addAll(createValidated(creates));
+    result.setUpdated(updates.size());
+    result.setCreated(result.getCreatedIds().size());
+    tableVersions.bump(TableVersions.REQUIREMENT);
+    return result;
+  }
+
+  /**
+   * Inserts rows whose references were already checked by the caller, flushing every {@value
+   * #FLUSH_SIZE} rows so the persistence context stays small and inserts go out as JDBC batches.
+   */
+  @Transactional
+  public List<Long> createValidated(List<CreateRequirementRequest> requests) {
+    List<Long> ids = new ArrayList<>(requests.size());
+    List<Requirement> pending = new ArrayList<>(FLUSH_SIZE);
+    for (CreateRequirementRequest item : requests) {
+      pending.add(newRequirement(item));
+      if (pending.size() == FLUSH_SIZE) {
+        flushCreated(pending, ids);
+      }
+    }
+    flushCreated(pending, ids);
+    referenceIndex.requirementsCreated(ids);
+    changeLog.upserted(ChangeLog.REQUIREMENT, ids);
+    tableVersions.bump(TableVersions.REQUIREMENT);
+    return ids;
+  }
+
+  private void flushCreated(List<Requirement> pending, List<Long> ids) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    requirementRepository.saveAll(pending);
+    entityManager.flush();
+    entityManager.clear();
+    pending.forEach(item -> ids.add(item.getId()));
+    List<String> people = new ArrayList<>(pending.size());
+    pending.forEach(item -> people.add(item.getOwner()));
+    peopleDirectory.added(people);
+    searchService.requirementsSaved(pending);
+    pending.clear();
+  }
+
+  private Specification<Requirement> filter(Long productId, Long moduleId, String q) {
+    Specification<Requirement> filter =
+        FilterSpecifications.compile(q, FilterFields.REQUIREMENT);
+    return Specification.where(filter)
+        .and(FilterSpecifications.equal("productId", productId))
+        .and(FilterSpecifications.equal("moduleId", moduleId));
+  }
+
+  private Requirement newRequirement(CreateRequirementRequest request) {
     Requirement requirement = new Requirement();
     requirement.setProductId(request.getProductId());
     requirement.setModuleId(request.getModuleId());
@@ -53,19 +335,10 @@ public class RequirementService {
     requirement.setOwner(request.getOwner());
     requirement.setDueDate(request.getDueDate());
     requirement.setEstimateStoryPoints(request.getEstimateStoryPoints());
-    return requirementRepository.save(requirement);
+    return requirement;
   }
 
-  public Requirement update(Long id, UpdateRequirementRequest request) {
-    Requirement requirement = requirementRepository.findById(id).orElse(null);
-    if (requirement == null) {
-      return null;
-    }
-    Long productId =
-        request.getProductId() != null ? request.getProductId() : requirement.getProductId();
-    Long moduleId =
-        request.getModuleId() != null ? request.getModuleId() : requirement.getModuleId();
-    validateProductModule(productId, moduleId);
+  private void applyUpdate(Requirement requirement, UpdateRequirementRequest request) {
     if (request.getProductId() != null) {
       requirement.setProductId(request.getProductId());
     }
@@ -96,30 +369,5 @@ public class RequirementService {
     if (request.getEstimateStoryPoints() != null) {
       requirement.setEstimateStoryPoints(request.getEstimateStoryPoints());
     }
-    return requirementRepository.save(requirement);
-  }
-
-  public boolean delete(Long id) {
-    if (!requirementRepository.existsById(id)) {
-      return false;
-    }
-    requirementRepository.deleteById(id);
-    return true;
-  }
-
-  private void validateProductModule(Long productId, Long moduleId) {
-    if (productId == null || !productRepository.existsById(productId)) {
-      throw new IllegalArgumentException("产品不存在");
-    }
-    if (moduleId == null) {
-      throw new IllegalArgumentException("功能模块不能为空");
-    }
-    ProductModule module = productModuleRepository.findById(moduleId).orElse(null);
-    if (module == null) {
-      throw new IllegalArgumentException("功能模块不存在");
-    }
-    if (!module.getProductId().equals(productId)) {
-      throw new IllegalArgumentException("功能模块不属于该产品");
-    }
   }
 }
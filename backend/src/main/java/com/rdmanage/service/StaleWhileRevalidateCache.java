@@ -0,0 +1,80 @@
+package com.rdmanage.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Small keyed cache: entries younger than {@code fresh} are served as-is, entries up to
+ * {@code maxStale} are served immediately while a single background reload runs, older entries
+ * are reloaded inline.
+ */
+public class StaleWhileRevalidateCache<K, V> {
+  private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final Function<K, V> loader;
+  private final Executor executor;
+  private final long freshNanos;
+  private final long maxStaleNanos;
+  private final int maxEntries;
+
+  public StaleWhileRevalidateCache(
+      Function<K, V> loader, Executor executor, Duration fresh, Duration maxStale, int maxEntries) {
+    this.loader = loader;
+    this.executor = executor;
+    this.freshNanos = fresh.toNanos();
+    this.maxStaleNanos = maxStale.toNanos();
+    this.maxEntries = maxEntries;
+  }
+
+  public V get(K key) {
+    Entry<V> entry = entries.get(key);
+    long now = System.nanoTime();
+    if (entry != null) {
+      long age = now - entry.loadedAt;
+      if (age < freshNanos) {
+        return entry.value;
+      }
+      if (age < maxStaleNanos) {
+        if (entry.refreshing.compareAndSet(false, true)) {
+          executor.execute(() -> reload(key, entry));
+        }
+        return entry.value;
+      }
+    }
+    return load(key);
+  }
+
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  private void reload(K key, Entry<V> previous) {
+    try {
+      load(key);
+    } catch (RuntimeException ex) {
+      previous.refreshing.set(false);
+    }
+  }
+
+  private V load(K key) {
+    V value = loader.apply(key);
+    if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+      entries.clear();
+    }
+    entries.put(key, new Entry<>(value, System.nanoTime()));
+    return value;
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private final long loadedAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private Entry(V value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
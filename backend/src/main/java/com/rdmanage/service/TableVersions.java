@@ -0,0 +1,92 @@
+package com.rdmanage.service;
+
+import com.rdmanage.datasource.ReadRouting;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Change counter per table, bumped by the owning service once a write commits. Controllers turn
+ * it into an ETag so an unchanged list can be answered with 304 before any query runs.
+ *
+ * <p>Handing out a tag also asks {@link ReadRouting} for data at least as new as the tables'
+ * last commits; otherwise a lagging replica could serve an old body under the new tag, and
+ * every client would keep revalidating that old body with 304s.
+ */
+@Component
+public class TableVersions {
+  public static final String PRODUCT = "product";
+  public static final String MODULE = "module";
+  public static final String VERSION = "version";
+  public static final String REQUIREMENT = "requirement";
+  public static final String TASK = "task";
+
+  /** Counters restart on every boot, so tags also carry the JVM start time. */
+  public static final long BOOT_EPOCH = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+  private final Map<String, AtomicLong> versions =
+      Map.of(
+          PRODUCT, new AtomicLong(),
+          MODULE, new AtomicLong(),
+          VERSION, new AtomicLong(),
+          REQUIREMENT, new AtomicLong(),
+          TASK, new AtomicLong());
+  private final Map<String, AtomicLong> committedAt =
+      Map.of(
+          PRODUCT, new AtomicLong(),
+          MODULE, new AtomicLong(),
+          VERSION, new AtomicLong(),
+          REQUIREMENT, new AtomicLong(),
+          TASK, new AtomicLong());
+
+  public long current(String table) {
+    return counter(table).get();
+  }
+
+  /** Bumps after the surrounding transaction commits, so a tag never labels uncommitted data. */
+  public void bump(String table) {
+    AtomicLong counter = counter(table);
+    AtomicLong committed = committedAt.get(table);
+    TransactionHooks.afterCommit(
+        () -> {
+          // Time first: whoever sees the new count must also see when it was committed.
+          committed.set(System.currentTimeMillis());
+          counter.incrementAndGet();
+        });
+  }
+
+  public String etag(String table) {
+    String etag = "\"" + table + "-" + BOOT_EPOCH + "-" + current(table) + "\"";
+    ReadRouting.requireFreshSince(committedAt.get(table).get());
+    return etag;
+  }
+
+  /** For responses that also carry data derived from {@code derivedFrom}. */
+  public String etag(String table, String derivedFrom) {
+    String etag =
+        "\""
+            + table
+            + "+"
+            + derivedFrom
+            + "-"
+            + BOOT_EPOCH
+            + "-"
+            + current(table)
+            + "."
+            + current(derivedFrom)
+            + "\"";
+    // Counters are read before times, so the fence covers every commit the tag counts.
+    ReadRouting.requireFreshSince(
+        Math.max(committedAt.get(table).get(), committedAt.get(derivedFrom).get()));
+    return etag;
+  }
+
+  private AtomicLong counter(String table) {
+    AtomicLong counter = versions.get(table);
+    if (counter == null) {
+      throw new IllegalArgumentException("unknown table " + table);
+    }
+    return counter;
+  }
+}
@@ -1,31 +1,79 @@
 package com.rdmanage.service;
 
+import com.rdmanage.datasource.ReplicaRead;
+import com.rdmanage.dto.BatchError;
+import com.rdmanage.dto.BatchResult;
 import com.rdmanage.dto.CreateTaskRequest;
+import com.rdmanage.dto.CursorPage;
+import com.rdmanage.dto.TaskBatchRequest;
+import com.rdmanage.dto.TaskBatchUpdate;
 import com.rdmanage.dto.UpdateTaskRequest;
 import com.rdmanage.model.TaskItem;
-import com.rdmanage.model.ProductModule;
-import com.rdmanage.repository.ProductModuleRepository;
-import com.rdmanage.repository.ProductRepository;
+import com.rdmanage.people.PeopleDirectory;
+import com.rdmanage.query.FilterFields;
+import com.rdmanage.query.FilterSpecifications;
+import com.rdmanage.query.KeysetQueries;
 import com.rdmanage.repository.TaskItemRepository;
+import com.rdmanage.search.SearchService;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class TaskService {
+  private static final int FLUSH_SIZE = 500;
+
   private final TaskItemRepository taskItemRepository;
-  private final ProductRepository productRepository;
-  private final ProductModuleRepository productModuleRepository;
+  private final KeysetQueries keysetQueries;
+  private final ReferenceIndex referenceIndex;
+  private final ReferenceResolver referenceResolver;
+  private final EntityManager entityManager;
+  private final TableVersions tableVersions;
+  private final PeopleDirectory peopleDirectory;
+  private final SearchService searchService;
+  private final RequirementProgressService requirementProgress;
+  private final ChangeLog changeLog;
+  private final int maxBatchSize;
 
   public TaskService(
       TaskItemRepository taskItemRepository,
-      ProductRepository productRepository,
-      ProductModuleRepository productModuleRepository) {
+      KeysetQueries keysetQueries,
+      ReferenceIndex referenceIndex,
+      ReferenceResolver referenceResolver,
+      EntityManager entityManager,
+      TableVersions tableVersions,
+      PeopleDirectory peopleDirectory,
+      SearchService searchService,
+      RequirementProgressService requirementProgress,
+      ChangeLog changeLog,
+      @Value("${rdmanage.batch.max-size:20000}") int maxBatchSize) {
     this.taskItemRepository = taskItemRepository;
-    this.productRepository = productRepository;
-    this.productModuleRepository = productModuleRepository;
+    this.keysetQueries = keysetQueries;
+    this.referenceIndex = referenceIndex;
+    this.referenceResolver = referenceResolver;
+    this.entityManager = entityManager;
+    this.tableVersions = tableVersions;
+    this.peopleDirectory = peopleDirectory;
+    this.searchService = searchService;
+    this.requirementProgress = requirementProgress;
+    this.changeLog = changeLog;
+    this.maxBatchSize = maxBatchSize;
   }
 
-  public List<TaskItem> list(Long productId, Long moduleId) {
+  @ReplicaRead
+  public List<TaskItem> list(Long productId, Long moduleId, String q) {
+    if (q != null && !q.isBlank()) {
+      return taskItemRepository.findAll(filter(productId, moduleId, q));
+    }
     if (productId == null) {
       return taskItemRepository.findAll();
     }
@@ -35,12 +83,251 @@ public class TaskService {
     return taskItemRepository.findByProductIdAndModuleId(productId, moduleId);
   }
 
+  @ReplicaRead
+  public CursorPage<TaskItem> page(
+      Long productId, Long moduleId, String q, String cursor, int limit, boolean withTotal) {
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    if (q != null && !q.isBlank()) {
+      Specification<TaskItem> filter = filter(productId, moduleId, q);
+      List<TaskItem> rows =
+          keysetQueries.window(
+              TaskItem.class,
+              filter.and(FilterSpecifications.after(after)),
+              KeysetCursor.clamp(limit) + 1);
+      Long total = withTotal ? taskItemRepository.count(filter) : null;
+      return KeysetCursor.page(
+          rows, limit, item -> new KeysetCursor(item.getUpdatedAt(), item.getId()), total);
+    }
+    Pageable window = KeysetCursor.window(limit);
+    List<TaskItem> rows;
+    Long total = null;
+    if (productId == null) {
+      rows =
+          after == null
+              ? taskItemRepository.findPage(window)
+              : taskItemRepository.findPageAfter(after.getUpdatedAt(), after.getId(), window);
+      if (withTotal) {
+        Number estimate = taskItemRepository.estimateRowCount();
+        total = estimate != null ? estimate.longValue() : null;
+      }
+    } else if (moduleId == null) {
+      rows =
+          after == null
+              ? taskItemRepository.findPageByProductId(productId, window)
+              : taskItemRepository.findPageByProductIdAfter(
+                  productId, after.getUpdatedAt(), after.getId(), window);
+      if (withTotal) {
+        total = taskItemRepository.countByProductId(productId);
+      }
+    } else {
+      rows =
+          after == null
+              ? taskItemRepository.findPageByProductIdAndModuleId(productId, moduleId, window)
+              : taskItemRepository.findPageByProductIdAndModuleIdAfter(
+                  productId, moduleId, after.getUpdatedAt(), after.getId(), window);
+      if (withTotal) {
+        total = taskItemRepository.countByProductIdAndModuleId(productId, moduleId);
+      }
+    }
+    return KeysetCursor.page(
+        rows, limit, item -> new KeysetCursor(item.getUpdatedAt(), item.getId()), total);
+  }
+
   public TaskItem get(Long id) {
     return taskItemRepository.findById(id).orElse(null);
   }
 
+  @Transactional
   public TaskItem create(CreateTaskRequest request) {
-    validateProductModule(request.getProductId(), request.getModuleId());
+    referenceIndex.requireProductModule(request.getProductId(), request.getModuleId());
+    referenceIndex.requireRequirement(request.getRequirementId());
+    TaskItem saved = taskItemRepository.save(newTask(request));
+    requirementProgress.apply(new RequirementProgressService.Changes().add(saved));
+    peopleDirectory.added(saved.getAssignee());
+    searchService.tasksSaved(List.of(saved));
+    changeLog.upserted(ChangeLog.TASK, saved.getId());
+    tableVersions.bump(TableVersions.TASK);
+    return saved;
+  }
+
+  @Transactional
+  public TaskItem update(Long id, UpdateTaskRequest request) {
+    TaskItem task = taskItemRepository.findById(id).orElse(null);
+    if (task == null) {
+      return null;
+    }
+    String previousAssignee = task.getAssignee();
+    Long productId =
+        request.getProductId() != null ? request.getProductId() : task.getProductId();
+    Long moduleId =
+        request.getModuleId() != null ? request.getModuleId() : task.getModuleId();
+    referenceIndex.requireProductModule(productId, moduleId);
+    if (request.getRequirementId() != null) {
+      referenceIndex.requireRequirement(request.getRequirementId());
+    }
+    RequirementProgressService.Contribution before =
+        RequirementProgressService.Contribution.of(task);
+    applyUpdate(task, request);
+    TaskItem saved = taskItemRepository.save(task);
+    requirementProgress.apply(new RequirementProgressService.Changes().remove(before).add(saved));
+    peopleDirectory.changed(previousAssignee, saved.getAssignee());
+    searchService.tasksSaved(List.of(saved));
+    changeLog.upserted(ChangeLog.TASK, saved.getId());
+    tableVersions.bump(TableVersions.TASK);
+    return saved;
+  }
+
+  @Transactional
+  public boolean delete(Long id) {
+    TaskItem task = taskItemRepository.findById(id).orElse(null);
+    if (task == null) {
+      return false;
+    }
+    taskItemRepository.deleteById(id);
+    requirementProgress.apply(new RequirementProgressService.Changes().remove(task));
+    peopleDirectory.removed(task.getAssignee());
+    searchService.taskDeleted(id);
+    changeLog.deleted(ChangeLog.TASK, id);
+    tableVersions.bump(TableVersions.TASK);
+    return true;
+  }
+
+  @Transactional
+  public BatchResult batch(TaskBatchRequest request) {
+    List<CreateTaskRequest> creates =
+        request.getCreate() != null ? request.getCreate() : List.of();
+    List<TaskBatchUpdate> updates =
+        request.getUpdate() != null ? request.getUpdate() : List.of();
+    BatchResult result = new BatchResult();
+    if (creates.size() + updates.size() > maxBatchSize) {
+      result.getErrors().add(new BatchError("batch", 0, "批量条数超过上限 " + maxBatchSize));
+      return result;
+    }
+
+    Map<Long, TaskItem> existing = new HashMap<>();
+    List<Long> updateIds = new ArrayList<>();
+    updates.forEach(item -> updateIds.add(item.getId()));
+    taskItemRepository.findAllById(updateIds).forEach(item -> existing.put(item.getId(), item));
+
+    Set<Long> productIds = new HashSet<>();
+    Set<Long> moduleIds = new HashSet<>();
+    Set<Long> requirementIds = new HashSet<>();
+    for (CreateTaskRequest item : creates) {
+      productIds.add(item.getProductId());
+      moduleIds.add(item.getModuleId());
+      requirementIds.add(item.getRequirementId());
+    }
+    for (TaskBatchUpdate item : updates) {
+      TaskItem current = existing.get(item.getId());
+      if (current != null) {
+        productIds.add(item.getProductId() != null ? item.getProductId() : current.getProductId());
+        moduleIds.add(item.getModuleId() != null ? item.getModuleId() : current.getModuleId());
+        requirementIds.add(item.getRequirementId());
+      }
+    }
+    ReferenceResolver.References references =
+        referenceResolver.resolve(productIds, moduleIds, List.of(), requirementIds);
+    for (int i = 0; i < creates.size(); i++) {
+      CreateTaskRequest item = creates.get(i);
+      String error = references.checkProductModule(item.getProductId(), item.getModuleId());
+      if (error == null) {
+        error = references.checkRequirement(item.getRequirementId());
+      }
+      if (error != null) {
+        result.getErrors().add(new BatchError("create", i, error));
+      }
+    }
+    for (int i = 0; i < updates.size(); i++) {
+      TaskBatchUpdate item = updates.get(i);
+      TaskItem current = existing.get(item.getId());
+      if (current == null) {
+        result.getErrors().add(new BatchError("update", i, "任务不存在"));
+        continue;
+      }
+      String error =
+          references.checkProductModule(
+              item.getProductId() != null ? item.getProductId() : current.getProductId(),
+              item.getModuleId() != null ? item.getModuleId() : current.getModuleId());
+      if (error == null && item.getRequirementId() != null) {
+        error = references.checkRequirement(item.getRequirementId());
+      }
+      if (error != null) {
+        result.getErrors().add(new BatchError("update", i, error));
+      }
+    }
+    if (!result.getErrors().isEmpty()) {
+      return result;
+    }
+
+    RequirementProgressService.Changes progress = new RequirementProgressService.Changes();
+    for (TaskBatchUpdate item : updates) {
+      TaskItem current = existing.get(item.getId());
+      String previousAssignee = current.getAssignee();
+      progress.remove(current);
+      applyUpdate(current, item);
+      progress.add(current);
+      peopleDirectory.changed(previousAssignee, current.getAssignee());
+    }
+    requirementProgress.apply(progress);
+    searchService.tasksSaved(existing.values());
+    changeLog.upserted(ChangeLog.TASK, existing.keySet());
+    entityManager.flush();
+    entityManager.clear();
+
+    result.getCreatedIds().addAll(createValidated(creates));
+    result.setUpdated(updates.size());
+    result.setCreated(result.getCreatedIds().size());
+    tableVersions.bump(TableVersions.TASK);
+    return result;
+  }
+
+  /**
+   * Inserts rows whose references were already checked by the caller, flushing every {@value
+   * #FLUSH_SIZE} rows so the persistence context stays small and inserts go out as JDBC batches.
+   */
+  @Transactional
+  public List<Long> createValidated(List<CreateTaskRequest> requests) {
+    List<Long> ids = new ArrayList<>(requests.size());
+    List<TaskItem> pending = new ArrayList<>(FLUSH_SIZE);
+    for (CreateTaskRequest item : requests) {
+      pending.add(newTask(item));
+      if (pending.size() == FLUSH_SIZE) {
+        flushCreated(pending, ids);
+      }
+    }
+    flushCreated(pending, ids);
+    changeLog.upserted(ChangeLog.TASK, ids);
+    tableVersions.bump(TableVersions.TASK);
+    return ids;
+  }
+
+  private void flushCreated(List<TaskItem> pending, List<Long> ids) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    taskItemRepository.saveAll(pending);
+    entityManager.flush();
+    entityManager.clear();
+    pending.forEach(item -> ids.add(item.getId()));
+    RequirementProgressService.Changes progress = new RequirementProgressService.Changes();
+    pending.forEach(progress::add);
+    requirementProgress.apply(progress);
+    List<String> people = new ArrayList<>(pending.size());
+    pending.forEach(item -> people.add(item.getAssignee()));
+    peopleDirectory.added(people);
+    searchService.tasksSaved(pending);
+    pending.clear();
+  }
+
+  private Specification<TaskItem> filter(Long productId, Long moduleId, String q) {
+    Specification<TaskItem> filter =
+        FilterSpecifications.compile(q, FilterFields.TASK);
+    return Specification.where(filter)
+        .and(FilterSpecifications.equal("productId", productId))
+        .and(FilterSpecifications.equal("moduleId", moduleId));
+  }
+
+  private TaskItem newTask(CreateTaskRequest request) {
     TaskItem task = new TaskItem();
     task.setProductId(request.getProductId());
     task.setModuleId(request.getModuleId());
@@ -51,25 +338,19 @@ public class TaskService {
     task.setDueDate(request.getDueDate());
     task.setEstimateHours(request.getEstimateHours());
     task.setStatus("TODO");
-    return taskItemRepository.save(task);
+    return task;
   }
 
-  public TaskItem update(Long id, UpdateTaskRequest request) {
-    TaskItem task = taskItemRepository.findById(id).orElse(null);
-    if (task == null) {
-      return null;
-    }
-    Long productId =
-        request.getProductId() != null ? request.getProductId() : task.getProductId();
-    Long moduleId =
-        request.getModuleId() != null ? request.getModuleId() : task.getModuleId();
-    validateProductModule(productId, moduleId);
+  private void applyUpdate(TaskItem task, UpdateTaskRequest request) {
     if (request.getProductId() != null) {
       task.setProductId(request.getProductId());
     }
     if (request.getModuleId() != null) {
       task.setModuleId(request.getModuleId());
     }
+    if (request.getRequirementId() != null) {
+      task.setRequirementId(request.getRequirementId());
+    }
     if (request.getTitle() != null) {
       task.setTitle(request.getTitle());
     }
@@ -88,30 +369,5 @@ public class TaskService {
     if (request.getEstimateHours() != null) {
       task.setEstimateHours(request.getEstimateHours());
     }
-    return taskItemRepository.save(task);
-  }
-
-  public boolean delete(Long id) {
-    if (!taskItemRepository.existsById(id)) {
-      return false;
-    }
-    taskItemRepository.deleteById(id);
-    return true;
-  }
-
-  private void validateProductModule(Long productId, Long moduleId) {
-    if (productId == null || !productRepository.existsById(productId)) {
-      throw new IllegalArgumentException("产品不存在");
-    }
-    if (moduleId == null) {
-      throw new IllegalArgumentException("功能模块不能为空");
-    }
-    ProductModule module = productModuleRepository.findById(moduleId).orElse(null);
-    if (module == null) {
-      throw new IllegalArgumentException("功能模块不存在");
-    }
-    if (!module.getProductId().equals(productId)) {
-      throw new IllegalArgumentException("功能模块不属于该产品");
-    }
   }
 }
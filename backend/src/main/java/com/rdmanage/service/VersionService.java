@@ -1,35 +1,52 @@
 package com.rdmanage.service;
 
+import com.rdmanage.datasource.ReplicaRead;
 import com.rdmanage.dto.CreateVersionRequest;
 import com.rdmanage.dto.UpdateVersionRequest;
 import com.rdmanage.model.VersionInfo;
-import com.rdmanage.model.ProductModule;
-import com.rdmanage.repository.ProductModuleRepository;
-import com.rdmanage.repository.ProductRepository;
+import com.rdmanage.people.PeopleDirectory;
+import com.rdmanage.query.FilterFields;
+import com.rdmanage.query.FilterSpecifications;
 import com.rdmanage.repository.RequirementRepository;
 import com.rdmanage.repository.VersionRepository;
 import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class VersionService {
   private final VersionRepository versionRepository;
-  private final ProductRepository productRepository;
-  private final ProductModuleRepository productModuleRepository;
   private final RequirementRepository requirementRepository;
+  private final ReferenceIndex referenceIndex;
+  private final TableVersions tableVersions;
+  private final PeopleDirectory peopleDirectory;
+  private final ChangeLog changeLog;
 
   public VersionService(
       VersionRepository versionRepository,
-      ProductRepository productRepository,
-      ProductModuleRepository productModuleRepository,
-      RequirementRepository requirementRepository) {
+      RequirementRepository requirementRepository,
+      ReferenceIndex referenceIndex,
+      TableVersions tableVersions,
+      PeopleDirectory peopleDirectory,
+      ChangeLog changeLog) {
     this.versionRepository = versionRepository;
-    this.productRepository = productRepository;
-    this.productModuleRepository = productModuleRepository;
     this.requirementRepository = requirementRepository;
+    this.referenceIndex = referenceIndex;
+    this.tableVersions = tableVersions;
+    this.peopleDirectory = peopleDirectory;
+    this.changeLog = changeLog;
   }
 
-  public List<VersionInfo> list(Long productId, Long moduleId) {
+  @ReplicaRead
+  public List<VersionInfo> list(Long productId, Long moduleId, String q) {
+    if (q != null && !q.isBlank()) {
+      Specification<VersionInfo> filter =
+          Specification.where(FilterSpecifications.<VersionInfo>compile(q, FilterFields.VERSION))
+              .and(FilterSpecifications.equal("productId", productId))
+              .and(FilterSpecifications.equal("moduleId", moduleId));
+      return versionRepository.findAll(filter);
+    }
     if (productId == null) {
       return versionRepository.findAll();
     }
@@ -43,8 +60,9 @@ public class VersionService {
     return versionRepository.findById(id).orElse(null);
   }
 
+  @Transactional
   public VersionInfo create(CreateVersionRequest request) {
-    validateProductModule(request.getProductId(), request.getModuleId());
+    referenceIndex.requireProductModule(request.getProductId(), request.getModuleId());
     VersionInfo version = new VersionInfo();
     version.setProductId(request.getProductId());
     version.setModuleId(request.getModuleId());
@@ -54,9 +72,15 @@ public class VersionService {
     version.setPlanReleaseDate(request.getPlanReleaseDate());
     version.setDescription(request.getDescription());
     version.setStatus("PLANNED");
-    return versionRepository.save(version);
+    VersionInfo saved = versionRepository.save(version);
+    referenceIndex.versionCreated(saved.getId());
+    peopleDirectory.added(saved.getOwner());
+    changeLog.upserted(ChangeLog.VERSION, saved.getId());
+    tableVersions.bump(TableVersions.VERSION);
+    return saved;
   }
 
+  @Transactional
   public VersionInfo update(Long id, UpdateVersionRequest request) {
     VersionInfo version = versionRepository.findById(id).orElse(null);
     if (version == null) {
@@ -64,7 +88,8 @@ public class VersionService {
     }
     Long productId = request.getProductId() != null ? request.getProductId() : version.getProductId();
     Long moduleId = request.getModuleId() != null ? request.getModuleId() : version.getModuleId();
-    validateProductModule(productId, moduleId);
+    referenceIndex.requireProductModule(productId, moduleId);
+    String previousOwner = version.getOwner();
     if (request.getProductId() != null) {
       version.setProductId(request.getProductId());
     }
@@ -89,33 +114,27 @@ public class VersionService {
     if (request.getDescription() != null) {
       version.setDescription(request.getDescription());
     }
-    return versionRepository.save(version);
+    VersionInfo saved = versionRepository.save(version);
+    peopleDirectory.changed(previousOwner, saved.getOwner());
+    changeLog.upserted(ChangeLog.VERSION, saved.getId());
+    tableVersions.bump(TableVersions.VERSION);
+    return saved;
   }
 
+  @Transactional
   public boolean delete(Long id) {
-    if (!versionRepository.existsById(id)) {
+    VersionInfo version = versionRepository.findById(id).orElse(null);
+    if (version == null) {
       return false;
     }
     if (requirementRepository.existsByVersionId(id)) {
       throw new IllegalStateException("VERSION_REFERENCED_BY_REQUIREMENT");
     }
+    referenceIndex.versionDeleted(id);
     versionRepository.deleteById(id);
+    peopleDirectory.removed(version.getOwner());
+    changeLog.deleted(ChangeLog.VERSION, id);
+    tableVersions.bump(TableVersions.VERSION);
     return true;
   }
-
-  private void validateProductModule(Long productId, Long moduleId) {
-    if (productId == null || !productRepository.existsById(productId)) {
-      throw new IllegalArgumentException("产品不存在");
-    }
-    if (moduleId == null) {
-      throw new IllegalArgumentException("功能模块不能为空");
-    }
-    ProductModule module = productModuleRepository.findById(moduleId).orElse(null);
-    if (module == null) {
-      throw new IllegalArgumentException("功能模块不存在");
-    }
-    if (!module.getProductId().equals(productId)) {
-      throw new IllegalArgumentException("功能模块不属于该产品");
-    }
-  }
 }
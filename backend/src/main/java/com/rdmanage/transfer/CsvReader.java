@@ -0,0 +1,120 @@
+package com.rdmanage.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 record reader. Reads one record at a time so an upload of any size is parsed
+ * in constant memory; quoted fields may contain separators, doubled quotes and line breaks.
+ */
+class CsvReader implements Closeable {
+  private final Reader reader;
+  private final StringBuilder field = new StringBuilder();
+  private int peeked = -2;
+  private long line = 1;
+  private long recordLine;
+
+  CsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /** Returns the next record, or null at end of input. Blank lines are skipped. */
+  List<String> next() throws IOException {
+    while (true) {
+      int c = read();
+      if (c == -1) {
+        return null;
+      }
+      if (c == '\r' || c == '\n') {
+        consumeLineEnd(c);
+        continue;
+      }
+      if (recordLine == 0 && c == '\uFEFF') {
+        continue;
+      }
+      recordLine = line;
+      return readRecord(c);
+    }
+  }
+
+  /** Line number the last record returned by {@link #next()} started on. */
+  long getRecordLine() {
+    return recordLine;
+  }
+
+  private List<String> readRecord(int c) throws IOException {
+    List<String> record = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+    boolean wasQuoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IOException("第 " + recordLine + " 行引号未闭合");
+        }
+        if (c == '"') {
+          int after = read();
+          if (after == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            c = after;
+            continue;
+          }
+        } else {
+          if (c == '\n' || (c == '\r' && peek() != '\n')) {
+            line++;
+          }
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+        quoted = true;
+        wasQuoted = true;
+      } else if (c == ',') {
+        record.add(field.toString());
+        field.setLength(0);
+        wasQuoted = false;
+      } else if (c == -1 || c == '\r' || c == '\n') {
+        if (c != -1) {
+          consumeLineEnd(c);
+        }
+        record.add(field.toString());
+        return record;
+      } else {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private void consumeLineEnd(int c) throws IOException {
+    if (c == '\r' && peek() == '\n') {
+      read();
+    }
+    line++;
+  }
+
+  private int peek() throws IOException {
+    if (peeked == -2) {
+      peeked = reader.read();
+    }
+    return peeked;
+  }
+
+  private int read() throws IOException {
+    if (peeked != -2) {
+      int c = peeked;
+      peeked = -2;
+      return c;
+    }
+    return reader.read();
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
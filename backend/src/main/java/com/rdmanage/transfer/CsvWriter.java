@@ -0,0 +1,42 @@
+package com.rdmanage.transfer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/** RFC 4180 output counterpart of {@link CsvReader}. */
+class CsvWriter {
+  private final Writer writer;
+
+  CsvWriter(Writer writer) {
+    this.writer = writer;
+  }
+
+  void writeRecord(List<?> values) throws IOException {
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      Object value = values.get(i);
+      if (value != null) {
+        writeField(value.toString());
+      }
+    }
+    writer.write("\r\n");
+  }
+
+  private void writeField(String value) throws IOException {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+    }
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
@@ -0,0 +1,70 @@
+package com.rdmanage.transfer;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+  private final ExportService exportService;
+
+  public ExportController(ExportService exportService) {
+    this.exportService = exportService;
+  }
+
+  @GetMapping("/requirements")
+  public ResponseEntity<StreamingResponseBody> exportRequirements(
+      @RequestParam(required = false) Long productId,
+      @RequestParam(required = false) Long moduleId,
+      @RequestParam(required = false) Long versionId,
+      @RequestParam(required = false) String status,
+      @RequestParam(defaultValue = "csv") String format) {
+    TransferFormat resolved;
+    try {
+      resolved = TransferFormat.resolve(format, null);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+    return attachment(
+        "requirements",
+        resolved,
+        out ->
+            exportService.exportRequirements(
+                productId, moduleId, versionId, status, resolved, out));
+  }
+
+  @GetMapping("/tasks")
+  public ResponseEntity<StreamingResponseBody> exportTasks(
+      @RequestParam(required = false) Long productId,
+      @RequestParam(required = false) Long moduleId,
+      @RequestParam(required = false) Long versionId,
+      @RequestParam(required = false) String status,
+      @RequestParam(defaultValue = "csv") String format) {
+    TransferFormat resolved;
+    try {
+      resolved = TransferFormat.resolve(format, null);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+    return attachment(
+        "tasks",
+        resolved,
+        out -> exportService.exportTasks(productId, moduleId, versionId, status, resolved, out));
+  }
+
+  private ResponseEntity<StreamingResponseBody> attachment(
+      String name, TransferFormat format, StreamingResponseBody body) {
+    ContentDisposition disposition =
+        ContentDisposition.attachment().filename(name + "." + format.getExtension()).build();
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+        .body(body);
+  }
+}
@@ -0,0 +1,223 @@
+package com.rdmanage.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdmanage.model.Requirement;
+import com.rdmanage.model.TaskItem;
+import com.rdmanage.query.FilterSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes exports straight from a streaming JDBC cursor to the response. Each entity is detached
+ * once written, so neither the persistence context nor the heap grows with the row count.
+ */
+@Service
+public class ExportService {
+  private static final int FLUSH_EVERY = 1000;
+  private static final int FETCH_SIZE = 1000;
+
+  private static final List<Column<Requirement>> REQUIREMENT_COLUMNS =
+      List.of(
+          new Column<>("id", Requirement::getId),
+          new Column<>("productId", Requirement::getProductId),
+          new Column<>("moduleId", Requirement::getModuleId),
+          new Column<>("code", Requirement::getCode),
+          new Column<>("name", Requirement::getName),
+          new Column<>("description", Requirement::getDescription),
+          new Column<>("priority", Requirement::getPriority),
+          new Column<>("status", Requirement::getStatus),
+          new Column<>("versionId", Requirement::getVersionId),
+          new Column<>("owner", Requirement::getOwner),
+          new Column<>("dueDate", Requirement::getDueDate),
+          new Column<>("estimateStoryPoints", Requirement::getEstimateStoryPoints),
+          new Column<>("createdAt", Requirement::getCreatedAt),
+          new Column<>("updatedAt", Requirement::getUpdatedAt));
+
+  private static final List<Column<TaskItem>> TASK_COLUMNS =
+      List.of(
+          new Column<>("id", TaskItem::getId),
+          new Column<>("productId", TaskItem::getProductId),
+          new Column<>("moduleId", TaskItem::getModuleId),
+          new Column<>("requirementId", TaskItem::getRequirementId),
+          new Column<>("title", TaskItem::getTitle),
+          new Column<>("description", TaskItem::getDescription),
+          new Column<>("assignee", TaskItem::getAssignee),
+          new Column<>("status", TaskItem::getStatus),
+          new Column<>("dueDate", TaskItem::getDueDate),
+          new Column<>("estimateHours", TaskItem::getEstimateHours),
+          new Column<>("createdAt", TaskItem::getCreatedAt),
+          new Column<>("updatedAt", TaskItem::getUpdatedAt));
+
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate readOnly;
+  private final int fetchSize;
+
+  public ExportService(
+      EntityManager entityManager,
+      EntityManagerFactory entityManagerFactory,
+      ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager) {
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    // Connector/J streams row by row only for Integer.MIN_VALUE, which other drivers reject;
+    // they fetch in batches of a positive size instead.
+    Dialect dialect =
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    this.fetchSize = dialect instanceof MySQLDialect ? Integer.MIN_VALUE : FETCH_SIZE;
+  }
+
+  public void exportRequirements(
+      Long productId,
+      Long moduleId,
+      Long versionId,
+      String status,
+      TransferFormat format,
+      OutputStream out)
+      throws IOException {
+    Specification<Requirement> filter =
+        Specification.where(FilterSpecifications.<Requirement>equal("productId", productId))
+            .and(FilterSpecifications.equal("moduleId", moduleId))
+            .and(FilterSpecifications.equal("versionId", versionId))
+            .and(FilterSpecifications.equal("status", status));
+    write(
+        () -> stream(Requirement.class, filter),
+        REQUIREMENT_COLUMNS,
+        format,
+        out);
+  }
+
+  public void exportTasks(
+      Long productId,
+      Long moduleId,
+      Long versionId,
+      String status,
+      TransferFormat format,
+      OutputStream out)
+      throws IOException {
+    Specification<TaskItem> filter =
+        Specification.where(FilterSpecifications.<TaskItem>equal("productId", productId))
+            .and(FilterSpecifications.equal("moduleId", moduleId))
+            .and(inVersion(versionId))
+            .and(FilterSpecifications.equal("status", status));
+    write(
+        () -> stream(TaskItem.class, filter),
+        TASK_COLUMNS,
+        format,
+        out);
+  }
+
+  /**
+   * Tasks of the requirements planned for {@code versionId}. Unset filters add no predicate at
+   * all, so the remaining ones can use the composite indexes.
+   */
+  private static Specification<TaskItem> inVersion(Long versionId) {
+    if (versionId == null) {
+      return null;
+    }
+    return (root, query, cb) -> {
+      Subquery<Long> requirements = query.subquery(Long.class);
+      Root<Requirement> requirement = requirements.from(Requirement.class);
+      requirements
+          .select(requirement.get("id"))
+          .where(cb.equal(requirement.get("versionId"), versionId));
+      return root.get("requirementId").in(requirements);
+    };
+  }
+
+  /** Read-only cursor in id order; the caller consumes it inside a transaction and closes it. */
+  private <T> Stream<T> stream(Class<T> type, Specification<T> filter) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<T> query = cb.createQuery(type);
+    Root<T> root = query.from(type);
+    Predicate predicate = filter == null ? null : filter.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(cb.asc(root.get("id")));
+    return entityManager
+        .createQuery(query)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+        .setHint(HibernateHints.HINT_READ_ONLY, true)
+        .getResultStream();
+  }
+
+  private <T> void write(
+      Supplier<Stream<T>> query, List<Column<T>> columns, TransferFormat format, OutputStream out)
+      throws IOException {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+    CsvWriter csv = format == TransferFormat.CSV ? new CsvWriter(writer) : null;
+    if (csv != null) {
+      // BOM so spreadsheet tools pick UTF-8 for the Chinese text; the importer strips it again.
+      writer.write('\uFEFF');
+      List<String> header = new ArrayList<>(columns.size());
+      columns.forEach(column -> header.add(column.name));
+      csv.writeRecord(header);
+    }
+    try {
+      readOnly.executeWithoutResult(
+          status -> {
+            try (Stream<T> rows = query.get()) {
+              int written = 0;
+              for (T row : (Iterable<T>) rows::iterator) {
+                if (csv != null) {
+                  List<Object> values = new ArrayList<>(columns.size());
+                  columns.forEach(column -> values.add(column.value.apply(row)));
+                  csv.writeRecord(values);
+                } else {
+                  writer.write(objectMapper.writeValueAsString(row));
+                  writer.write('\n');
+                }
+                entityManager.detach(row);
+                if (++written % FLUSH_EVERY == 0) {
+                  writer.flush();
+                }
+              }
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+          });
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    writer.flush();
+  }
+
+  private static final class Column<T> {
+    private final String name;
+    private final Function<T, Object> value;
+
+    private Column(String name, Function<T, Object> value) {
+      this.name = name;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.rdmanage.transfer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+  private final ImportService importService;
+
+  public ImportController(ImportService importService) {
+    this.importService = importService;
+  }
+
+  @PostMapping("/requirements")
+  public ResponseEntity<ImportJob> importRequirements(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(required = false) String format) {
+    try {
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+          .body(importService.importRequirements(file, format));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @PostMapping("/tasks")
+  public ResponseEntity<ImportJob> importTasks(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(required = false) String format) {
+    try {
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+          .body(importService.importTasks(file, format));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/jobs/{id}")
+  public ResponseEntity<ImportJob> job(@PathVariable String id) {
+    ImportJob job = importService.getJob(id);
+    if (job == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(job);
+  }
+}
@@ -0,0 +1,127 @@
+package com.rdmanage.transfer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one import. Written by the import worker and read by polling requests, so the
+ * counters are volatile and the error list is copied under its own lock.
+ */
+public class ImportJob {
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+  }
+
+  private final String id;
+  private final String target;
+  private final String fileName;
+  private final TransferFormat format;
+  private final LocalDateTime submittedAt = LocalDateTime.now();
+  private final List<ImportRowError> errors = new ArrayList<>();
+  private final int maxErrors;
+  private volatile Status status = Status.QUEUED;
+  private volatile long processed;
+  private volatile long created;
+  private volatile long failed;
+  private volatile boolean errorsTruncated;
+  private volatile String message;
+  private volatile LocalDateTime startedAt;
+  private volatile LocalDateTime finishedAt;
+
+  ImportJob(String id, String target, String fileName, TransferFormat format, int maxErrors) {
+    this.id = id;
+    this.target = target;
+    this.fileName = fileName;
+    this.format = format;
+    this.maxErrors = maxErrors;
+  }
+
+  void start() {
+    startedAt = LocalDateTime.now();
+    status = Status.RUNNING;
+  }
+
+  void finish(Status status, String message) {
+    this.message = message;
+    this.finishedAt = LocalDateTime.now();
+    this.status = status;
+  }
+
+  void addProgress(long processed, long created) {
+    this.processed += processed;
+    this.created += created;
+  }
+
+  void addError(long line, String message) {
+    failed++;
+    synchronized (errors) {
+      if (errors.size() < maxErrors) {
+        errors.add(new ImportRowError(line, message));
+      } else {
+        errorsTruncated = true;
+      }
+    }
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getTarget() {
+    return target;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public TransferFormat getFormat() {
+    return format;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public long getProcessed() {
+    return processed;
+  }
+
+  public long getCreated() {
+    return created;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public List<ImportRowError> getErrors() {
+    synchronized (errors) {
+      return List.copyOf(errors);
+    }
+  }
+
+  public boolean isErrorsTruncated() {
+    return errorsTruncated;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public LocalDateTime getSubmittedAt() {
+    return submittedAt;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+}
@@ -0,0 +1,29 @@
+package com.rdmanage.transfer;
+
+public class ImportRowError {
+  private long line;
+  private String message;
+
+  public ImportRowError() {}
+
+  public ImportRowError(long line, String message) {
+    this.line = line;
+    this.message = message;
+  }
+
+  public long getLine() {
+    return line;
+  }
+
+  public void setLine(long line) {
+    this.line = line;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
@@ -0,0 +1,150 @@
+package com.rdmanage.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns an uploaded file into one JSON object per row, so CSV and NDJSON share the same
+ * conversion and validation path. CSV headers may be snake_case or camelCase.
+ */
+abstract class ImportRowReader implements Closeable {
+
+  /** One parsed row; {@code error} is set instead of {@code values} when the row is malformed. */
+  static final class Row {
+    final long line;
+    final ObjectNode values;
+    final String error;
+
+    Row(long line, ObjectNode values, String error) {
+      this.line = line;
+      this.values = values;
+      this.error = error;
+    }
+  }
+
+  /** Returns the next row, or null at end of input. */
+  abstract Row next() throws IOException;
+
+  static ImportRowReader open(Path file, TransferFormat format, ObjectMapper objectMapper)
+      throws IOException {
+    BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    if (format == TransferFormat.NDJSON) {
+      return new NdjsonRows(reader, objectMapper);
+    }
+    return new CsvRows(new CsvReader(reader), objectMapper);
+  }
+
+  static String toCamelCase(String header) {
+    String trimmed = header.trim();
+    StringBuilder out = new StringBuilder(trimmed.length());
+    boolean upper = false;
+    for (int i = 0; i < trimmed.length(); i++) {
+      char c = trimmed.charAt(i);
+      if (c == '_' || c == '-' || c == ' ') {
+        upper = out.length() > 0;
+      } else {
+        out.append(upper ? Character.toUpperCase(c) : c);
+        upper = false;
+      }
+    }
+    return out.toString();
+  }
+
+  private static final class CsvRows extends ImportRowReader {
+    private final CsvReader csv;
+    private final ObjectMapper objectMapper;
+    private List<String> headers;
+
+    private CsvRows(CsvReader csv, ObjectMapper objectMapper) {
+      this.csv = csv;
+      this.objectMapper = objectMapper;
+    }
+
+    @Override
+    Row next() throws IOException {
+      if (headers == null) {
+        List<String> first = csv.next();
+        if (first == null) {
+          return null;
+        }
+        headers = new ArrayList<>(first.size());
+        first.forEach(header -> headers.add(toCamelCase(header)));
+      }
+      List<String> record = csv.next();
+      if (record == null) {
+        return null;
+      }
+      if (record.size() != headers.size()) {
+        return new Row(
+            csv.getRecordLine(),
+            null,
+            "列数与表头不一致: 期望 " + headers.size() + " 列, 实际 " + record.size() + " 列");
+      }
+      ObjectNode values = objectMapper.createObjectNode();
+      for (int i = 0; i < headers.size(); i++) {
+        String value = record.get(i);
+        if (value.isEmpty()) {
+          values.putNull(headers.get(i));
+        } else {
+          values.put(headers.get(i), value);
+        }
+      }
+      return new Row(csv.getRecordLine(), values, null);
+    }
+
+    @Override
+    public void close() throws IOException {
+      csv.close();
+    }
+  }
+
+  private static final class NdjsonRows extends ImportRowReader {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    private NdjsonRows(BufferedReader reader, ObjectMapper objectMapper) {
+      this.reader = reader;
+      this.objectMapper = objectMapper;
+    }
+
+    @Override
+    Row next() throws IOException {
+      String text;
+      while ((text = reader.readLine()) != null) {
+        line++;
+        if (line == 1 && text.startsWith("\uFEFF")) {
+          text = text.substring(1);
+        }
+        if (text.isBlank()) {
+          continue;
+        }
+        try {
+          JsonNode node = objectMapper.readTree(text);
+          if (!(node instanceof ObjectNode)) {
+            return new Row(line, null, "每行必须是一个 JSON 对象");
+          }
+          return new Row(line, (ObjectNode) node, null);
+        } catch (JsonProcessingException ex) {
+          return new Row(line, null, "JSON 格式错误");
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
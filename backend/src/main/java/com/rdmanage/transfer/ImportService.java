@@ -0,0 +1,264 @@
+package com.rdmanage.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdmanage.dto.CreateRequirementRequest;
+import com.rdmanage.dto.CreateTaskRequest;
+import com.rdmanage.service.ReferenceResolver;
+import com.rdmanage.service.RequirementService;
+import com.rdmanage.service.TaskService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Runs uploads in the background: the file is spooled to disk, read row by row, and every
+ * {@code chunk-size} rows are reference-checked with a few IN queries and committed in their own
+ * transaction. Bad rows are reported by line number and skipped; the rest of the file still loads.
+ */
+@Service
+public class ImportService {
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final ExecutorService executor;
+  private final int chunkSize;
+  private final int maxErrors;
+  private final Map<String, ImportJob> jobs;
+  private final Target<CreateRequirementRequest> requirements;
+  private final Target<CreateTaskRequest> tasks;
+
+  public ImportService(
+      RequirementService requirementService,
+      TaskService taskService,
+      ReferenceResolver referenceResolver,
+      ObjectMapper objectMapper,
+      Validator validator,
+      @Value("${rdmanage.import.chunk-size:1000}") int chunkSize,
+      @Value("${rdmanage.import.max-errors:1000}") int maxErrors,
+      @Value("${rdmanage.import.retained-jobs:100}") int retainedJobs,
+      @Value("${rdmanage.import.workers:2}") int workers) {
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.chunkSize = Math.max(1, chunkSize);
+    this.maxErrors = maxErrors;
+    this.jobs =
+        Collections.synchronizedMap(
+            new LinkedHashMap<>() {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+                return size() > retainedJobs;
+              }
+            });
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, workers),
+            runnable -> {
+              Thread thread = new Thread(runnable, "import-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.requirements =
+        new Target<>(
+            CreateRequirementRequest.class,
+            rows -> {
+              List<Long> productIds = new ArrayList<>();
+              List<Long> moduleIds = new ArrayList<>();
+              List<Long> versionIds = new ArrayList<>();
+              for (CreateRequirementRequest row : rows) {
+                productIds.add(row.getProductId());
+                moduleIds.add(row.getModuleId());
+                versionIds.add(row.getVersionId());
+              }
+              return referenceResolver.resolve(productIds, moduleIds, versionIds, List.of());
+            },
+            (row, references) -> {
+              String error = references.checkProductModule(row.getProductId(), row.getModuleId());
+              return error != null ? error : references.checkVersion(row.getVersionId());
+            },
+            requirementService::createValidated);
+    this.tasks =
+        new Target<>(
+            CreateTaskRequest.class,
+            rows -> {
+              List<Long> productIds = new ArrayList<>();
+              List<Long> moduleIds = new ArrayList<>();
+              List<Long> requirementIds = new ArrayList<>();
+              for (CreateTaskRequest row : rows) {
+                productIds.add(row.getProductId());
+                moduleIds.add(row.getModuleId());
+                requirementIds.add(row.getRequirementId());
+              }
+              return referenceResolver.resolve(productIds, moduleIds, List.of(), requirementIds);
+            },
+            (row, references) -> {
+              String error = references.checkProductModule(row.getProductId(), row.getModuleId());
+              return error != null ? error : references.checkRequirement(row.getRequirementId());
+            },
+            taskService::createValidated);
+  }
+
+  public ImportJob importRequirements(MultipartFile file, String format) {
+    return submit("requirements", file, format, requirements);
+  }
+
+  public ImportJob importTasks(MultipartFile file, String format) {
+    return submit("tasks", file, format, tasks);
+  }
+
+  public ImportJob getJob(String id) {
+    return jobs.get(id);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> ImportJob submit(
+      String targetName, MultipartFile file, String format, Target<T> target) {
+    if (file == null || file.isEmpty()) {
+      throw new IllegalArgumentException("导入文件为空");
+    }
+    TransferFormat resolved = TransferFormat.resolve(format, file.getOriginalFilename());
+    Path spool;
+    try {
+      spool = Files.createTempFile("rdmanage-import-", "." + resolved.getExtension());
+      file.transferTo(spool);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    ImportJob job =
+        new ImportJob(
+            UUID.randomUUID().toString(),
+            targetName,
+            file.getOriginalFilename(),
+            resolved,
+            maxErrors);
+    jobs.put(job.getId(), job);
+    executor.execute(() -> run(job, spool, target));
+    return job;
+  }
+
+  private <T> void run(ImportJob job, Path spool, Target<T> target) {
+    job.start();
+    try (ImportRowReader reader = ImportRowReader.open(spool, job.getFormat(), objectMapper)) {
+      List<Line<T>> chunk = new ArrayList<>(chunkSize);
+      long rowsInChunk = 0;
+      ImportRowReader.Row row;
+      while ((row = reader.next()) != null) {
+        rowsInChunk++;
+        T value = parse(job, row, target.type);
+        if (value != null) {
+          chunk.add(new Line<>(row.line, value));
+        }
+        if (rowsInChunk == chunkSize) {
+          flush(job, chunk, rowsInChunk, target);
+          rowsInChunk = 0;
+        }
+      }
+      flush(job, chunk, rowsInChunk, target);
+      job.finish(ImportJob.Status.DONE, null);
+    } catch (IOException | RuntimeException ex) {
+      job.finish(ImportJob.Status.FAILED, "导入中断: " + ex.getMessage());
+    } finally {
+      try {
+        Files.deleteIfExists(spool);
+      } catch (IOException ignored) {
+        // temp dir cleanup will get it
+      }
+    }
+  }
+
+  private <T> T parse(ImportJob job, ImportRowReader.Row row, Class<T> type) {
+    if (row.error != null) {
+      job.addError(row.line, row.error);
+      return null;
+    }
+    T value;
+    try {
+      value = objectMapper.treeToValue(row.values, type);
+    } catch (JsonProcessingException | IllegalArgumentException ex) {
+      job.addError(row.line, "字段格式错误");
+      return null;
+    }
+    Set<ConstraintViolation<T>> violations = validator.validate(value);
+    if (!violations.isEmpty()) {
+      StringJoiner message = new StringJoiner("; ");
+      violations.forEach(
+          violation -> message.add(violation.getPropertyPath() + " " + violation.getMessage()));
+      job.addError(row.line, message.toString());
+      return null;
+    }
+    return value;
+  }
+
+  private <T> void flush(ImportJob job, List<Line<T>> chunk, long rows, Target<T> target) {
+    if (rows == 0) {
+      return;
+    }
+    List<T> values = new ArrayList<>(chunk.size());
+    chunk.forEach(line -> values.add(line.value));
+    ReferenceResolver.References references = target.resolve.apply(values);
+    List<T> valid = new ArrayList<>(values.size());
+    for (Line<T> line : chunk) {
+      String error = target.check.apply(line.value, references);
+      if (error != null) {
+        job.addError(line.number, error);
+      } else {
+        valid.add(line.value);
+      }
+    }
+    int created = valid.isEmpty() ? 0 : target.persist.apply(valid).size();
+    job.addProgress(rows, created);
+    chunk.clear();
+  }
+
+  private static final class Line<T> {
+    private final long number;
+    private final T value;
+
+    private Line(long number, T value) {
+      this.number = number;
+      this.value = value;
+    }
+  }
+
+  private static final class Target<T> {
+    private final Class<T> type;
+    private final Function<List<T>, ReferenceResolver.References> resolve;
+    private final BiFunction<T, ReferenceResolver.References, String> check;
+    private final Function<List<T>, List<Long>> persist;
+
+    private Target(
+        Class<T> type,
+        Function<List<T>, ReferenceResolver.References> resolve,
+        BiFunction<T, ReferenceResolver.References, String> check,
+        Function<List<T>, List<Long>> persist) {
+      this.type = type;
+      this.resolve = resolve;
+      this.check = check;
+      this.persist = persist;
+    }
+  }
+}
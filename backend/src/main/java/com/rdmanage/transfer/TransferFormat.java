@@ -0,0 +1,42 @@
+package com.rdmanage.transfer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+public enum TransferFormat {
+  CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+  NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+  private final String extension;
+  private final MediaType mediaType;
+
+  TransferFormat(String extension, MediaType mediaType) {
+    this.extension = extension;
+    this.mediaType = mediaType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  /** Explicit {@code format} wins; otherwise the file name decides, defaulting to CSV. */
+  static TransferFormat resolve(String format, String fileName) {
+    if (format != null && !format.isBlank()) {
+      try {
+        return valueOf(format.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException ex) {
+        throw new IllegalArgumentException("不支持的文件格式: " + format, ex);
+      }
+    }
+    String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+    if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+      return NDJSON;
+    }
+    return CSV;
+  }
+}
@@ -0,0 +1,38 @@
+-- Schema changes made after the ddl-auto release, applied to baselined and new databases alike.
+
+-- Keyset pagination on requirement / task lists: (updated_at, id) under the optional filters
+create index idx_requirement_updated on requirement (updated_at, id);
+create index idx_requirement_product_updated on requirement (product_id, updated_at, id);
+create index idx_requirement_product_module_updated
+  on requirement (product_id, module_id, updated_at, id);
+create index idx_task_item_updated on task_item (updated_at, id);
+create index idx_task_item_product_updated on task_item (product_id, updated_at, id);
+create index idx_task_item_product_module_updated
+  on task_item (product_id, module_id, updated_at, id);
+
+-- Batch inserts take ids from pooled table sequences instead of AUTO_INCREMENT. Each starts one
+-- allocation past the existing ids; IdSequenceInitializer keeps it there on every start.
+alter table requirement modify id bigint not null;
+alter table task_item modify id bigint not null;
+
+create table requirement_seq (
+  next_val bigint
+) engine=InnoDB;
+
+insert into requirement_seq select coalesce(max(id), 0) + 51 from requirement;
+
+create table task_item_seq (
+  next_val bigint
+) engine=InnoDB;
+
+insert into task_item_seq select coalesce(max(id), 0) + 51 from task_item;
+
+-- Menu configuration, previously only in data/menu-config.json
+create table menu_config (
+  id bigint not null,
+  version bigint,
+  content longtext not null,
+  content_hash varchar(64) not null,
+  updated_at datetime(6) not null,
+  primary key (id)
+) engine=InnoDB default charset=utf8mb4;
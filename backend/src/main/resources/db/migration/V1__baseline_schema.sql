@@ -0,0 +1,94 @@
+-- Schema of the release that still used hibernate ddl-auto=update. Databases created by that
+-- release already have these tables; they are baselined at version 1 and start from V1.1.
+
+create table product (
+  id bigint not null auto_increment,
+  code varchar(64) not null,
+  name varchar(128) not null,
+  owner varchar(64) not null,
+  status varchar(32) not null,
+  description text,
+  created_at datetime(6) not null,
+  updated_at datetime(6) not null,
+  primary key (id),
+  unique key uk_product_code (code)
+) engine=InnoDB default charset=utf8mb4;
+
+create table product_module (
+  id bigint not null auto_increment,
+  product_id bigint not null,
+  parent_id bigint,
+  level integer not null,
+  code varchar(64) not null,
+  name varchar(128) not null,
+  owner varchar(64),
+  sort_order integer not null,
+  status varchar(32) not null,
+  description text,
+  created_at datetime(6) not null,
+  updated_at datetime(6) not null,
+  primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+create table product_version (
+  id bigint not null auto_increment,
+  product_id bigint,
+  module_id bigint,
+  version_code varchar(64) not null,
+  name varchar(128) not null,
+  owner varchar(64) not null,
+  plan_release_date date not null,
+  actual_release_date date,
+  status varchar(32) not null,
+  description text,
+  created_at datetime(6) not null,
+  updated_at datetime(6) not null,
+  primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+create table requirement (
+  id bigint not null auto_increment,
+  product_id bigint,
+  module_id bigint,
+  code varchar(64) not null,
+  name varchar(128) not null,
+  description text,
+  priority varchar(32) not null,
+  status varchar(32) not null,
+  version_id bigint not null,
+  owner varchar(64) not null,
+  due_date date,
+  estimate_story_points integer,
+  created_at datetime(6) not null,
+  updated_at datetime(6) not null,
+  primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+create table task_item (
+  id bigint not null auto_increment,
+  product_id bigint,
+  module_id bigint,
+  requirement_id bigint not null,
+  title varchar(128) not null,
+  description text,
+  assignee varchar(64) not null,
+  status varchar(32) not null,
+  due_date date,
+  estimate_hours integer,
+  created_at datetime(6) not null,
+  updated_at datetime(6) not null,
+  primary key (id)
+) engine=InnoDB default charset=utf8mb4;
+
+create table dict_item (
+  id bigint not null auto_increment,
+  dict_type varchar(64) not null,
+  dict_code varchar(64) not null,
+  dict_label varchar(128) not null,
+  sort_order integer not null,
+  is_active integer not null,
+  remark varchar(255),
+  created_at datetime(6) not null,
+  updated_at datetime(6) not null,
+  primary key (id)
+) engine=InnoDB default charset=utf8mb4;
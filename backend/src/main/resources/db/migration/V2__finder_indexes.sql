@@ -0,0 +1,17 @@
+-- Indexes behind the repository finders that were scanning before.
+
+-- VersionRepository.findByProductId / findByProductIdAndModuleId
+create index idx_product_version_product_module on product_version (product_id, module_id);
+
+-- ProductModuleRepository.findByProductId / findByProductIdAndParentId
+create index idx_product_module_product_parent on product_module (product_id, parent_id);
+
+-- RequirementRepository.existsByVersionId, checked on every version delete
+create index idx_requirement_version on requirement (version_id);
+
+-- Task export filtered by version goes through requirement_id
+create index idx_task_item_requirement on task_item (requirement_id);
+
+-- Open / overdue views filter by status and sort or range on due date
+create index idx_requirement_status_due on requirement (status, due_date);
+create index idx_task_item_status_due on task_item (status, due_date);
@@ -0,0 +1,26 @@
+-- Per-requirement task counters, kept up to date by delta updates from TaskService.
+create table requirement_progress (
+  requirement_id bigint not null,
+  task_count integer not null,
+  todo_count integer not null,
+  in_progress_count integer not null,
+  blocked_count integer not null,
+  done_count integer not null,
+  estimate_hours_total bigint not null,
+  estimate_hours_done bigint not null,
+  primary key (requirement_id)
+) engine=InnoDB;
+
+insert into requirement_progress
+select
+  requirement_id,
+  count(*),
+  sum(case when status = 'TODO' then 1 else 0 end),
+  sum(case when status = 'IN_PROGRESS' then 1 else 0 end),
+  sum(case when status = 'BLOCKED' then 1 else 0 end),
+  sum(case when status = 'DONE' then 1 else 0 end),
+  coalesce(sum(estimate_hours), 0),
+  coalesce(sum(case when status = 'DONE' then estimate_hours else 0 end), 0)
+from task_item
+where requirement_id in (select id from requirement)
+group by requirement_id;
@@ -0,0 +1,21 @@
+-- Transactional outbox behind GET /api/changes: one row per entity write, in commit transaction.
+create table change_log (
+  seq bigint not null,
+  entity varchar(32) not null,
+  entity_id bigint not null,
+  op varchar(8) not null,
+  changed_at datetime(6) not null,
+  primary key (seq),
+  -- Compaction joins each row to newer rows for the same entity.
+  index idx_change_log_entity (entity, entity_id, seq)
+) engine=InnoDB;
+
+-- Single counter row that numbers change_log. ChangeLog bumps it just before commit and keeps
+-- its lock until the transaction ends, so seq follows commit order with no holes.
+create table change_log_seq (
+  id int not null,
+  next_val bigint not null,
+  primary key (id)
+) engine=InnoDB;
+
+insert into change_log_seq (id, next_val) values (1, 0);
@@ -0,0 +1,137 @@
+package com.rdmanage.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.http.Cookie;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routing against two embedded databases that each hold a marker row naming themselves, so a
+ * read reports which one served it. The replica's lag comes from a table the test controls.
+ */
+@SpringBootTest(
+    classes = ReadRoutingTest.Config.class,
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+      "spring.datasource.url=" + ReadRoutingTest.PRIMARY_URL,
+      "spring.datasource.username=sa",
+      "spring.datasource.password=",
+      "spring.datasource.driver-class-name=org.h2.Driver",
+      "rdmanage.datasource.replica.url=" + ReadRoutingTest.REPLICA_URL,
+      "rdmanage.datasource.replica.lag-query=select seconds as Seconds_Behind_Source from lag",
+      "rdmanage.datasource.replica.max-lag-seconds=2"
+    })
+class ReadRoutingTest {
+  static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+  static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+  @Configuration(proxyBeanMethods = false)
+  @ImportAutoConfiguration({
+    DataSourceAutoConfiguration.class,
+    DataSourceTransactionManagerAutoConfiguration.class,
+    JdbcTemplateAutoConfiguration.class,
+    TransactionAutoConfiguration.class,
+    AopAutoConfiguration.class
+  })
+  @Import({ReadReplicaConfiguration.class, ReplicaReadAspect.class, MarkerReader.class})
+  static class Config {}
+
+  @Component
+  static class MarkerReader {
+    private final JdbcTemplate jdbcTemplate;
+
+    MarkerReader(JdbcTemplate jdbcTemplate) {
+      this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @ReplicaRead
+    public String servedBy() {
+      return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+  }
+
+  @Autowired private MarkerReader reader;
+  @Autowired private ReplicaLagMonitor lagMonitor;
+  @Autowired private FilterRegistrationBean<ReadYourWritesFilter> readYourWrites;
+
+  @BeforeEach
+  void setUp() {
+    marker(PRIMARY_URL, "primary");
+    JdbcTemplate replica = marker(REPLICA_URL, "replica");
+    replica.execute("drop table if exists lag");
+    replica.execute("create table lag (seconds bigint)");
+    replica.update("insert into lag values (0)");
+    lagMonitor.check();
+  }
+
+  @Test
+  void replicaReadGoesToReplica() {
+    assertThat(reader.servedBy()).isEqualTo("replica");
+  }
+
+  @Test
+  void readYourWritesWindowPinsPrimary() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/requirements");
+    request.setCookies(
+        new Cookie(
+            ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 60_000)));
+    AtomicReference<String> servedBy = new AtomicReference<>();
+
+    readYourWrites
+        .getFilter()
+        .doFilter(
+            request, new MockHttpServletResponse(), (req, res) -> servedBy.set(reader.servedBy()));
+
+    assertThat(servedBy).hasValue("primary");
+    assertThat(reader.servedBy()).isEqualTo("replica");
+  }
+
+  @Test
+  void laggingReplicaFallsBackToPrimary() {
+    new JdbcTemplate(database(REPLICA_URL)).update("update lag set seconds = 30");
+    lagMonitor.check();
+
+    assertThat(reader.servedBy()).isEqualTo("primary");
+  }
+
+  @Test
+  void commitsNewerThanReplicaPinPrimary() {
+    ReadRouting.requireFreshSince(System.currentTimeMillis());
+    try {
+      assertThat(reader.servedBy()).isEqualTo("primary");
+    } finally {
+      ReadRouting.clearFreshness();
+    }
+  }
+
+  private static JdbcTemplate marker(String url, String name) {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(database(url));
+    jdbcTemplate.execute("drop table if exists marker");
+    jdbcTemplate.execute("create table marker (name varchar(16))");
+    jdbcTemplate.update("insert into marker values (?)", name);
+    return jdbcTemplate;
+  }
+
+  private static DataSource database(String url) {
+    return new DriverManagerDataSource(url, "sa", "");
+  }
+}
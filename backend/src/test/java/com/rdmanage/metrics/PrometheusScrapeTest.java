@@ -0,0 +1,45 @@
+package com.rdmanage.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** The meters dashboards are built on must all show up in one scrape. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PrometheusScrapeTest {
+  @Autowired private MockMvc mockMvc;
+
+  @Test
+  void scrapeHasHandlerTaggedRequestsAndPoolAndHibernateMeters() throws Exception {
+    mockMvc
+        .perform(get("/api/products"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("X-SQL-Count"));
+
+    String scrape =
+        mockMvc
+            .perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    assertThat(scrape)
+        .containsPattern(
+            "http_server_requests_seconds_count\\{[^}]*handler=\"ProductController\\.list\"")
+        .contains("hibernate_")
+        .contains("hikaricp_");
+  }
+}
@@ -0,0 +1,101 @@
+package com.rdmanage.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.rdmanage.query.FilterTerm.Operator;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FilterParserTest {
+  @Test
+  void blankQueryHasNoTerms() {
+    assertThat(FilterParser.parse(null)).isEmpty();
+    assertThat(FilterParser.parse("  ")).isEmpty();
+  }
+
+  @Test
+  void parsesEachOperator() {
+    List<FilterTerm> terms =
+        FilterParser.parse(
+            "status:OPEN owner:li* name:~登录 due<2026-11-01 due<=2026-11-02"
+                + " due>2026-10-01 due>=2026-10-02");
+
+    assertThat(terms)
+        .extracting(FilterTerm::getField, FilterTerm::getOperator, FilterTerm::getValues)
+        .containsExactly(
+            tuple("status", Operator.EQ, List.of("OPEN")),
+            tuple("owner", Operator.PREFIX, List.of("li")),
+            tuple("name", Operator.CONTAINS, List.of("登录")),
+            tuple("due", Operator.LT, List.of("2026-11-01")),
+            tuple("due", Operator.LE, List.of("2026-11-02")),
+            tuple("due", Operator.GT, List.of("2026-10-01")),
+            tuple("due", Operator.GE, List.of("2026-10-02")));
+  }
+
+  @Test
+  void commaListBecomesIn() {
+    FilterTerm term = FilterParser.parse("priority:HIGH,URGENT,").get(0);
+
+    assertThat(term.getOperator()).isEqualTo(Operator.EQ);
+    assertThat(term.getValues()).containsExactly("HIGH", "URGENT");
+  }
+
+  @Test
+  void quotedValueKeepsCommasAndSpaces() {
+    FilterTerm term = FilterParser.parse("name:\"a, b\"").get(0);
+
+    assertThat(term.getOperator()).isEqualTo(Operator.EQ);
+    assertThat(term.getValues()).containsExactly("a, b");
+  }
+
+  @Test
+  void quotedValueEndingInStarIsNotPrefix() {
+    FilterTerm term = FilterParser.parse("name:\"v2*\"").get(0);
+
+    assertThat(term.getOperator()).isEqualTo(Operator.EQ);
+    assertThat(term.getValues()).containsExactly("v2*");
+  }
+
+  @Test
+  void leadingMinusNegates() {
+    FilterTerm term = FilterParser.parse("-status:DONE").get(0);
+
+    assertThat(term.isNegated()).isTrue();
+    assertThat(term.getField()).isEqualTo("status");
+  }
+
+  @Test
+  void bareWordsAreKeywords() {
+    assertThat(FilterParser.parse("登录 \"two words\" 2026"))
+        .extracting(FilterTerm::getField, FilterTerm::getOperator, FilterTerm::getValues)
+        .containsExactly(
+            tuple(null, Operator.KEYWORD, List.of("登录")),
+            tuple(null, Operator.KEYWORD, List.of("two words")),
+            tuple(null, Operator.KEYWORD, List.of("2026")));
+  }
+
+  @Test
+  void rejectsMissingValues() {
+    for (String q : List.of("status:", "status:,", "status:, ,", "status:\"\"", "due<")) {
+      assertThatThrownBy(() -> FilterParser.parse(q))
+          .as(q)
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Test
+  void rejectsUnclosedQuote() {
+    assertThatThrownBy(() -> FilterParser.parse("name:\"open"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejectsTooManyTerms() {
+    String q = String.join(" ", Collections.nCopies(21, "status:OPEN"));
+
+    assertThatThrownBy(() -> FilterParser.parse(q)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
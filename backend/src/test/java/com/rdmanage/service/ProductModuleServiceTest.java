@@ -0,0 +1,76 @@
+package com.rdmanage.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rdmanage.dto.CreateProductModuleRequest;
+import com.rdmanage.dto.CreateProductRequest;
+import com.rdmanage.dto.ModuleTreeNode;
+import com.rdmanage.dto.UpdateProductModuleRequest;
+import com.rdmanage.model.ProductModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductModuleServiceTest {
+  @Autowired private ProductService productService;
+  @Autowired private ProductModuleService productModuleService;
+  @Autowired private ModuleTreeCache moduleTreeCache;
+
+  @Test
+  void createsModuleWithoutOwner() {
+    Long productId = product("PM-NO-OWNER");
+    CreateProductModuleRequest request = new CreateProductModuleRequest();
+    request.setProductId(productId);
+    request.setLevel(1);
+    request.setCode("M1");
+    request.setName("无负责人模块");
+
+    ProductModule module = productModuleService.create(request);
+
+    assertThat(module.getId()).isNotNull();
+    assertThat(module.getOwner()).isNull();
+    assertThat(productModuleService.tree(productId))
+        .extracting(ModuleTreeNode::getId)
+        .containsExactly(module.getId());
+  }
+
+  @Test
+  void rejectedUpdateLeavesNoTraceInTree() {
+    Long productId = product("PM-REJECTED");
+    ProductModule parent = productModuleService.create(module(productId, "P"));
+    ProductModule child = productModuleService.create(module(productId, "C"));
+    moduleTreeCache.evict(productId);
+    UpdateProductModuleRequest request = new UpdateProductModuleRequest();
+    request.setParentId(parent.getId());
+    request.setLevel(3);
+
+    assertThatThrownBy(() -> productModuleService.update(child.getId(), request))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(productModuleService.tree(productId))
+        .extracting(ModuleTreeNode::getId)
+        .containsExactly(parent.getId(), child.getId());
+  }
+
+  private static CreateProductModuleRequest module(Long productId, String code) {
+    CreateProductModuleRequest request = new CreateProductModuleRequest();
+    request.setProductId(productId);
+    request.setLevel(1);
+    request.setCode(code);
+    request.setName(code);
+    request.setOwner("李四");
+    return request;
+  }
+
+  private Long product(String code) {
+    CreateProductRequest request = new CreateProductRequest();
+    request.setCode(code);
+    request.setName(code);
+    request.setOwner("张三");
+    return productService.create(request).getId();
+  }
+}
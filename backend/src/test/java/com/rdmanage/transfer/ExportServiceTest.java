@@ -0,0 +1,104 @@
+package com.rdmanage.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rdmanage.dto.CreateProductModuleRequest;
+import com.rdmanage.dto.CreateProductRequest;
+import com.rdmanage.dto.CreateRequirementRequest;
+import com.rdmanage.dto.CreateTaskRequest;
+import com.rdmanage.dto.CreateVersionRequest;
+import com.rdmanage.model.ProductModule;
+import com.rdmanage.model.Requirement;
+import com.rdmanage.service.ProductModuleService;
+import com.rdmanage.service.ProductService;
+import com.rdmanage.service.RequirementService;
+import com.rdmanage.service.TaskService;
+import com.rdmanage.service.VersionService;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Exports run on the test database too, not only on Connector/J's streaming fetch size. */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportServiceTest {
+  @Autowired private ProductService productService;
+  @Autowired private ProductModuleService productModuleService;
+  @Autowired private VersionService versionService;
+  @Autowired private RequirementService requirementService;
+  @Autowired private TaskService taskService;
+  @Autowired private ExportService exportService;
+
+  private Long productId;
+  private Long versionId;
+
+  @BeforeEach
+  void setUp() {
+    CreateProductRequest product = new CreateProductRequest();
+    product.setCode("EXPORT-" + System.nanoTime());
+    product.setName("导出");
+    product.setOwner("张三");
+    productId = productService.create(product).getId();
+
+    CreateProductModuleRequest module = new CreateProductModuleRequest();
+    module.setProductId(productId);
+    module.setLevel(1);
+    module.setCode("M");
+    module.setName("模块");
+    ProductModule saved = productModuleService.create(module);
+
+    CreateVersionRequest version = new CreateVersionRequest();
+    version.setProductId(productId);
+    version.setModuleId(saved.getId());
+    version.setVersionCode("v1");
+    version.setName("v1");
+    version.setOwner("张三");
+    version.setPlanReleaseDate(LocalDate.of(2026, 12, 1));
+    versionId = versionService.create(version).getId();
+
+    CreateRequirementRequest requirement = new CreateRequirementRequest();
+    requirement.setProductId(productId);
+    requirement.setModuleId(saved.getId());
+    requirement.setCode("REQ-EXPORT");
+    requirement.setName("导出需求");
+    requirement.setPriority("HIGH");
+    requirement.setVersionId(versionId);
+    requirement.setOwner("张三");
+    Requirement savedRequirement = requirementService.create(requirement);
+
+    CreateTaskRequest task = new CreateTaskRequest();
+    task.setProductId(productId);
+    task.setModuleId(saved.getId());
+    task.setRequirementId(savedRequirement.getId());
+    task.setTitle("导出任务");
+    task.setAssignee("李四");
+    taskService.create(task);
+  }
+
+  @Test
+  void exportsRequirementsOfProduct() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.exportRequirements(productId, null, null, null, TransferFormat.CSV, out);
+
+    String csv = out.toString(StandardCharsets.UTF_8);
+    assertThat(csv.lines()).hasSize(2);
+    assertThat(csv).contains("REQ-EXPORT");
+  }
+
+  @Test
+  void exportsTasksOfVersion() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.exportTasks(null, null, versionId, null, TransferFormat.NDJSON, out);
+
+    String ndjson = out.toString(StandardCharsets.UTF_8);
+    assertThat(ndjson.lines()).hasSize(1);
+    assertThat(ndjson).contains("导出任务");
+  }
+}
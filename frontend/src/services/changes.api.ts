@@ -0,0 +1,16 @@
+﻿import type { ChangeFeed } from "../types/domain";
+import { httpGet } from "./http";
+
+/**
+ * Position to poll from. Fetch it before loading the collections it applies to, so nothing
+ * written while they load is missed; replaying a change that was already loaded is harmless.
+ */
+export async function fetchChangeHead() {
+  const feed = await httpGet<ChangeFeed>("/api/changes");
+  return feed.next;
+}
+
+/** Latest change per row after `since`; call again with `next` while `hasMore` is set. */
+export function fetchChanges(since: number, limit = 500) {
+  return httpGet<ChangeFeed>(`/api/changes?since=${since}&limit=${limit}`);
+}
@@ -2,7 +2,12 @@
 import { httpDelete, httpGet, httpPost, httpPut } from "./http";
 
 export function listDictItems() {
-  return httpGet<DictItem[]>("/api/dicts");
+  return httpGet<DictItem[]>("/api/dicts?includeInactive=true");
+}
+
+export function listActiveDictItems(type?: string) {
+  const suffix = type ? `?type=${encodeURIComponent(type)}` : "";
+  return httpGet<DictItem[]>(`/api/dicts${suffix}`);
 }
 
 export function createDictItem(payload: Partial<DictItem>) {
@@ -1,10 +1,14 @@
-﻿import type { ProductModule } from "../types/domain";
+﻿import type { ProductModule, ProductModuleTreeNode } from "../types/domain";
 import { httpDelete, httpGet, httpPost, httpPut } from "./http";
 
 export function listModules() {
   return httpGet<ProductModule[]>("/api/modules");
 }
 
+export function listModuleTree(productId: number) {
+  return httpGet<ProductModuleTreeNode[]>(`/api/modules/tree?productId=${productId}`);
+}
+
 export function createModule(payload: Partial<ProductModule>) {
   return httpPost<ProductModule>("/api/modules", payload);
 }
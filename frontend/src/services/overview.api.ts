@@ -0,0 +1,10 @@
+﻿import type { OverviewStats } from "../types/domain";
+import { httpGet } from "./http";
+
+export function getOverviewStats(query?: { productId?: number; moduleId?: number }) {
+  const params = new URLSearchParams();
+  if (query?.productId != null) params.set("productId", String(query.productId));
+  if (query?.moduleId != null) params.set("moduleId", String(query.moduleId));
+  const suffix = params.toString() ? `?${params.toString()}` : "";
+  return httpGet<OverviewStats>(`/api/overview/stats${suffix}`);
+}
@@ -0,0 +1,6 @@
+﻿import { httpGet } from "./http";
+
+export function suggestPeople(prefix: string, limit = 10) {
+  const params = new URLSearchParams({ prefix, limit: String(limit) });
+  return httpGet<string[]>(`/api/people/suggest?${params.toString()}`);
+}
@@ -1,8 +1,9 @@
 ﻿import type { Product } from "../types/domain";
 import { httpDelete, httpGet, httpPost, httpPut } from "./http";
 
-export function listProducts() {
-  return httpGet<Product[]>("/api/products");
+export function listProducts(q?: string) {
+  const suffix = q ? `?q=${encodeURIComponent(q)}` : "";
+  return httpGet<Product[]>(`/api/products${suffix}`);
 }
 
 export function createProduct(payload: Partial<Product>) {
@@ -1,19 +1,38 @@
-﻿import type { Requirement } from "../types/domain";
+﻿import type { CursorPage, Requirement } from "../types/domain";
 import { httpDelete, httpGet, httpPost, httpPut } from "./http";
 
 export type RequirementQuery = {
   productId?: number;
   moduleId?: number;
+  q?: string;
 };
 
 export function listRequirements(query?: RequirementQuery) {
   const params = new URLSearchParams();
   if (query?.productId != null) params.set("productId", String(query.productId));
   if (query?.moduleId != null) params.set("moduleId", String(query.moduleId));
+  if (query?.q) params.set("q", query.q);
   const suffix = params.toString() ? `?${params.toString()}` : "";
   return httpGet<Requirement[]>(`/api/requirements${suffix}`);
 }
 
+export type RequirementPageQuery = RequirementQuery & {
+  cursor?: string | null;
+  limit: number;
+  withTotal?: boolean;
+};
+
+export function listRequirementPage(query: RequirementPageQuery) {
+  const params = new URLSearchParams();
+  if (query.productId != null) params.set("productId", String(query.productId));
+  if (query.moduleId != null) params.set("moduleId", String(query.moduleId));
+  if (query.q) params.set("q", query.q);
+  if (query.cursor) params.set("cursor", query.cursor);
+  if (query.withTotal) params.set("withTotal", "true");
+  params.set("limit", String(query.limit));
+  return httpGet<CursorPage<Requirement>>(`/api/requirements?${params.toString()}`);
+}
+
 export function createRequirement(payload: Partial<Requirement>) {
   return httpPost<Requirement>("/api/requirements", payload);
 }
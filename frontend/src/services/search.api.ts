@@ -0,0 +1,17 @@
+﻿import type { SearchHit } from "../types/domain";
+import { httpGet } from "./http";
+
+export type SearchQuery = {
+  q: string;
+  type?: SearchHit["type"];
+  productId?: number;
+  limit?: number;
+};
+
+export function search(query: SearchQuery) {
+  const params = new URLSearchParams({ q: query.q });
+  if (query.type) params.set("type", query.type);
+  if (query.productId != null) params.set("productId", String(query.productId));
+  if (query.limit != null) params.set("limit", String(query.limit));
+  return httpGet<SearchHit[]>(`/api/search?${params.toString()}`);
+}
@@ -1,19 +1,38 @@
-﻿import type { TaskItem } from "../types/domain";
+﻿import type { CursorPage, TaskItem } from "../types/domain";
 import { httpDelete, httpGet, httpPost, httpPut } from "./http";
 
 export type TaskQuery = {
   productId?: number;
   moduleId?: number;
+  q?: string;
 };
 
 export function listTasks(query?: TaskQuery) {
   const params = new URLSearchParams();
   if (query?.productId != null) params.set("productId", String(query.productId));
   if (query?.moduleId != null) params.set("moduleId", String(query.moduleId));
+  if (query?.q) params.set("q", query.q);
   const suffix = params.toString() ? `?${params.toString()}` : "";
   return httpGet<TaskItem[]>(`/api/tasks${suffix}`);
 }
 
+export type TaskItemPageQuery = TaskQuery & {
+  cursor?: string | null;
+  limit: number;
+  withTotal?: boolean;
+};
+
+export function listTaskPage(query: TaskItemPageQuery) {
+  const params = new URLSearchParams();
+  if (query.productId != null) params.set("productId", String(query.productId));
+  if (query.moduleId != null) params.set("moduleId", String(query.moduleId));
+  if (query.q) params.set("q", query.q);
+  if (query.cursor) params.set("cursor", query.cursor);
+  if (query.withTotal) params.set("withTotal", "true");
+  params.set("limit", String(query.limit));
+  return httpGet<CursorPage<TaskItem>>(`/api/tasks?${params.toString()}`);
+}
+
 export function createTask(payload: Partial<TaskItem>) {
   return httpPost<TaskItem>("/api/tasks", payload);
 }
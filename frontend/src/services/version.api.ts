@@ -4,12 +4,14 @@ import { httpDelete, httpGet, httpPost, httpPut } from "./http";
 export type VersionQuery = {
   productId?: number;
   moduleId?: number;
+  q?: string;
 };
 
 export function listVersions(query?: VersionQuery) {
   const params = new URLSearchParams();
   if (query?.productId != null) params.set("productId", String(query.productId));
   if (query?.moduleId != null) params.set("moduleId", String(query.moduleId));
+  if (query?.q) params.set("q", query.q);
   const suffix = params.toString() ? `?${params.toString()}` : "";
   return httpGet<Version[]>(`/api/versions${suffix}`);
 }
@@ -24,6 +24,18 @@ export type Requirement = {
   owner: string;
   dueDate?: string;
   estimateStoryPoints?: number;
+  progress?: RequirementProgress;
+};
+
+export type RequirementProgress = {
+  requirementId: number;
+  taskCount: number;
+  todoCount: number;
+  inProgressCount: number;
+  blockedCount: number;
+  doneCount: number;
+  estimateHoursTotal: number;
+  estimateHoursDone: number;
 };
 
 export type TaskItem = {
@@ -39,6 +51,31 @@ export type TaskItem = {
   estimateHours?: number;
 };
 
+export type CursorPage<T> = {
+  items: T[];
+  nextCursor?: string | null;
+  hasMore: boolean;
+  approxTotal?: number | null;
+};
+
+export type OverviewStats = {
+  productId?: number | null;
+  moduleId?: number | null;
+  totalVersions: number;
+  inProgressVersions: number;
+  totalRequirements: number;
+  highPriorityRequirements: number;
+  doneRequirements: number;
+  totalTasks: number;
+  pendingTasks: number;
+  blockedTasks: number;
+  versionsByStatus: Record<string, number>;
+  requirementsByStatus: Record<string, number>;
+  requirementsByPriority: Record<string, number>;
+  tasksByStatus: Record<string, number>;
+  generatedAt: string;
+};
+
 export type DictItem = {
   id?: number;
   dictType: string;
@@ -71,6 +108,19 @@ export type ProductModule = {
   sortOrder?: number;
 };
 
+export type ProductModuleTreeNode = ProductModule & {
+  children: ProductModuleTreeNode[];
+};
+
+export type SearchHit = {
+  type: "REQUIREMENT" | "TASK";
+  id: number;
+  productId?: number;
+  moduleId?: number;
+  title: string;
+  score: number;
+};
+
 export type MenuKey =
   | "overview"
   | "products"
@@ -93,3 +143,19 @@ export type MenuItem = {
   iconDataUrl?: string;
   children?: MenuItem[];
 };
+
+export type ChangeEntity = "product" | "module" | "version" | "requirement" | "task" | "dict";
+
+export type ChangeRecord = {
+  seq: number;
+  entity: ChangeEntity;
+  id: number;
+  op: "UPSERT" | "DELETE";
+  data?: unknown;
+};
+
+export type ChangeFeed = {
+  changes: ChangeRecord[];
+  next: number;
+  hasMore: boolean;
+};
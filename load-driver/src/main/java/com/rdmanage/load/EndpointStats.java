@@ -0,0 +1,68 @@
+package com.rdmanage.load;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Outcome counters and a latency histogram for one operation. Latency is measured in
+ * microseconds from when the request was due to be sent, not from when it was sent, so a stalled
+ * backend shows up in the tail instead of quietly lowering the offered load.
+ */
+final class EndpointStats {
+  final String name;
+  private final Recorder recorder = new Recorder(3);
+  final LongAdder ok = new LongAdder();
+  final LongAdder notModified = new LongAdder();
+  final LongAdder clientErrors = new LongAdder();
+  final LongAdder serverErrors = new LongAdder();
+  final LongAdder failures = new LongAdder();
+  final LongAdder dropped = new LongAdder();
+  final LongAdder skipped = new LongAdder();
+
+  EndpointStats(String name) {
+    this.name = name;
+  }
+
+  void record(int status, long latencyMicros) {
+    recorder.recordValue(latencyMicros);
+    if (status == 304) {
+      notModified.increment();
+    } else if (status < 400) {
+      ok.increment();
+    } else if (status < 500) {
+      clientErrors.increment();
+    } else {
+      serverErrors.increment();
+    }
+  }
+
+  void recordFailure(long latencyMicros) {
+    recorder.recordValue(latencyMicros);
+    failures.increment();
+  }
+
+  /** Forgets everything recorded so far; called when warmup ends. */
+  void reset() {
+    recorder.getIntervalHistogram();
+    ok.reset();
+    notModified.reset();
+    clientErrors.reset();
+    serverErrors.reset();
+    failures.reset();
+    dropped.reset();
+    skipped.reset();
+  }
+
+  Histogram histogram() {
+    return recorder.getIntervalHistogram();
+  }
+
+  long errors() {
+    return clientErrors.sum() + serverErrors.sum() + failures.sum() + dropped.sum();
+  }
+
+  long attempts() {
+    return ok.sum() + notModified.sum() + errors();
+  }
+}
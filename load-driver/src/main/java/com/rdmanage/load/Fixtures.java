@@ -0,0 +1,102 @@
+package com.rdmanage.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ids the operations need, sampled from the running backend before the run starts. Rows the run
+ * creates are added, so later updates also hit fresh rows. Pools are only appended to.
+ */
+final class Fixtures {
+  /** A module and the product and versions it can be combined with in a valid write. */
+  static final class Scope {
+    final long productId;
+    final long moduleId;
+    final List<Long> versionIds;
+
+    Scope(long productId, long moduleId, List<Long> versionIds) {
+      this.productId = productId;
+      this.moduleId = moduleId;
+      this.versionIds = versionIds;
+    }
+  }
+
+  final List<Long> productIds = new ArrayList<>();
+  final List<Scope> scopes = new ArrayList<>();
+  final List<Long> moduleIds = new ArrayList<>();
+  final List<Long> versionIds = new CopyOnWriteArrayList<>();
+  final List<Long> requirementIds = new CopyOnWriteArrayList<>();
+  final List<Long> taskIds = new CopyOnWriteArrayList<>();
+  final List<JsonNode> dictItems = new ArrayList<>();
+  byte[] menuConfig;
+
+  static Fixtures discover(HttpClient client, ObjectMapper mapper, LoadConfig config)
+      throws IOException, InterruptedException {
+    Fixtures fixtures = new Fixtures();
+    JsonNode products = get(client, mapper, config.baseUrl + "/api/products");
+    for (JsonNode product : products) {
+      if (fixtures.productIds.size() >= config.products) {
+        break;
+      }
+      long productId = product.get("id").asLong();
+      String scope = "productId=" + productId;
+      List<Long> versions = new ArrayList<>();
+      get(client, mapper, config.baseUrl + "/api/versions?" + scope)
+          .forEach(version -> versions.add(version.get("id").asLong()));
+      JsonNode modules = get(client, mapper, config.baseUrl + "/api/modules?" + scope);
+      if (versions.isEmpty() || modules.isEmpty()) {
+        continue;
+      }
+      fixtures.productIds.add(productId);
+      fixtures.versionIds.addAll(versions);
+      for (JsonNode module : modules) {
+        fixtures.moduleIds.add(module.get("id").asLong());
+        fixtures.scopes.add(new Scope(productId, module.get("id").asLong(), versions));
+      }
+      get(client, mapper, config.baseUrl + "/api/requirements?limit=200&" + scope)
+          .path("items")
+          .forEach(item -> fixtures.requirementIds.add(item.get("id").asLong()));
+      get(client, mapper, config.baseUrl + "/api/tasks?limit=200&" + scope)
+          .path("items")
+          .forEach(item -> fixtures.taskIds.add(item.get("id").asLong()));
+    }
+    if (fixtures.scopes.isEmpty()) {
+      throw new IllegalStateException(
+          "no product with modules and versions at " + config.baseUrl + "; load some data first");
+    }
+    get(client, mapper, config.baseUrl + "/api/dicts?includeInactive=true")
+        .forEach(fixtures.dictItems::add);
+    fixtures.menuConfig =
+        client
+            .send(
+                HttpRequest.newBuilder(URI.create(config.baseUrl + "/api/menu-config")).build(),
+                HttpResponse.BodyHandlers.ofByteArray())
+            .body();
+    return fixtures;
+  }
+
+  private static JsonNode get(HttpClient client, ObjectMapper mapper, String url)
+      throws IOException, InterruptedException {
+    HttpResponse<byte[]> response =
+        client.send(
+            HttpRequest.newBuilder(URI.create(url)).build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() != 200) {
+      throw new IOException("GET " + url + " answered " + response.statusCode());
+    }
+    return mapper.readTree(response.body());
+  }
+
+  static <T> T pick(SplittableRandom random, List<T> values) {
+    return values.isEmpty() ? null : values.get(random.nextInt(values.size()));
+  }
+}
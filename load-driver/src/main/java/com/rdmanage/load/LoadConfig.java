@@ -0,0 +1,91 @@
+package com.rdmanage.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Command line options; every option has a default so a bare run does something sensible. */
+final class LoadConfig {
+  String baseUrl = "http://localhost:8081";
+  double rate = 100;
+  int clients = 0;
+  boolean poisson = true;
+  Duration warmup = Duration.ofSeconds(10);
+  Duration duration = Duration.ofSeconds(60);
+  int maxInFlight = 1_000;
+  int products = 20;
+  long seed = 42;
+  boolean etags = true;
+  Path reportDir = Paths.get("target", "load-report");
+  double maxErrorRate = 0.01;
+  double maxP99Millis = 0;
+  final Map<String, Integer> mix = new LinkedHashMap<>(Operations.DEFAULT_MIX);
+
+  static final String USAGE =
+      String.join(
+          "\n",
+          "options:",
+          "  --base-url URL        backend to drive (http://localhost:8081)",
+          "  --rate N              requests per second, open loop (100)",
+          "  --arrival poisson|uniform  gaps between requests (poisson)",
+          "  --clients N           closed loop instead: N clients, each waits for its reply",
+          "  --warmup SECONDS      not recorded (10)",
+          "  --duration SECONDS    recorded (60)",
+          "  --max-in-flight N     beyond this requests are dropped and counted (1000)",
+          "  --products N          products sampled for ids at startup (20)",
+          "  --seed N              operation and payload choice (42)",
+          "  --etags true|false    replay ETags as the browser would (true)",
+          "  --mix op=w,op=w       override weights, e.g. requirements.page=50,dicts.list=0",
+          "  --report DIR          report directory (target/load-report)",
+          "  --max-error-rate R    exit 1 above this share of failed requests (0.01)",
+          "  --max-p99-ms MS       exit 1 if any endpoint's p99 is above this (off)");
+
+  static LoadConfig parse(String[] args) {
+    LoadConfig config = new LoadConfig();
+    for (int i = 0; i < args.length; i++) {
+      String option = args[i];
+      if (option.equals("--help")) {
+        throw new IllegalArgumentException(USAGE);
+      }
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("missing value for " + option + "\n" + USAGE);
+      }
+      String value = args[++i];
+      switch (option) {
+        case "--base-url" -> config.baseUrl = value.replaceAll("/+$", "");
+        case "--rate" -> config.rate = Double.parseDouble(value);
+        case "--clients" -> config.clients = Integer.parseInt(value);
+        case "--arrival" -> config.poisson = !value.equals("uniform");
+        case "--warmup" -> config.warmup = Duration.ofSeconds(Long.parseLong(value));
+        case "--duration" -> config.duration = Duration.ofSeconds(Long.parseLong(value));
+        case "--max-in-flight" -> config.maxInFlight = Integer.parseInt(value);
+        case "--products" -> config.products = Integer.parseInt(value);
+        case "--seed" -> config.seed = Long.parseLong(value);
+        case "--etags" -> config.etags = Boolean.parseBoolean(value);
+        case "--report" -> config.reportDir = Paths.get(value);
+        case "--max-error-rate" -> config.maxErrorRate = Double.parseDouble(value);
+        case "--max-p99-ms" -> config.maxP99Millis = Double.parseDouble(value);
+        case "--mix" -> {
+          for (String entry : value.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (!config.mix.containsKey(parts[0]) || parts.length != 2) {
+              throw new IllegalArgumentException(
+                  "unknown operation " + parts[0] + "; known: " + config.mix.keySet());
+            }
+            config.mix.put(parts[0], Integer.parseInt(parts[1]));
+          }
+        }
+        default -> throw new IllegalArgumentException("unknown option " + option + "\n" + USAGE);
+      }
+    }
+    if (config.rate <= 0 || config.clients < 0) {
+      throw new IllegalArgumentException("--rate must be positive and --clients not negative");
+    }
+    if (config.mix.values().stream().noneMatch(weight -> weight > 0)) {
+      throw new IllegalArgumentException("--mix leaves no operation with a positive weight");
+    }
+    return config;
+  }
+}
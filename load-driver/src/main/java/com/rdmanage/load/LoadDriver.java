@@ -0,0 +1,259 @@
+package com.rdmanage.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for a running backend. By default requests are issued open loop, on a fixed
+ * schedule (Poisson or evenly spaced arrivals at {@code --rate}) whether or not earlier ones have
+ * completed, which is how real users behave and what keeps queueing delay visible in the
+ * percentiles. {@code --clients} switches to a closed loop of that many clients for saturation
+ * comparisons. Prints and writes a per-operation latency report and exits non-zero when a
+ * configured check fails.
+ */
+public final class LoadDriver {
+  private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+  private static final int MAX_CONSECUTIVE_SKIPS = 1_000;
+
+  private final LoadConfig config;
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final HttpClient client;
+  private final Map<String, String> etags = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicInteger idleClients = new AtomicInteger();
+  private final List<Operation> chosen = new ArrayList<>();
+  private final List<Integer> cumulative = new ArrayList<>();
+  private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+  private Fixtures fixtures;
+  private int totalWeight;
+
+  private LoadDriver(LoadConfig config) {
+    this.config = config;
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadConfig config;
+    try {
+      config = LoadConfig.parse(args);
+    } catch (IllegalArgumentException ex) {
+      System.err.println(ex.getMessage());
+      System.exit(2);
+      return;
+    }
+    boolean passed = new LoadDriver(config).run();
+    System.exit(passed ? 0 : 1);
+  }
+
+  private boolean run() throws Exception {
+    fixtures = Fixtures.discover(client, mapper, config);
+    System.out.printf(
+        "fixtures: %d products, %d modules, %d versions, %d requirements, %d tasks%n",
+        fixtures.productIds.size(),
+        fixtures.moduleIds.size(),
+        fixtures.versionIds.size(),
+        fixtures.requirementIds.size(),
+        fixtures.taskIds.size());
+
+    Map<String, Operation> operations = new Operations(config.baseUrl, mapper).all(fixtures);
+    for (Map.Entry<String, Integer> entry : config.mix.entrySet()) {
+      if (entry.getValue() <= 0) {
+        continue;
+      }
+      totalWeight += entry.getValue();
+      chosen.add(operations.get(entry.getKey()));
+      cumulative.add(totalWeight);
+      stats.put(entry.getKey(), new EndpointStats(entry.getKey()));
+    }
+
+    long start = System.nanoTime();
+    long measureFrom = start + config.warmup.toNanos();
+    long end = measureFrom + config.duration.toNanos();
+    if (config.clients > 0) {
+      System.out.printf(
+          "driving %s with %d closed-loop clients: %ds warmup, %ds measured%n",
+          config.baseUrl, config.clients, config.warmup.toSeconds(), config.duration.toSeconds());
+      driveClosed(measureFrom, end);
+    } else {
+      System.out.printf(
+          "driving %s at %.0f req/s: %ds warmup, %ds measured%n",
+          config.baseUrl, config.rate, config.warmup.toSeconds(), config.duration.toSeconds());
+      driveOpen(start, measureFrom, end);
+    }
+
+    long drainUntil = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+      Thread.sleep(50);
+    }
+    LoadReport report = new LoadReport(config, stats.values(), mapper);
+    System.out.print(report.text());
+    System.out.println("report: " + config.reportDir.toAbsolutePath());
+    return report.passed();
+  }
+
+  private void driveOpen(long start, long measureFrom, long end) {
+    SplittableRandom random = new SplittableRandom(config.seed);
+    double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+    double due = start;
+    boolean measuring = config.warmup.isZero();
+    while (true) {
+      due += config.poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+      long intended = (long) due;
+      if (intended >= end) {
+        return;
+      }
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      if (!measuring && intended >= measureFrom) {
+        stats.values().forEach(EndpointStats::reset);
+        measuring = true;
+      }
+
+      Operation operation = next(random);
+      EndpointStats endpoint = stats.get(operation.name);
+      HttpRequest request = operation.factory.build(fixtures, random, sequence.incrementAndGet());
+      if (request == null) {
+        endpoint.skipped.increment();
+        continue;
+      }
+      if (inFlight.get() >= config.maxInFlight) {
+        endpoint.dropped.increment();
+        continue;
+      }
+      send(operation, endpoint, request, intended, null);
+    }
+  }
+
+  /**
+   * Each client sends its next request as soon as the previous reply arrives, so concurrency is
+   * fixed and throughput is whatever the server sustains. Latency here is service time only;
+   * use the open loop for latency under a given arrival rate.
+   */
+  private void driveClosed(long measureFrom, long end) throws InterruptedException {
+    SplittableRandom root = new SplittableRandom(config.seed);
+    for (int i = 0; i < config.clients; i++) {
+      SplittableRandom random = root.split();
+      loop(random, end);
+    }
+    awaitClients(measureFrom);
+    if (idleClients.get() < config.clients) {
+      // Otherwise keep the warmup's skips; they are all the report will have to show.
+      stats.values().forEach(EndpointStats::reset);
+    }
+    awaitClients(end);
+  }
+
+  /** Sleeps until {@code deadline}, or until every client has stopped. */
+  private void awaitClients(long deadline) throws InterruptedException {
+    long remaining;
+    while ((remaining = deadline - System.nanoTime()) > 0 && idleClients.get() < config.clients) {
+      TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+  }
+
+  /**
+   * A client whose draws keep landing on operations without fixtures (say a get/update-only mix
+   * against an empty database) stops instead of spinning; its skips show in the report.
+   */
+  private void loop(SplittableRandom random, long end) {
+    for (int skips = 0; System.nanoTime() < end; skips++) {
+      if (skips == MAX_CONSECUTIVE_SKIPS) {
+        if (idleClients.incrementAndGet() == 1) {
+          System.err.println(
+              "no request could be built in " + skips + " draws; check the mix and fixtures");
+        }
+        return;
+      }
+      Operation operation = next(random);
+      EndpointStats endpoint = stats.get(operation.name);
+      HttpRequest request = operation.factory.build(fixtures, random, sequence.incrementAndGet());
+      if (request == null) {
+        endpoint.skipped.increment();
+        continue;
+      }
+      send(operation, endpoint, request, System.nanoTime(), () -> loop(random, end));
+      return;
+    }
+  }
+
+  private Operation next(SplittableRandom random) {
+    int roll = random.nextInt(totalWeight);
+    int index = 0;
+    while (roll >= cumulative.get(index)) {
+      index++;
+    }
+    return chosen.get(index);
+  }
+
+  private void send(
+      Operation operation,
+      EndpointStats endpoint,
+      HttpRequest request,
+      long intended,
+      Runnable then) {
+    String url = request.uri().toString();
+    boolean conditional = config.etags && request.method().equals("GET");
+    if (conditional && etags.containsKey(url)) {
+      request =
+          HttpRequest.newBuilder(request, (name, value) -> true)
+              .header("If-None-Match", etags.get(url))
+              .build();
+    }
+    inFlight.incrementAndGet();
+    client
+        .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+        .whenComplete(
+            (response, error) -> {
+              long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+              inFlight.decrementAndGet();
+              if (error != null) {
+                endpoint.recordFailure(micros);
+              } else {
+                record(operation, endpoint, response, micros, conditional, url);
+              }
+              if (then != null) {
+                then.run();
+              }
+            });
+  }
+
+  private void record(
+      Operation operation,
+      EndpointStats endpoint,
+      HttpResponse<byte[]> response,
+      long micros,
+      boolean conditional,
+      String url) {
+    endpoint.record(response.statusCode(), micros);
+    if (conditional && response.statusCode() == 200) {
+      response.headers().firstValue("ETag").ifPresent(etag -> etags.put(url, etag));
+    }
+    if (operation.createdIds != null && response.statusCode() < 300) {
+      try {
+        operation.createdIds.add(mapper.readTree(response.body()).get("id").asLong());
+      } catch (Exception ex) {
+        // The call itself succeeded; only id capture failed.
+      }
+    }
+  }
+}
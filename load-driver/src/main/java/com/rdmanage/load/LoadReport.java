@@ -0,0 +1,162 @@
+package com.rdmanage.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Writes {@code summary.txt} (the table also printed to stdout), {@code summary.json} for
+ * comparing runs, and one {@code <operation>.hgrm} percentile distribution per operation that HDR
+ * histogram plotters read directly.
+ */
+final class LoadReport {
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private final List<String> failedChecks = new ArrayList<>();
+  private final String text;
+
+  LoadReport(LoadConfig config, Collection<EndpointStats> stats, ObjectMapper mapper)
+      throws IOException {
+    Files.createDirectories(config.reportDir);
+    double seconds = config.duration.toMillis() / 1000.0;
+    Histogram total = new Histogram(3);
+    long attempts = 0;
+    long errors = 0;
+    long skipped = 0;
+    StringBuilder table = new StringBuilder();
+    table.append(
+        String.format(
+            "%-22s %8s %8s %7s %6s %6s %6s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "req/s", "304", "4xx", "5xx", "fail", "p50 ms", "p90 ms",
+            "p99 ms", "p999 ms", "max ms"));
+    ObjectNode json = mapper.createObjectNode();
+    json.put("baseUrl", config.baseUrl);
+    if (config.clients > 0) {
+      json.put("clients", config.clients);
+    } else {
+      json.put("targetRate", config.rate);
+      json.put("arrival", config.poisson ? "poisson" : "uniform");
+    }
+    json.put("durationSeconds", seconds);
+    ArrayNode operations = json.putArray("operations");
+
+    for (EndpointStats endpoint : stats) {
+      Histogram histogram = endpoint.histogram();
+      skipped += endpoint.skipped.sum();
+      if (endpoint.attempts() == 0) {
+        continue;
+      }
+      total.add(histogram);
+      attempts += endpoint.attempts();
+      errors += endpoint.errors();
+      table.append(row(endpoint.name, endpoint, histogram, seconds));
+      ObjectNode node = operations.addObject();
+      node.put("name", endpoint.name);
+      fill(node, endpoint, histogram, seconds);
+      try (PrintStream out =
+          new PrintStream(
+              Files.newOutputStream(config.reportDir.resolve(endpoint.name + ".hgrm")),
+              false,
+              StandardCharsets.UTF_8)) {
+        histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+      double p99 = histogram.getValueAtPercentile(99) / MICROS_PER_MILLI;
+      if (config.maxP99Millis > 0 && p99 > config.maxP99Millis) {
+        failedChecks.add(
+            String.format(
+                "%s p99 %.1f ms is above %.1f ms", endpoint.name, p99, config.maxP99Millis));
+      }
+    }
+    double errorRate = attempts == 0 ? 0 : (double) errors / attempts;
+    if (errorRate > config.maxErrorRate) {
+      failedChecks.add(
+          String.format(
+              "error rate %.2f%% is above %.2f%%", errorRate * 100, config.maxErrorRate * 100));
+    }
+    table.append(
+        String.format(
+            "%-22s %8d %8.1f %41s%n",
+            "total", attempts, attempts / seconds, percentiles(total)));
+    table.append(String.format("errors: %d (%.2f%%)%n", errors, errorRate * 100));
+    if (skipped > 0) {
+      table.append(String.format("skipped: %d draws had no fixture to use%n", skipped));
+    }
+    failedChecks.forEach(check -> table.append("FAILED: ").append(check).append('\n'));
+    text = table.toString();
+
+    json.put("attempts", attempts);
+    json.put("errors", errors);
+    json.put("errorRate", errorRate);
+    json.put("skipped", skipped);
+    ObjectNode overall = json.putObject("latencyMillis");
+    putPercentiles(overall, total);
+    json.putPOJO("failedChecks", failedChecks);
+    mapper
+        .writerWithDefaultPrettyPrinter()
+        .writeValue(config.reportDir.resolve("summary.json").toFile(), json);
+    Files.writeString(config.reportDir.resolve("summary.txt"), text, StandardCharsets.UTF_8);
+  }
+
+  String text() {
+    return text;
+  }
+
+  boolean passed() {
+    return failedChecks.isEmpty();
+  }
+
+  private static String row(
+      String name, EndpointStats endpoint, Histogram histogram, double seconds) {
+    return String.format(
+        "%-22s %8d %8.1f %7d %6d %6d %6d %s%n",
+        name,
+        endpoint.attempts(),
+        endpoint.attempts() / seconds,
+        endpoint.notModified.sum(),
+        endpoint.clientErrors.sum(),
+        endpoint.serverErrors.sum(),
+        endpoint.failures.sum() + endpoint.dropped.sum(),
+        percentiles(histogram));
+  }
+
+  private static String percentiles(Histogram histogram) {
+    return String.format(
+        "%9.2f %9.2f %9.2f %9.2f %9.2f",
+        histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+        histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+        histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+        histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+        histogram.getMaxValue() / MICROS_PER_MILLI);
+  }
+
+  private static void fill(
+      ObjectNode node, EndpointStats endpoint, Histogram histogram, double seconds) {
+    node.put("count", endpoint.attempts());
+    node.put("rate", endpoint.attempts() / seconds);
+    node.put("ok", endpoint.ok.sum());
+    node.put("notModified", endpoint.notModified.sum());
+    node.put("clientErrors", endpoint.clientErrors.sum());
+    node.put("serverErrors", endpoint.serverErrors.sum());
+    node.put("failures", endpoint.failures.sum());
+    node.put("dropped", endpoint.dropped.sum());
+    node.put("skipped", endpoint.skipped.sum());
+    putPercentiles(node.putObject("latencyMillis"), histogram);
+  }
+
+  private static void putPercentiles(ObjectNode node, Histogram histogram) {
+    node.put("p50", histogram.getValueAtPercentile(50) / MICROS_PER_MILLI);
+    node.put("p90", histogram.getValueAtPercentile(90) / MICROS_PER_MILLI);
+    node.put("p99", histogram.getValueAtPercentile(99) / MICROS_PER_MILLI);
+    node.put("p999", histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+    node.put("max", histogram.getMaxValue() / MICROS_PER_MILLI);
+  }
+}
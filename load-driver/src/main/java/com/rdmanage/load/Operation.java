@@ -0,0 +1,24 @@
+package com.rdmanage.load;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** One kind of call the SPA makes, e.g. {@code requirements.page}. */
+final class Operation {
+  interface RequestFactory {
+    /** Returns null when the fixtures cannot supply what the call needs. */
+    HttpRequest build(Fixtures fixtures, SplittableRandom random, long sequence);
+  }
+
+  final String name;
+  final RequestFactory factory;
+  /** Pool that receives the id of a created row, or null for calls that create nothing. */
+  final List<Long> createdIds;
+
+  Operation(String name, RequestFactory factory, List<Long> createdIds) {
+    this.name = name;
+    this.factory = factory;
+    this.createdIds = createdIds;
+  }
+}
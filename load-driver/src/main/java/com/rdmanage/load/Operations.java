@@ -0,0 +1,262 @@
+package com.rdmanage.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The calls the frontend makes, with a default mix that follows how the screens are used: mostly
+ * paging lists and opening records, some edits, few creates.
+ */
+final class Operations {
+  static final Map<String, Integer> DEFAULT_MIX = new LinkedHashMap<>();
+
+  static {
+    DEFAULT_MIX.put("requirements.page", 20);
+    DEFAULT_MIX.put("requirements.get", 10);
+    DEFAULT_MIX.put("requirements.create", 3);
+    DEFAULT_MIX.put("requirements.update", 4);
+    DEFAULT_MIX.put("tasks.page", 15);
+    DEFAULT_MIX.put("tasks.get", 8);
+    DEFAULT_MIX.put("tasks.create", 3);
+    DEFAULT_MIX.put("tasks.update", 4);
+    DEFAULT_MIX.put("versions.list", 6);
+    DEFAULT_MIX.put("versions.get", 3);
+    DEFAULT_MIX.put("versions.create", 1);
+    DEFAULT_MIX.put("versions.update", 1);
+    DEFAULT_MIX.put("modules.tree", 6);
+    DEFAULT_MIX.put("modules.list", 3);
+    DEFAULT_MIX.put("modules.get", 2);
+    DEFAULT_MIX.put("modules.create", 1);
+    DEFAULT_MIX.put("modules.update", 1);
+    DEFAULT_MIX.put("dicts.list", 5);
+    DEFAULT_MIX.put("dicts.update", 1);
+    DEFAULT_MIX.put("menu-config.get", 5);
+    DEFAULT_MIX.put("menu-config.update", 1);
+  }
+
+  private static final String[] REQUIREMENT_STATUSES = {
+    "DRAFT", "REVIEW", "APPROVED", "IN_PROGRESS"
+  };
+  private static final String[] TASK_STATUSES = {"TODO", "IN_PROGRESS", "BLOCKED", "DONE"};
+
+  private final String baseUrl;
+  private final ObjectMapper mapper;
+
+  Operations(String baseUrl, ObjectMapper mapper) {
+    this.baseUrl = baseUrl;
+    this.mapper = mapper;
+  }
+
+  Map<String, Operation> all(Fixtures f) {
+    Map<String, Operation> operations = new LinkedHashMap<>();
+    add(operations, "requirements.page", (x, r, n) -> page("/api/requirements", x, r), null);
+    add(
+        operations,
+        "requirements.get",
+        (x, r, n) -> byId("/api/requirements/", Fixtures.pick(r, x.requirementIds)),
+        null);
+    add(
+        operations,
+        "requirements.create",
+        (x, r, n) -> {
+          Fixtures.Scope scope = Fixtures.pick(r, x.scopes);
+          ObjectNode body = mapper.createObjectNode();
+          body.put("productId", scope.productId);
+          body.put("moduleId", scope.moduleId);
+          body.put("versionId", Fixtures.pick(r, scope.versionIds));
+          body.put("code", "LOAD-R" + n);
+          body.put("name", "压测需求 " + n);
+          body.put("priority", "MEDIUM");
+          body.put("owner", "load-driver");
+          body.put("dueDate", LocalDate.now().plusDays(30).toString());
+          return send("POST", "/api/requirements", body);
+        },
+        f.requirementIds);
+    add(
+        operations,
+        "requirements.update",
+        (x, r, n) -> {
+          ObjectNode body = mapper.createObjectNode();
+          body.put("status", REQUIREMENT_STATUSES[r.nextInt(REQUIREMENT_STATUSES.length)]);
+          body.put("description", "load-driver update " + n);
+          return update("/api/requirements/", Fixtures.pick(r, x.requirementIds), body);
+        },
+        null);
+    add(operations, "tasks.page", (x, r, n) -> page("/api/tasks", x, r), null);
+    add(
+        operations,
+        "tasks.get",
+        (x, r, n) -> byId("/api/tasks/", Fixtures.pick(r, x.taskIds)),
+        null);
+    add(
+        operations,
+        "tasks.create",
+        (x, r, n) -> {
+          Long requirementId = Fixtures.pick(r, x.requirementIds);
+          if (requirementId == null) {
+            return null;
+          }
+          Fixtures.Scope scope = Fixtures.pick(r, x.scopes);
+          ObjectNode body = mapper.createObjectNode();
+          body.put("productId", scope.productId);
+          body.put("moduleId", scope.moduleId);
+          body.put("requirementId", requirementId);
+          body.put("title", "压测任务 " + n);
+          body.put("assignee", "load-driver");
+          body.put("estimateHours", 1 + r.nextInt(16));
+          return send("POST", "/api/tasks", body);
+        },
+        f.taskIds);
+    add(
+        operations,
+        "tasks.update",
+        (x, r, n) -> {
+          ObjectNode body = mapper.createObjectNode();
+          body.put("status", TASK_STATUSES[r.nextInt(TASK_STATUSES.length)]);
+          body.put("description", "load-driver update " + n);
+          return update("/api/tasks/", Fixtures.pick(r, x.taskIds), body);
+        },
+        null);
+    add(
+        operations,
+        "versions.list",
+        (x, r, n) -> get("/api/versions?productId=" + Fixtures.pick(r, x.productIds)),
+        null);
+    add(
+        operations,
+        "versions.get",
+        (x, r, n) -> byId("/api/versions/", Fixtures.pick(r, x.versionIds)),
+        null);
+    add(
+        operations,
+        "versions.create",
+        (x, r, n) -> {
+          Fixtures.Scope scope = Fixtures.pick(r, x.scopes);
+          ObjectNode body = mapper.createObjectNode();
+          body.put("productId", scope.productId);
+          body.put("moduleId", scope.moduleId);
+          body.put("versionCode", "LOAD-V" + n);
+          body.put("name", "压测版本 " + n);
+          body.put("owner", "load-driver");
+          body.put("planReleaseDate", LocalDate.now().plusDays(90).toString());
+          return send("POST", "/api/versions", body);
+        },
+        f.versionIds);
+    add(
+        operations,
+        "versions.update",
+        (x, r, n) -> {
+          ObjectNode body = mapper.createObjectNode();
+          body.put("description", "load-driver update " + n);
+          return update("/api/versions/", Fixtures.pick(r, x.versionIds), body);
+        },
+        null);
+    add(
+        operations,
+        "modules.tree",
+        (x, r, n) -> get("/api/modules/tree?productId=" + Fixtures.pick(r, x.productIds)),
+        null);
+    add(
+        operations,
+        "modules.list",
+        (x, r, n) -> get("/api/modules?productId=" + Fixtures.pick(r, x.productIds)),
+        null);
+    add(
+        operations,
+        "modules.get",
+        (x, r, n) -> byId("/api/modules/", Fixtures.pick(r, x.moduleIds)),
+        null);
+    add(
+        operations,
+        "modules.create",
+        (x, r, n) -> {
+          ObjectNode body = mapper.createObjectNode();
+          body.put("productId", Fixtures.pick(r, x.productIds));
+          body.put("level", 1);
+          body.put("code", "LOAD-M" + n);
+          body.put("name", "压测模块 " + n);
+          body.put("owner", "load-driver");
+          return send("POST", "/api/modules", body);
+        },
+        null);
+    add(
+        operations,
+        "modules.update",
+        (x, r, n) -> {
+          ObjectNode body = mapper.createObjectNode();
+          body.put("description", "load-driver update " + n);
+          return update("/api/modules/", Fixtures.pick(r, x.moduleIds), body);
+        },
+        null);
+    add(operations, "dicts.list", (x, r, n) -> get("/api/dicts"), null);
+    add(
+        operations,
+        "dicts.update",
+        (x, r, n) -> {
+          // Writes the item back unchanged: exercises the write path and snapshot reload.
+          JsonNode item = Fixtures.pick(r, x.dictItems);
+          return item == null ? null : update("/api/dicts/", item.get("id").asLong(), item);
+        },
+        null);
+    add(operations, "menu-config.get", (x, r, n) -> get("/api/menu-config"), null);
+    add(
+        operations,
+        "menu-config.update",
+        (x, r, n) -> x.menuConfig == null ? null : json("PUT", "/api/menu-config", x.menuConfig),
+        null);
+    return operations;
+  }
+
+  private static void add(
+      Map<String, Operation> operations,
+      String name,
+      Operation.RequestFactory factory,
+      List<Long> createdIds) {
+    operations.put(name, new Operation(name, factory, createdIds));
+  }
+
+  private HttpRequest page(String path, Fixtures fixtures, SplittableRandom random) {
+    Fixtures.Scope scope = Fixtures.pick(random, fixtures.scopes);
+    String query = "?limit=50&productId=" + scope.productId;
+    if (random.nextBoolean()) {
+      query += "&moduleId=" + scope.moduleId;
+    }
+    return get(path + query);
+  }
+
+  private HttpRequest byId(String path, Long id) {
+    return id == null ? null : get(path + id);
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+  }
+
+  private HttpRequest update(String path, Long id, JsonNode body) {
+    return id == null ? null : send("PUT", path + id, body);
+  }
+
+  private HttpRequest send(String method, String path, JsonNode body) {
+    try {
+      return json(method, path, mapper.writeValueAsBytes(body));
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private HttpRequest json(String method, String path, byte[] body) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .header("Content-Type", "application/json")
+        .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+        .build();
+  }
+}